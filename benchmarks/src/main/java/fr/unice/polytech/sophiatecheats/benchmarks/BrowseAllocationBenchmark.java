@@ -0,0 +1,71 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation de la recherche de restaurants quand seuls quelques restaurants changent
+ * entre deux recherches. À lancer avec le profileur GC de JMH ({@code -prof gc}) et à
+ * comparer sur {@code gc.alloc.rate.norm} :
+ * <ul>
+ *   <li>{@code browse} : DTOs mémorisés, seuls les restaurants modifiés sont reconvertis ;</li>
+ *   <li>{@code browseWithoutMemo} : nouveau use case à chaque appel, donc tous les DTOs
+ *   sont reconstruits, comme avant la mémorisation.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BrowseAllocationBenchmark {
+
+    private static final BrowseRestaurantsRequest ALL = new BrowseRestaurantsRequest(null, null, null, null, null, null);
+
+    @Param({"100", "1000"})
+    public int restaurants;
+
+    @Param({"0", "1", "10"})
+    public int changedRestaurants;
+
+    private CampusFixture fixture;
+    private BrowseRestaurantsUseCase useCase;
+    private int nextChange;
+    private boolean available;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new CampusFixture(restaurants, 25, 0);
+        useCase = new BrowseRestaurantsUseCase(fixture.restaurantRepository);
+        useCase.execute(ALL);
+    }
+
+    // Les deux variantes paient la même modification, pour que seule la conversion diffère
+    private void changeSomeRestaurants() {
+        available = !available;
+        for (int i = 0; i < changedRestaurants; i++) {
+            Restaurant restaurant = fixture.restaurants.get(nextChange++ % restaurants);
+            Dish dish = restaurant.getMenu().get(0);
+            restaurant.setDishAvailability(dish.getId(), available);
+        }
+    }
+
+    @Benchmark
+    public BrowseRestaurantsResponse browse() {
+        changeSomeRestaurants();
+        return useCase.execute(ALL);
+    }
+
+    @Benchmark
+    public BrowseRestaurantsResponse browseWithoutMemo() {
+        changeSomeRestaurants();
+        return new BrowseRestaurantsUseCase(fixture.restaurantRepository).execute(ALL);
+    }
+}
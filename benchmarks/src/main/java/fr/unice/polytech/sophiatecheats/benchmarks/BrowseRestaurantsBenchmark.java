@@ -0,0 +1,68 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsCache;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche de restaurants pour chaque combinaison de filtres de {@link BrowseRestaurantsRequest},
+ * calculée à chaque appel ({@code browse}) ou servie par {@link BrowseRestaurantsCache} ({@code cachedBrowse}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BrowseRestaurantsBenchmark {
+
+    /**
+     * Combinaison de filtres : bit 0 cuisine, bit 1 disponibilité, bit 2 régime,
+     * bit 3 fourchette de prix, bit 4 type de restaurant.
+     */
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15",
+            "16", "17", "18", "19", "20", "21", "22", "23", "24", "25", "26", "27", "28", "29", "30", "31"})
+    public int filters;
+
+    @Param({"10", "100", "1000"})
+    public int restaurants;
+
+    @Param({"5", "25"})
+    public int dishesPerMenu;
+
+    private BrowseRestaurantsUseCase useCase;
+    private BrowseRestaurantsCache cache;
+    private BrowseRestaurantsRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CampusFixture fixture = new CampusFixture(restaurants, dishesPerMenu, 0);
+        useCase = new BrowseRestaurantsUseCase(fixture.restaurantRepository);
+        cache = new BrowseRestaurantsCache(useCase, fixture.restaurantRepository);
+        request = new BrowseRestaurantsRequest(
+                (filters & 1) != 0 ? DishCategory.MAIN_COURSE : null,
+                (filters & 2) != 0 ? Boolean.TRUE : null,
+                (filters & 4) != 0 ? DietType.VEGETARIAN : null,
+                (filters & 8) != 0 ? new BigDecimal("5.00") : null,
+                (filters & 8) != 0 ? new BigDecimal("10.00") : null,
+                (filters & 16) != 0 ? RestaurantType.RESTAURANT : null);
+    }
+
+    @Benchmark
+    public BrowseRestaurantsResponse browse() {
+        return useCase.execute(request);
+    }
+
+    @Benchmark
+    public BrowseRestaurantsResponse cachedBrowse() {
+        return cache.browse(request);
+    }
+}
@@ -0,0 +1,135 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.OrderItem;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Schedule;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryCartRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryOrderRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryUserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Jeu de données déterministe pour les benchmarks : restaurants, menus, créneaux
+ * de livraison et historique de commandes, dans les repositories en mémoire.
+ */
+final class CampusFixture {
+
+    static final LocalDate DELIVERY_DATE = LocalDate.now().plusDays(1);
+    static final int SLOT_CAPACITY = 1_000_000;
+
+    final InMemoryRestaurantRepository restaurantRepository = new InMemoryRestaurantRepository(false);
+    final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    final InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+    final InMemoryCartRepository cartRepository = new InMemoryCartRepository();
+    final List<Restaurant> restaurants = new ArrayList<>();
+    final List<Dish> dishes = new ArrayList<>();
+
+    private final Random random = new Random(42);
+
+    /**
+     * @param restaurantCount nombre de restaurants
+     * @param dishesPerMenu   nombre de plats par menu
+     * @param storedOrders    nombre de commandes terminées déjà en base
+     */
+    CampusFixture(int restaurantCount, int dishesPerMenu, int storedOrders) {
+        Schedule openingHours = new Schedule(LocalTime.of(9, 0), LocalTime.of(21, 0));
+        for (int r = 0; r < restaurantCount; r++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + r, "Campus " + r,
+                    pick(RestaurantType.values()), pick(DishCategory.values()));
+            if (r % 4 == 3) {
+                restaurant.close();
+            }
+            for (int d = 0; d < dishesPerMenu; d++) {
+                Dish dish = randomDish("Plat " + r + "-" + d, restaurant.getId());
+                restaurant.addDish(dish);
+                dishes.add(dish);
+            }
+            restaurant.getDeliverySchedule().generateDailySlots(DELIVERY_DATE, openingHours, SLOT_CAPACITY);
+            restaurantRepository.save(restaurant);
+            restaurants.add(restaurant);
+        }
+        for (int o = 0; o < storedOrders; o++) {
+            Restaurant restaurant = randomRestaurant();
+            User customer = newStudent();
+            Order order = new Order(customer, restaurant,
+                    List.of(new OrderItem(randomDishOf(restaurant), 1)), PaymentMethod.STUDENT_CREDIT);
+            order.markAsPaid();
+            order.confirm();
+            orderRepository.save(order);
+        }
+    }
+
+    /**
+     * Crée et enregistre un étudiant disposant d'un crédit suffisant pour les benchmarks.
+     */
+    User newStudent() {
+        User user = new User(UUID.randomUUID(), "bench" + random.nextInt(Integer.MAX_VALUE) + "@etu.unice.fr",
+                "Étudiant", new BigDecimal("1000000.00"));
+        userRepository.save(user);
+        return user;
+    }
+
+    /**
+     * Enregistre un panier d'un plat pour l'utilisateur.
+     */
+    Cart fillCart(User user, Restaurant restaurant) {
+        Cart cart = new Cart(user.getId());
+        cart.addDish(randomDishOf(restaurant), 1, restaurant.getId());
+        return cartRepository.save(cart);
+    }
+
+    Restaurant randomRestaurant() {
+        return restaurants.get(random.nextInt(restaurants.size()));
+    }
+
+    Dish randomDish() {
+        return dishes.get(random.nextInt(dishes.size()));
+    }
+
+    Dish randomDishOf(Restaurant restaurant) {
+        List<Dish> menu = restaurant.getMenu();
+        return menu.get(random.nextInt(menu.size()));
+    }
+
+    TimeSlot randomSlotOf(Restaurant restaurant) {
+        List<TimeSlot> slots = restaurant.getDeliverySchedule().getSlotsForDate(DELIVERY_DATE);
+        return slots.get(random.nextInt(slots.size()));
+    }
+
+    private Dish randomDish(String name, UUID restaurantId) {
+        Dish.Builder builder = Dish.builder()
+                .name(name)
+                .description("Plat de benchmark")
+                .price(BigDecimal.valueOf(300 + random.nextInt(1200), 2))
+                .category(pick(DishCategory.values()))
+                .available(true)
+                .restaurantId(restaurantId);
+        for (DietType dietType : DietType.values()) {
+            if (random.nextInt(4) == 0) {
+                builder.addDietType(dietType);
+            }
+        }
+        return builder.build();
+    }
+
+    private <E> E pick(E[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,60 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
+import fr.unice.polytech.sophiatecheats.domain.entities.cart.CartItem;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcul du total d'un panier : centimes en {@code long} ({@link Money}) comparés au
+ * calcul précédent en {@link BigDecimal} (une multiplication et une addition par article).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartTotalBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int items;
+
+    private Cart cart;
+    private List<BigDecimal> unitPrices;
+    private List<Integer> quantities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CampusFixture fixture = new CampusFixture(1, items, 0);
+        Restaurant restaurant = fixture.restaurants.get(0);
+        cart = new Cart(UUID.randomUUID());
+        List<Dish> menu = restaurant.getMenu();
+        for (int i = 0; i < items; i++) {
+            cart.addDish(menu.get(i), 1 + i % 10, restaurant.getId());
+        }
+        unitPrices = cart.getItems().stream().map(item -> item.getUnitPrice().toBigDecimal()).toList();
+        quantities = cart.getItems().stream().map(CartItem::getQuantity).toList();
+    }
+
+    @Benchmark
+    public Money moneyTotal() {
+        return cart.calculateTotal();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < unitPrices.size(); i++) {
+            total = total.add(unitPrices.get(i).multiply(BigDecimal.valueOf(quantities.get(i))));
+        }
+        return total;
+    }
+}
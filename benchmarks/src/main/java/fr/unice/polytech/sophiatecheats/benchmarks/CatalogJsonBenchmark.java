@@ -0,0 +1,82 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.infrastructure.catalog.JsonCatalog;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de l'export et de l'import JSON du catalogue : une opération traite le catalogue
+ * complet ({@code restaurants × dishesPerRestaurant} plats). L'import est mesuré seul
+ * (restaurants remis à un consommateur) et suivi de l'enregistrement dans un repository vide.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogJsonBenchmark {
+
+    @Param({"100", "500"})
+    public int restaurants;
+
+    @Param({"100"})
+    public int dishesPerRestaurant;
+
+    private final JsonCatalog catalog = new JsonCatalog();
+    private List<Restaurant> source;
+    private byte[] json;
+    private ByteArrayOutputStream buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DishCategory[] categories = DishCategory.values();
+        source = new ArrayList<>(restaurants);
+        for (int r = 0; r < restaurants; r++) {
+            List<Dish> menu = new ArrayList<>(dishesPerRestaurant);
+            for (int d = 0; d < dishesPerRestaurant; d++) {
+                menu.add(Dish.builder()
+                        .name("Plat " + d)
+                        .description("Plat numéro " + d + " du restaurant " + r)
+                        .price(BigDecimal.valueOf(500 + d, 2))
+                        .category(categories[d % categories.length])
+                        .dietTypes(d % 3 == 0 ? EnumSet.of(DietType.VEGETARIAN) : EnumSet.noneOf(DietType.class))
+                        .build());
+            }
+            source.add(Restaurant.builder().name("Restaurant " + r).address("Campus " + r).menu(menu).build());
+        }
+        buffer = new ByteArrayOutputStream();
+        catalog.write(source, buffer);
+        json = buffer.toByteArray();
+    }
+
+    @Benchmark
+    public int export() {
+        buffer.reset();
+        return catalog.write(source, buffer).dishes();
+    }
+
+    @Benchmark
+    public int importStream() {
+        return catalog.read(new ByteArrayInputStream(json), restaurant -> { }).dishes();
+    }
+
+    @Benchmark
+    public long importIntoRepository() {
+        InMemoryRestaurantRepository repository = new InMemoryRestaurantRepository(false);
+        catalog.read(new ByteArrayInputStream(json), repository::save);
+        return repository.modificationVersion();
+    }
+}
@@ -0,0 +1,75 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chargement d'un catalogue complet dans un repository vide : plat par plat
+ * ({@code addDish} puis {@code save}, vérifications de doublons par parcours) ou en masse
+ * ({@code replaceMenu} puis {@code saveAll}, vérifications par tables de hachage).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogLoadBenchmark {
+
+    @Param({"100", "1000"})
+    public int restaurants;
+
+    @Param({"100"})
+    public int dishesPerRestaurant;
+
+    private List<List<Dish>> menus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DishCategory[] categories = DishCategory.values();
+        menus = new ArrayList<>(restaurants);
+        for (int r = 0; r < restaurants; r++) {
+            List<Dish> menu = new ArrayList<>(dishesPerRestaurant);
+            for (int d = 0; d < dishesPerRestaurant; d++) {
+                menu.add(Dish.builder()
+                        .name("Plat " + d)
+                        .price(BigDecimal.valueOf(500 + d, 2))
+                        .category(categories[d % categories.length])
+                        .build());
+            }
+            menus.add(menu);
+        }
+    }
+
+    @Benchmark
+    public long dishByDish() {
+        InMemoryRestaurantRepository repository = new InMemoryRestaurantRepository(false);
+        for (int r = 0; r < restaurants; r++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + r, "Campus " + r);
+            menus.get(r).forEach(restaurant::addDish);
+            repository.save(restaurant);
+        }
+        return repository.modificationVersion();
+    }
+
+    @Benchmark
+    public long bulk() {
+        InMemoryRestaurantRepository repository = new InMemoryRestaurantRepository(false);
+        List<Restaurant> catalog = new ArrayList<>(restaurants);
+        for (int r = 0; r < restaurants; r++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + r, "Campus " + r);
+            restaurant.replaceMenu(menus.get(r));
+            catalog.add(restaurant);
+        }
+        repository.saveAll(catalog);
+        return repository.modificationVersion();
+    }
+}
@@ -0,0 +1,82 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal.JournaledUserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Démarrage d'un repository utilisateur journalisé : rejeu de tout l'historique des
+ * sauvegardes, comparé au chargement d'un instantané suivi d'un journal vide.
+ * Avec instantané, le temps dépend du nombre d'utilisateurs et non de la longueur de l'historique.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalStartupBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"10000", "50000"})
+    public int savedStates;
+
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private Path directory;
+    private Path journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-startup");
+        journal = directory.resolve("users.journal");
+        try (JournaledUserRepository repository = new JournaledUserRepository(journal)) {
+            List<User> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                users.add(new User(UUID.randomUUID(), "etudiant" + i + "@unice.fr", "Étudiant " + i, new BigDecimal("100.00")));
+            }
+            for (int i = 0; i < savedStates; i++) {
+                User user = users.get(i % USERS);
+                user.deductCredit(new BigDecimal("0.01"));
+                repository.save(user);
+            }
+            if (snapshot) {
+                repository.snapshot();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public long startup() {
+        try (JournaledUserRepository repository = new JournaledUserRepository(journal)) {
+            return repository.count();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package fr.unice.polytech.sophiatecheats.benchmarks;
+
+import fr.unice.polytech.sophiatecheats.application.dto.order.request.SelectDeliverySlotRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.order.response.SelectDeliverySlotResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.AddDishToCartRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.AddDishToCartResponse;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.PlaceOrderResponse;
+import fr.unice.polytech.sophiatecheats.application.usecases.cart.AddDishToCartUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.order.SelectDeliverySlotUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.order.PlaceOrderUseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.OrderItem;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Étapes du parcours de commande : ajout au panier, passage de commande en crédit
+ * étudiant, choix du créneau et recherche d'un créneau par identifiant.
+ *
+ * <p>Chaque étape est mesurée seule : l'état qu'elle consomme (panier rempli,
+ * commande sans créneau...) est préparé hors mesure, avant chaque invocation.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderFunnelBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Campus {
+
+        @Param({"10", "100", "1000"})
+        public int restaurants;
+
+        @Param({"5", "25"})
+        public int dishesPerMenu;
+
+        @Param({"0", "10000"})
+        public int storedOrders;
+
+        CampusFixture fixture;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fixture = new CampusFixture(restaurants, dishesPerMenu, storedOrders);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AddDishState {
+        AddDishToCartUseCase useCase;
+        User user;
+        AddDishToCartRequest request;
+
+        @Setup(Level.Trial)
+        public void setUp(Campus campus) {
+            CampusFixture fixture = campus.fixture;
+            useCase = new AddDishToCartUseCase(fixture.userRepository, fixture.restaurantRepository,
+                    fixture.cartRepository);
+            user = fixture.newStudent();
+        }
+
+        @Setup(Level.Invocation)
+        public void emptyCart(Campus campus) {
+            campus.fixture.cartRepository.findActiveCartByUserId(user.getId())
+                    .ifPresent(campus.fixture.cartRepository::delete);
+            request = new AddDishToCartRequest(user.getId(), campus.fixture.randomDish().getId(), 1);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PlaceOrderState {
+        PlaceOrderUseCase useCase;
+        PlaceOrderRequest request;
+
+        @Setup(Level.Trial)
+        public void setUp(Campus campus) {
+            CampusFixture fixture = campus.fixture;
+            useCase = new PlaceOrderUseCase(fixture.userRepository, fixture.restaurantRepository,
+                    fixture.orderRepository, fixture.cartRepository);
+        }
+
+        @Setup(Level.Invocation)
+        public void fillCart(Campus campus) {
+            // Un nouvel étudiant par invocation : un utilisateur ne peut avoir qu'une commande active
+            CampusFixture fixture = campus.fixture;
+            User user = fixture.newStudent();
+            Restaurant restaurant = fixture.randomRestaurant();
+            fixture.fillCart(user, restaurant);
+            request = new PlaceOrderRequest(user.getId(), restaurant.getId(), PaymentMethod.STUDENT_CREDIT);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SelectSlotState {
+        SelectDeliverySlotUseCase useCase;
+        SelectDeliverySlotRequest request;
+        Order order;
+        TimeSlot slot;
+
+        @Setup(Level.Trial)
+        public void setUp(Campus campus) {
+            useCase = new SelectDeliverySlotUseCase(campus.fixture.orderRepository,
+                    campus.fixture.restaurantRepository);
+        }
+
+        @Setup(Level.Invocation)
+        public void newOrder(Campus campus) {
+            CampusFixture fixture = campus.fixture;
+            Restaurant restaurant = fixture.randomRestaurant();
+            order = new Order(fixture.newStudent(), restaurant,
+                    List.of(new OrderItem(fixture.randomDishOf(restaurant), 1)), PaymentMethod.EXTERNAL_CARD);
+            fixture.orderRepository.save(order);
+            slot = fixture.randomSlotOf(restaurant);
+            request = new SelectDeliverySlotRequest(order.getOrderId(), slot.getId());
+        }
+
+        @TearDown(Level.Invocation)
+        public void releaseSlot(Campus campus) {
+            // Garde constants la capacité des créneaux et le nombre de commandes stockées
+            slot.release();
+            campus.fixture.orderRepository.deleteById(order.getOrderId());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SlotLookupState {
+        Restaurant restaurant;
+        UUID slotId;
+
+        @Setup(Level.Iteration)
+        public void pickSlot(Campus campus) {
+            restaurant = campus.fixture.randomRestaurant();
+            slotId = campus.fixture.randomSlotOf(restaurant).getId();
+        }
+    }
+
+    @Benchmark
+    public AddDishToCartResponse addDishToCart(AddDishState state) {
+        return state.useCase.execute(state.request);
+    }
+
+    @Benchmark
+    public PlaceOrderResponse placeOrderWithStudentCredit(PlaceOrderState state) {
+        return state.useCase.execute(state.request);
+    }
+
+    @Benchmark
+    public SelectDeliverySlotResponse selectDeliverySlot(SelectSlotState state) {
+        return state.useCase.execute(state.request);
+    }
+
+    @Benchmark
+    public Optional<TimeSlot> findSlotById(SlotLookupState state) {
+        return state.restaurant.getDeliverySchedule().findSlotById(state.slotId);
+    }
+}
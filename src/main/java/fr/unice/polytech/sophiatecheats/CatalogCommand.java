@@ -0,0 +1,88 @@
+package fr.unice.polytech.sophiatecheats;
+
+import fr.unice.polytech.sophiatecheats.domain.exceptions.DuplicateRestaurantException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.catalog.JsonCatalog;
+import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+/**
+ * Sous-commande {@code catalog} : export et vérification du catalogue des restaurants en JSON.
+ *
+ * <pre>
+ * sophiatech-eats catalog export catalogue.json
+ * sophiatech-eats catalog check catalogue.json
+ * </pre>
+ *
+ * <p>Le catalogue du processus n'est pas persistant : pour démarrer sur un fichier, on le
+ * désigne par la propriété {@value ApplicationConfig#CATALOG_FILE_PROPERTY}. {@code check}
+ * vérifie qu'il sera accepté au démarrage.</p>
+ */
+@Command(name = "catalog",
+         description = "Export et vérification du catalogue des restaurants au format JSON",
+         subcommands = {CatalogCommand.Export.class, CatalogCommand.Check.class})
+public class CatalogCommand implements Runnable {
+
+    @ParentCommand
+    SophiaTechEatsApplication application;
+
+    @Spec
+    CommandSpec spec;
+
+    @Override
+    public void run() {
+        throw new ParameterException(spec.commandLine(), "Sous-commande manquante : export ou check");
+    }
+
+    private RestaurantRepository restaurants() {
+        return application.getConfig().getInstance(RestaurantRepository.class);
+    }
+
+    @Command(name = "export", description = "Écrit les restaurants, menus et horaires dans un fichier JSON")
+    public static class Export implements Callable<Integer> {
+
+        @ParentCommand
+        CatalogCommand catalog;
+
+        @Parameters(index = "0", paramLabel = "FICHIER", description = "Fichier JSON à écrire")
+        Path file;
+
+        @Override
+        public Integer call() {
+            JsonCatalog.Stats stats = new JsonCatalog().export(catalog.restaurants(), file);
+            System.out.println(stats.restaurants() + " restaurants et " + stats.dishes() + " plats exportés vers " + file);
+            return 0;
+        }
+    }
+
+    @Command(name = "check",
+             description = "Vérifie un fichier JSON de catalogue comme au démarrage, sans rien charger")
+    public static class Check implements Callable<Integer> {
+
+        @Parameters(index = "0", paramLabel = "FICHIER", description = "Fichier JSON à vérifier")
+        Path file;
+
+        @Override
+        public Integer call() {
+            // Même chargement qu'au démarrage, dans un repository vide jeté ensuite
+            try {
+                JsonCatalog.Stats stats = new JsonCatalog().importInto(new InMemoryRestaurantRepository(false), file);
+                System.out.println(stats.restaurants() + " restaurants et " + stats.dishes() + " plats valides dans " + file);
+                return 0;
+            } catch (IllegalArgumentException | DuplicateRestaurantException | UncheckedIOException e) {
+                System.err.println("Catalogue invalide " + file + " : " + e.getMessage());
+                return 1;
+            }
+        }
+    }
+}
@@ -10,7 +10,8 @@ import picocli.CommandLine.Command;
  */
 @Command(name = "sophiatech-eats",
          description = "Système de commande et livraison de repas pour le campus SophiaTech",
-         version = "1.0.0")
+         version = "1.0.0",
+         subcommands = CatalogCommand.class)
 public class SophiaTechEatsApplication implements Runnable {
 
     private final ApplicationConfig config;
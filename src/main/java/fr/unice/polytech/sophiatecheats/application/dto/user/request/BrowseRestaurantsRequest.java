@@ -9,6 +9,10 @@ import java.math.BigDecimal;
 
 /**
  * Request DTO for browsing restaurants with filtering criteria.
+ *
+ * <p>Results are paginated when {@code pageSize} or {@code continuationToken} is set:
+ * restaurants are then ordered by id, and the token returned with a page
+ * ({@link ContinuationToken}) asks for the restaurants that follow it.</p>
  */
 public record BrowseRestaurantsRequest(
         DishCategory cuisineType,
@@ -16,11 +20,38 @@ public record BrowseRestaurantsRequest(
         DietType dietType,
         BigDecimal minPrice,
         BigDecimal maxPrice,
-        RestaurantType restaurantType
+        RestaurantType restaurantType,
+        Integer pageSize,
+        String continuationToken
 ) implements DTO {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public BrowseRestaurantsRequest(DishCategory cuisineType, Boolean availabilityFilter, DietType dietType,
+                                    BigDecimal minPrice, BigDecimal maxPrice, RestaurantType restaurantType) {
+        this(cuisineType, availabilityFilter, dietType, minPrice, maxPrice, restaurantType, null, null);
+    }
+
+    /**
+     * Same filters, asking for the page that follows the given continuation token.
+     */
+    public BrowseRestaurantsRequest nextPage(String token) {
+        return new BrowseRestaurantsRequest(cuisineType, availabilityFilter, dietType, minPrice, maxPrice,
+                restaurantType, pageSize, token);
+    }
+
+    public boolean isPaginated() {
+        return pageSize != null || continuationToken != null;
+    }
+
     @Override
     public boolean isValid() {
+        if (pageSize != null && (pageSize <= 0 || pageSize > MAX_PAGE_SIZE)) {
+            return false;
+        }
+        if (continuationToken != null && ContinuationToken.decode(continuationToken).isEmpty()) {
+            return false;
+        }
         // Validate that minPrice is not greater than maxPrice if both are provided
         if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
             return false;
@@ -0,0 +1,54 @@
+package fr.unice.polytech.sophiatecheats.application.dto.user.request;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque cursor used to page through browse results.
+ *
+ * <p>Pages are ordered by restaurant id and the token only carries the id of the last
+ * restaurant returned, so the next page starts right after it whatever happened to the
+ * menus in between: a restaurant is never returned twice nor skipped because another
+ * one was edited, added or removed.</p>
+ */
+public final class ContinuationToken {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ContinuationToken() {
+    }
+
+    /**
+     * @param lastRestaurantId id of the last restaurant of the current page
+     * @return the token to send back to get the following page
+     */
+    public static String after(UUID lastRestaurantId) {
+        ByteBuffer bytes = ByteBuffer.allocate(16);
+        bytes.putLong(lastRestaurantId.getMostSignificantBits());
+        bytes.putLong(lastRestaurantId.getLeastSignificantBits());
+        return ENCODER.encodeToString(bytes.array());
+    }
+
+    /**
+     * @return the id of the last restaurant already returned, or empty if the token is malformed
+     */
+    public static Optional<UUID> decode(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length != 16) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return Optional.of(new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -7,11 +7,22 @@ import java.util.List;
 
 /**
  * Response DTO for browsing restaurants containing the list of restaurants and their dishes.
+ *
+ * @param continuationToken token to request the next page, or null when there is none
  */
 public record BrowseRestaurantsResponse(
-        List<RestaurantDto> restaurants
+        List<RestaurantDto> restaurants,
+        String continuationToken
 ) implements DTO {
 
+    public BrowseRestaurantsResponse(List<RestaurantDto> restaurants) {
+        this(restaurants, null);
+    }
+
+    public boolean hasNextPage() {
+        return continuationToken != null;
+    }
+
     @Override
     public boolean isValid() {
         return restaurants != null;
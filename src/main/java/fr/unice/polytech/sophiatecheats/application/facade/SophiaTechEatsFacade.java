@@ -12,7 +12,7 @@ import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderR
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.AddDishToCartResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.PlaceOrderResponse;
-import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsCache;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.order.PlaceOrderUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.cart.AddDishToCartUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.cart.ClearCartUseCase;
@@ -24,7 +24,12 @@ import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
 
 public class SophiaTechEatsFacade {
 
-    private final BrowseRestaurantsUseCase browseRestaurantsUseCase;
+    private static final BrowseRestaurantsRequest ALL_RESTAURANTS =
+            new BrowseRestaurantsRequest(null, null, null, null, null, null);
+    private static final BrowseRestaurantsRequest AVAILABLE_RESTAURANTS =
+            new BrowseRestaurantsRequest(null, true, null, null, null, null);
+
+    private final BrowseRestaurantsCache browseRestaurantsCache;
     private final AddDishToCartUseCase addDishToCartUseCase;
     private final ClearCartUseCase clearCartUseCase;
     private final CancelCartUseCase cancelCartUseCase;
@@ -34,7 +39,7 @@ public class SophiaTechEatsFacade {
     private final UpdateDishUseCase updateDishUseCase;
 
     public SophiaTechEatsFacade(ApplicationConfig config) {
-        this.browseRestaurantsUseCase = config.getInstance(BrowseRestaurantsUseCase.class);
+        this.browseRestaurantsCache = config.getInstance(BrowseRestaurantsCache.class);
         this.addDishToCartUseCase = config.getInstance(AddDishToCartUseCase.class);
         this.clearCartUseCase = config.getInstance(ClearCartUseCase.class);
         this.cancelCartUseCase = config.getInstance(CancelCartUseCase.class);
@@ -45,7 +50,7 @@ public class SophiaTechEatsFacade {
     }
 
     public BrowseRestaurantsResponse browseRestaurants(BrowseRestaurantsRequest request) {
-        return browseRestaurantsUseCase.execute(request);
+        return browseRestaurantsCache.browse(request);
     }
 
     public AddDishToCartResponse addDishToCart(AddDishToCartRequest request) {
@@ -77,15 +82,11 @@ public class SophiaTechEatsFacade {
     }
 
     public BrowseRestaurantsResponse browseAllRestaurants() {
-        return browseRestaurantsUseCase.execute(
-            new BrowseRestaurantsRequest(null, null, null, null, null, null)
-        );
+        return browseRestaurantsCache.browse(ALL_RESTAURANTS);
     }
 
     public BrowseRestaurantsResponse browseAvailableRestaurants() {
-        return browseRestaurantsUseCase.execute(
-            new BrowseRestaurantsRequest(null, true, null, null, null, null)
-        );
+        return browseRestaurantsCache.browse(AVAILABLE_RESTAURANTS);
     }
 }
 
@@ -4,8 +4,7 @@ import fr.unice.polytech.sophiatecheats.application.dto.user.request.AddDishToCa
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.AddDishToCartResponse;
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
 import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
-import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
-import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.DishLocation;
 import fr.unice.polytech.sophiatecheats.domain.repositories.CartRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
@@ -36,22 +35,20 @@ public class AddDishToCartUseCase implements UseCase<AddDishToCartRequest, AddDi
             // Valider que l'utilisateur existe
             validateAndGetUser(request.userId());
 
-            Dish dish = validateAndGetDish(request.dishId());
-
-            // Trouver le restaurant du plat
-            Restaurant restaurant = findRestaurantByDishId(request.dishId());
+            // Trouver le plat et son restaurant en une seule recherche indexée
+            DishLocation location = validateAndGetDishLocation(request.dishId());
 
             Cart cart = getOrCreateActiveCart(request.userId());
 
             // Ajouter le plat avec l'ID du restaurant
-            cart.addDish(dish, request.quantity(), restaurant.getId());
+            cart.addDish(location.dish(), request.quantity(), location.restaurant().getId());
 
             cartRepository.save(cart);
 
             return new AddDishToCartResponse(
                     cart.getId(),
                     cart.getTotalItems(),
-                    cart.calculateTotal(),
+                    cart.calculateTotal().toBigDecimal(),
                     true
             );
 
@@ -71,28 +68,11 @@ public class AddDishToCartUseCase implements UseCase<AddDishToCartRequest, AddDi
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + userId));
     }
 
-    private Dish validateAndGetDish(UUID dishId) {
-        // Récupérer tous les restaurants et chercher le plat
-        var restaurants = restaurantRepository.findAll();
-
-        return restaurants.stream()
-                .flatMap(restaurant -> restaurant.getMenu().stream())
-                .filter(dish -> dish.getId().equals(dishId))
-                .findFirst()
+    private DishLocation validateAndGetDishLocation(UUID dishId) {
+        return restaurantRepository.findDishLocation(dishId)
                 .orElseThrow(() -> new EntityNotFoundException("Dish not found with ID: " + dishId));
     }
 
-    /**
-     *  Trouve le restaurant qui possède un plat spécifique.
-     */
-    private Restaurant findRestaurantByDishId(UUID dishId) {
-        return restaurantRepository.findAll().stream()
-                .filter(restaurant -> restaurant.getMenu().stream()
-                        .anyMatch(dish -> dish.getId().equals(dishId)))
-                .findFirst()
-                .orElseThrow(() -> new EntityNotFoundException("Restaurant not found for dish with ID: " + dishId));
-    }
-
     private Cart getOrCreateActiveCart(UUID userId) {
         return cartRepository.findActiveCartByUserId(userId)
                 .orElseGet(() -> new Cart(userId));
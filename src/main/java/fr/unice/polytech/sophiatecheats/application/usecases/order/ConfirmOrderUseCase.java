@@ -68,7 +68,7 @@ public class ConfirmOrderUseCase implements UseCase<ConfirmOrderRequest, Confirm
             confirmedOrder.getOrderId(),
             confirmedOrder.getUser().getName(),
             confirmedOrder.getRestaurant().getName(),
-            confirmedOrder.getTotalAmount(),
+            confirmedOrder.getTotalAmount().toBigDecimal(),
             confirmedOrder.getStatus(),
             confirmedOrder.getOrderDateTime(),
             confirmedOrder.getDeliveryTime()
@@ -3,6 +3,7 @@ package fr.unice.polytech.sophiatecheats.application.usecases.order;
 import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
 import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.PaymentDeadlineWheel;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -11,18 +12,36 @@ import java.util.List;
 /**
  * Use case batch pour expirer les commandes non payées après 5 minutes de réservation du créneau.
  * Libère automatiquement le créneau de livraison.
+ *
+ * <p>Avec une {@link PaymentDeadlineWheel}, seules les commandes dont l'échéance est atteinte
+ * sont chargées ; sans roue, toutes les commandes PENDING sont parcourues.</p>
+ *
+ * <p>Une commande dont l'expiration échoue n'interrompt pas le passage : elle reste PENDING
+ * et est reprise au passage suivant (remise dans la roue au prochain tick le cas échéant).</p>
  */
 public class ExpireUnpaidOrdersUseCase implements Runnable {
     private final OrderRepository orderRepository;
     private final Duration paymentTimeout;
+    private final PaymentDeadlineWheel deadlineWheel;
 
     public ExpireUnpaidOrdersUseCase(OrderRepository orderRepository, Duration paymentTimeout) {
         this.orderRepository = orderRepository;
         this.paymentTimeout = paymentTimeout;
+        this.deadlineWheel = null;
+    }
+
+    public ExpireUnpaidOrdersUseCase(OrderRepository orderRepository, PaymentDeadlineWheel deadlineWheel) {
+        this.orderRepository = orderRepository;
+        this.paymentTimeout = deadlineWheel.getPaymentTimeout();
+        this.deadlineWheel = deadlineWheel;
     }
 
     @Override
     public void run() {
+        if (deadlineWheel != null) {
+            expireDueOrders();
+            return;
+        }
         // Récupérer toutes les commandes PENDING avec un créneau réservé
         List<Order> pendingOrders = orderRepository.findAllByStatus(OrderStatus.PENDING);
         LocalDateTime now = LocalDateTime.now();
@@ -30,11 +49,41 @@ public class ExpireUnpaidOrdersUseCase implements Runnable {
             if (order.hasDeliverySlot() && order.getDeliverySlotReservedAt() != null) {
                 Duration sinceReservation = Duration.between(order.getDeliverySlotReservedAt(), now);
                 if (sinceReservation.compareTo(paymentTimeout) > 0) {
-                    order.expire();
-                    orderRepository.save(order);
+                    expireSafely(order);
                 }
             }
         }
     }
-}
 
+    private void expireDueOrders() {
+        for (String orderId : deadlineWheel.pollDue(LocalDateTime.now())) {
+            try {
+                orderRepository.findById(orderId)
+                        // EXPIRED : commande reprise après une sauvegarde en échec
+                        .filter(order -> order.getStatus() == OrderStatus.PENDING
+                                || order.getStatus() == OrderStatus.EXPIRED)
+                        .filter(order -> !expireSafely(order))
+                        .ifPresent(order -> deadlineWheel.retry(orderId));
+            } catch (RuntimeException e) {
+                // Repository indisponible : l'échéance est reprise au prochain tick
+                deadlineWheel.retry(orderId);
+            }
+        }
+    }
+
+    /**
+     * @return false si l'expiration ou la sauvegarde a échoué
+     */
+    private boolean expireSafely(Order order) {
+        try {
+            if (order.getStatus() != OrderStatus.EXPIRED) {
+                order.expire();
+            }
+            orderRepository.save(order);
+            return true;
+        } catch (RuntimeException e) {
+            // Une commande en échec ne doit pas empêcher l'expiration des suivantes
+            return false;
+        }
+    }
+}
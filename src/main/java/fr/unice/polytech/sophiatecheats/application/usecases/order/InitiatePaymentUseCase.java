@@ -5,15 +5,23 @@ import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.PaymentDeadlineWheel;
 
 /**
  * Use case pour démarrer le timeout de paiement après choix du créneau.
+ * Lorsqu'une roue d'échéances est fournie, l'échéance de la commande y est enregistrée.
  */
 public class InitiatePaymentUseCase {
     private final OrderRepository orderRepository;
+    private final PaymentDeadlineWheel deadlineWheel;
 
     public InitiatePaymentUseCase(OrderRepository orderRepository) {
+        this(orderRepository, null);
+    }
+
+    public InitiatePaymentUseCase(OrderRepository orderRepository, PaymentDeadlineWheel deadlineWheel) {
         this.orderRepository = orderRepository;
+        this.deadlineWheel = deadlineWheel;
     }
 
     /**
@@ -34,6 +42,8 @@ public class InitiatePaymentUseCase {
         }
         order.startPaymentTimeout();
         orderRepository.save(order);
+        if (deadlineWheel != null) {
+            deadlineWheel.schedule(order);
+        }
     }
 }
-
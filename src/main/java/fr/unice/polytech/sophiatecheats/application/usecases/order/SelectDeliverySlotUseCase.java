@@ -10,6 +10,7 @@ import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundExceptio
 import fr.unice.polytech.sophiatecheats.domain.exceptions.SlotNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantLocks;
 
 import java.util.Optional;
 
@@ -28,10 +29,17 @@ public class SelectDeliverySlotUseCase implements UseCase<SelectDeliverySlotRequ
 
     private final OrderRepository orderRepository;
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantLocks restaurantLocks;
 
     public SelectDeliverySlotUseCase(OrderRepository orderRepository, RestaurantRepository restaurantRepository) {
+        this(orderRepository, restaurantRepository, RestaurantLocks.shared());
+    }
+
+    public SelectDeliverySlotUseCase(OrderRepository orderRepository, RestaurantRepository restaurantRepository,
+                                     RestaurantLocks restaurantLocks) {
         this.orderRepository = orderRepository;
         this.restaurantRepository = restaurantRepository;
+        this.restaurantLocks = restaurantLocks;
     }
 
     @Override
@@ -70,20 +78,22 @@ public class SelectDeliverySlotUseCase implements UseCase<SelectDeliverySlotRequ
 
         TimeSlot slot = slotOpt.get();
 
-        // 5. Réserver le créneau (la méthode gère toute la logique de capacité/disponibilité)
+        // 5. Réserver le créneau pour la commande (le créneau gère la capacité/disponibilité,
+        // la commande retient qu'elle détient la place pour la rendre à l'expiration).
+        // Verrou partagé : les réservations restent parallèles mais excluent un changement de capacité.
         try {
-            slot.reserveOrThrow();
-        } catch (Exception e) {
+            restaurantLocks.readLocked(order.getRestaurant().getId(), () -> {
+                order.reserveDeliverySlot(slot);
+                return slot;
+            });
+        } catch (fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException e) {
             throw new SlotNotFoundException("Failed to reserve slot " + request.slotId() + ": " + e.getMessage());
         }
 
-        // 6. Associer le créneau à la commande
-        order.assignDeliverySlot(slot.getId(), slot.getStartTime());
-
-        // 7. Sauvegarder la commande mise à jour
+        // 6. Sauvegarder la commande mise à jour
         Order updatedOrder = orderRepository.save(order);
 
-        // 8. Retourner la réponse
+        // 7. Retourner la réponse
         return new SelectDeliverySlotResponse(
             updatedOrder.getOrderId(),
             slot.getId(),
@@ -7,13 +7,20 @@ import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.DishValidationException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantLocks;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
 
 public class AddDishToRestaurantUseCase implements UseCase<AddDishToRestaurantRequest, AddDishToRestaurantResponse> {
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantLocks restaurantLocks;
 
     public AddDishToRestaurantUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, RestaurantLocks.shared());
+    }
+
+    public AddDishToRestaurantUseCase(RestaurantRepository restaurantRepository, RestaurantLocks restaurantLocks) {
         this.restaurantRepository = restaurantRepository;
+        this.restaurantLocks = restaurantLocks;
     }
 
     @Override
@@ -34,8 +41,10 @@ public class AddDishToRestaurantUseCase implements UseCase<AddDishToRestaurantRe
                 .available(request.isAvailable())
                 .build();
 
-            restaurant.addDish(newDish);
-            restaurantRepository.save(restaurant);
+            restaurantLocks.write(request.restaurantId(), () -> {
+                restaurant.addDish(newDish);
+                restaurantRepository.save(restaurant);
+            });
             return new AddDishToRestaurantResponse(
                 newDish.getId(),
                 "Plat '" + newDish.getName() + "' ajouté avec succès au restaurant '" + restaurant.getName() + "'",
@@ -6,6 +6,7 @@ import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagemen
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantLocks;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
 
 import java.util.Optional;
@@ -17,9 +18,15 @@ import java.util.Optional;
 public class RemoveDishFromRestaurantUseCase implements UseCase<RemoveDishFromRestaurantRequest, RemoveDishFromRestaurantResponse> {
 
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantLocks restaurantLocks;
 
     public RemoveDishFromRestaurantUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, RestaurantLocks.shared());
+    }
+
+    public RemoveDishFromRestaurantUseCase(RestaurantRepository restaurantRepository, RestaurantLocks restaurantLocks) {
         this.restaurantRepository = restaurantRepository;
+        this.restaurantLocks = restaurantLocks;
     }
 
     @Override
@@ -33,28 +40,30 @@ public class RemoveDishFromRestaurantUseCase implements UseCase<RemoveDishFromRe
                 .orElseThrow(() -> new RestaurantNotFoundException(
                     "Restaurant non trouvé avec l'ID: " + request.restaurantId()));
 
-            Optional<Dish> existingDish = restaurant.findDishById(request.dishId());
-            if (existingDish.isEmpty()) {
-                return new RemoveDishFromRestaurantResponse(
-                    request.dishId(),
-                    "Plat non trouvé avec l'ID: " + request.dishId(),
-                    false
-                );
-            }
+            return restaurantLocks.write(request.restaurantId(), () -> {
+                Optional<Dish> existingDish = restaurant.findDishById(request.dishId());
+                if (existingDish.isEmpty()) {
+                    return new RemoveDishFromRestaurantResponse(
+                        request.dishId(),
+                        "Plat non trouvé avec l'ID: " + request.dishId(),
+                        false
+                    );
+                }
 
-            String dishName = existingDish.get().getName();
+                String dishName = existingDish.get().getName();
 
-            // Suppression du plat (logique métier dans le domaine)
-            restaurant.removeDish(request.dishId());
+                // Suppression du plat (logique métier dans le domaine)
+                restaurant.removeDish(request.dishId());
 
-            // Sauvegarde du restaurant modifié
-            restaurantRepository.save(restaurant);
+                // Sauvegarde du restaurant modifié
+                restaurantRepository.save(restaurant);
 
-            return new RemoveDishFromRestaurantResponse(
-                request.dishId(),
-                "Plat '" + dishName + "' supprimé avec succès du restaurant '" + restaurant.getName() + "'",
-                true
-            );
+                return new RemoveDishFromRestaurantResponse(
+                    request.dishId(),
+                    "Plat '" + dishName + "' supprimé avec succès du restaurant '" + restaurant.getName() + "'",
+                    true
+                );
+            });
 
         } catch (IllegalArgumentException | RestaurantNotFoundException e) {
             return new RemoveDishFromRestaurantResponse(
@@ -7,6 +7,7 @@ import fr.unice.polytech.sophiatecheats.domain.exceptions.EntityNotFoundExceptio
 import fr.unice.polytech.sophiatecheats.domain.exceptions.SlotNotFoundException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantLocks;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -16,9 +17,15 @@ import java.util.UUID;
  */
 public class SetTimeSlotCapacityUseCase implements UseCase<SetTimeSlotCapacityUseCase.Request, Void> {
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantLocks restaurantLocks;
 
     public SetTimeSlotCapacityUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, RestaurantLocks.shared());
+    }
+
+    public SetTimeSlotCapacityUseCase(RestaurantRepository restaurantRepository, RestaurantLocks restaurantLocks) {
         this.restaurantRepository = restaurantRepository;
+        this.restaurantLocks = restaurantLocks;
     }
 
     public static class Request {
@@ -40,8 +47,11 @@ public class SetTimeSlotCapacityUseCase implements UseCase<SetTimeSlotCapacityUs
                 .orElseThrow(() -> new EntityNotFoundException("Restaurant non trouvé: " + request.restaurantId));
         Optional<TimeSlot> slotOpt = restaurant.getDeliverySchedule().findSlotById(request.slotId);
         TimeSlot slot = slotOpt.orElseThrow(() -> new SlotNotFoundException("Créneau non trouvé: " + request.slotId));
-        slot.setMaxCapacity(request.newMaxCapacity); // Validation métier dans TimeSlot
-        restaurantRepository.save(restaurant);
+        // Exclusif des réservations en cours sur ce restaurant
+        restaurantLocks.write(request.restaurantId, () -> {
+            slot.setMaxCapacity(request.newMaxCapacity); // Validation métier dans TimeSlot
+            restaurantRepository.save(restaurant);
+        });
         return null;
     }
 }
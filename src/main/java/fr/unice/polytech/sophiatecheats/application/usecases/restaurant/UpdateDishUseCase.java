@@ -6,6 +6,7 @@ import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagemen
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantLocks;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantNotFoundException;
 
 import java.util.Optional;
@@ -17,9 +18,15 @@ import java.util.Optional;
 public class UpdateDishUseCase implements UseCase<UpdateDishRequest, UpdateDishResponse> {
 
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantLocks restaurantLocks;
 
     public UpdateDishUseCase(RestaurantRepository restaurantRepository) {
+        this(restaurantRepository, RestaurantLocks.shared());
+    }
+
+    public UpdateDishUseCase(RestaurantRepository restaurantRepository, RestaurantLocks restaurantLocks) {
         this.restaurantRepository = restaurantRepository;
+        this.restaurantLocks = restaurantLocks;
     }
 
     @Override
@@ -33,29 +40,32 @@ public class UpdateDishUseCase implements UseCase<UpdateDishRequest, UpdateDishR
                 .orElseThrow(() -> new RestaurantNotFoundException(
                     "Restaurant non trouvé avec l'ID: " + request.restaurantId()));
 
-            Optional<Dish> existingDish = restaurant.findDishById(request.dishId());
-            if (existingDish.isEmpty()) {
-                return new UpdateDishResponse(
-                    request.dishId(),
-                    "Plat non trouvé avec l'ID: " + request.dishId(),
-                    false
-                );
-            }
+            // Les écritures sur ce restaurant sont sérialisées ; le plat est modifié en un seul instantané du menu
+            return restaurantLocks.write(request.restaurantId(), () -> {
+                Optional<Dish> existingDish = restaurant.findDishById(request.dishId());
+                if (existingDish.isEmpty()) {
+                    return new UpdateDishResponse(
+                        request.dishId(),
+                        "Plat non trouvé avec l'ID: " + request.dishId(),
+                        false
+                    );
+                }
 
-            // Modification des propriétés du plat selon les paramètres fournis
-            updateDishProperties(restaurant, request);
+                // Modification des propriétés du plat selon les paramètres fournis
+                updateDishProperties(restaurant, request);
 
-            // Sauvegarde du restaurant modifié
-            restaurantRepository.save(restaurant);
+                // Sauvegarde du restaurant modifié
+                restaurantRepository.save(restaurant);
 
-            // Récupération du plat modifié pour la réponse
-            Dish modifiedDish = restaurant.findDishById(request.dishId()).orElseThrow();
+                // Récupération du plat modifié pour la réponse
+                Dish modifiedDish = restaurant.findDishById(request.dishId()).orElseThrow();
 
-            return new UpdateDishResponse(
-                request.dishId(),
-                "Plat '" + modifiedDish.getName() + "' modifié avec succès",
-                true
-            );
+                return new UpdateDishResponse(
+                    request.dishId(),
+                    "Plat '" + modifiedDish.getName() + "' modifié avec succès",
+                    true
+                );
+            });
 
         } catch (IllegalArgumentException | RestaurantNotFoundException e) {
             return new UpdateDishResponse(
@@ -74,45 +84,17 @@ public class UpdateDishUseCase implements UseCase<UpdateDishRequest, UpdateDishR
 
     /**
      * Met à jour les propriétés du plat selon la demande.
-     * Centralise la logique de modification pour éviter la duplication.
+     * Toutes les propriétés sont appliquées par un seul {@link Restaurant#modifyDish} : les lecteurs
+     * voient le plat avant ou après la modification, jamais à moitié modifié.
      */
     private void updateDishProperties(Restaurant restaurant, UpdateDishRequest request) {
-        // Optimisation: récupérer le plat une seule fois
-        Optional<Dish> dishOpt = restaurant.findDishById(request.dishId());
-        if (dishOpt.isEmpty()) {
-            return; // Le plat n'existe pas, aucune modification possible
-        }
-
-        Dish dish = dishOpt.get();
-
-        // Mise à jour des propriétés via les méthodes du Restaurant
-        if (request.newName() != null) {
-            restaurant.modifyDishName(request.dishId(), request.newName());
-        }
-
-        if (request.newDescription() != null) {
-            restaurant.modifyDishDescription(request.dishId(), request.newDescription());
-        }
-
-        if (request.newPrice() != null) {
-            restaurant.modifyDishPrice(request.dishId(), request.newPrice());
-        }
-
-        if (request.newCategory() != null) {
-            restaurant.modifyDishCategory(request.dishId(), request.newCategory());
-        }
-
-        // Mise à jour de la disponibilité directement sur l'entité Dish
-        if (request.newAvailability() != null) {
-            // Récupération du plat mis à jour après les modifications précédentes
-            Optional<Dish> updatedDish = restaurant.findDishById(request.dishId());
-            if (updatedDish.isPresent()) {
-                if (request.newAvailability()) {
-                    updatedDish.get().makeAvailable();
-                } else {
-                    updatedDish.get().makeUnavailable();
-                }
-            }
-        }
+        restaurant.modifyDish(
+            request.dishId(),
+            request.newName(),
+            request.newDescription(),
+            request.newPrice(),
+            request.newCategory(),
+            request.newAvailability()
+        );
     }
 }
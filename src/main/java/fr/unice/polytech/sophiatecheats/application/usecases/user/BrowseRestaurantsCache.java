@@ -0,0 +1,92 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache des réponses de {@link BrowseRestaurantsUseCase}, indexé par requête.
+ *
+ * <p>Les réponses en cache valent pour une {@link RestaurantRepository#modificationVersion()
+ * version du repository}, lue avant leur calcul : dès qu'un restaurant, un menu ou une
+ * ouverture change, la version avance et le cache est vidé. Une réponse calculée pendant
+ * une modification porte l'ancienne version et n'est donc jamais mise en cache.</p>
+ *
+ * <p>Le nombre de réponses est borné ; la moins récemment consultée est évincée en premier.
+ * Les réponses sont immuables et partagées entre les appelants.</p>
+ */
+public class BrowseRestaurantsCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final BrowseRestaurantsUseCase browseRestaurantsUseCase;
+    private final RestaurantRepository restaurantRepository;
+    private final Map<BrowseRestaurantsRequest, BrowseRestaurantsResponse> entries;
+    private long cachedVersion;
+
+    public BrowseRestaurantsCache(BrowseRestaurantsUseCase browseRestaurantsUseCase,
+                                  RestaurantRepository restaurantRepository) {
+        this(browseRestaurantsUseCase, restaurantRepository, DEFAULT_CAPACITY);
+    }
+
+    BrowseRestaurantsCache(BrowseRestaurantsUseCase browseRestaurantsUseCase,
+                           RestaurantRepository restaurantRepository, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité du cache doit être strictement positive");
+        }
+        this.browseRestaurantsUseCase = browseRestaurantsUseCase;
+        this.restaurantRepository = restaurantRepository;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BrowseRestaurantsRequest, BrowseRestaurantsResponse> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public BrowseRestaurantsResponse browse(BrowseRestaurantsRequest request) {
+        if (request == null) {
+            return browseRestaurantsUseCase.execute(null);
+        }
+        long version = restaurantRepository.modificationVersion();
+        synchronized (entries) {
+            if (version > cachedVersion) {
+                // Toutes les réponses sont périmées : inutile de les garder jusqu'à leur éviction
+                entries.clear();
+                cachedVersion = version;
+            }
+            if (version == cachedVersion) {
+                BrowseRestaurantsResponse cached = entries.get(request);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
+        BrowseRestaurantsResponse response = browseRestaurantsUseCase.execute(request);
+        synchronized (entries) {
+            if (version == cachedVersion) {
+                entries.put(request, response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Vide le cache, par exemple après une modification faite hors du repository.
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
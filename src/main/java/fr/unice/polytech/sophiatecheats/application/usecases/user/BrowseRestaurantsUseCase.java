@@ -1,16 +1,19 @@
 package fr.unice.polytech.sophiatecheats.application.usecases.user;
 
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.*;
-import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.ContinuationToken;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.usecases.UseCase;
-import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantCriteria;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 /**
@@ -29,13 +32,20 @@ import java.util.stream.Stream;
  *     <li>Restaurant type (CROUS, restaurant, food truck, etc.)</li>
  *     <li>Combined filtering for precise queries</li>
  * </ul>
+ *
+ * <p>Results can be paged with a page size and a continuation token, or streamed with
+ * {@link #stream(BrowseRestaurantsRequest)}.</p>
  * 
  * @author SophiaTech Eats Backend Team
  * @since 1.0
  */
 public class BrowseRestaurantsUseCase implements UseCase<BrowseRestaurantsRequest, BrowseRestaurantsResponse> {
 
+    /** Number of restaurants fetched at a time by {@link #stream(BrowseRestaurantsRequest)}. */
+    static final int STREAM_BATCH_SIZE = 64;
+
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantDtoMapper restaurantDtoMapper = new RestaurantDtoMapper();
 
     public BrowseRestaurantsUseCase(RestaurantRepository restaurantRepository) {
         this.restaurantRepository = restaurantRepository;
@@ -47,97 +57,89 @@ public class BrowseRestaurantsUseCase implements UseCase<BrowseRestaurantsReques
             return new BrowseRestaurantsResponse(List.of());
         }
 
-        List<Restaurant> restaurants = findRestaurants(request);
-        
-        List<RestaurantDto> restaurantDtos = restaurants.stream()
-                .map(this::mapToDto)
-                .toList();
-
-        return new BrowseRestaurantsResponse(restaurantDtos);
-    }
-
-    private List<Restaurant> findRestaurants(BrowseRestaurantsRequest request) {
-        // Start with all restaurants
-        Stream<Restaurant> restaurantStream = restaurantRepository.findAll().stream();
-
-        // Apply availability filter
-        if (request.availabilityFilter() != null) {
-            if (request.availabilityFilter()) {
-                restaurantStream = restaurantStream.filter(Restaurant::isOpen);
-            } else {
-                restaurantStream = restaurantStream.filter(restaurant -> !restaurant.isOpen());
-            }
-        }
-
-        // Apply cuisine type filter
-        if (request.cuisineType() != null) {
-            restaurantStream = restaurantStream.filter(restaurant ->
-                restaurant.getCuisineType() != null && restaurant.getCuisineType().equals(request.cuisineType()) ||
-                restaurant.getMenu().stream().anyMatch(dish -> dish.getCategory().equals(request.cuisineType()))
-            );
+        if (!request.isPaginated()) {
+            List<RestaurantDto> restaurantDtos = findRestaurants(request).stream()
+                    .map(restaurantDtoMapper::toDto)
+                    .toList();
+            return new BrowseRestaurantsResponse(restaurantDtos);
         }
 
-        // Apply restaurant type filter
-        if (request.restaurantType() != null) {
-            restaurantStream = restaurantStream.filter(restaurant ->
-                restaurant.getRestaurantType() != null && restaurant.getRestaurantType().equals(request.restaurantType())
-            );
+        // One extra restaurant tells whether a next page exists
+        int pageSize = request.pageSize() != null ? request.pageSize() : BrowseRestaurantsRequest.MAX_PAGE_SIZE;
+        List<Restaurant> page = restaurantRepository.findByCriteriaAfter(
+                criteria(request), cursor(request), pageSize + 1);
+        boolean hasNext = page.size() > pageSize;
+        if (hasNext) {
+            page = page.subList(0, pageSize);
         }
+        List<RestaurantDto> restaurantDtos = page.stream()
+                .map(restaurantDtoMapper::toDto)
+                .toList();
+        String next = hasNext ? ContinuationToken.after(page.get(page.size() - 1).getId()) : null;
+        return new BrowseRestaurantsResponse(restaurantDtos, next);
+    }
 
-        // Apply diet type filter
-        if (request.dietType() != null) {
-            restaurantStream = restaurantStream.filter(restaurant ->
-                restaurant.getMenu().stream().anyMatch(dish -> dish.hasDietType(request.dietType()))
-            );
+    /**
+     * Streams the matching restaurants in id order, converting each one only when the caller
+     * reaches it, so that results can be written out incrementally. Restaurants are fetched
+     * from the repository in batches, each one seeking past the last id of the previous batch.
+     * A paginated request streams its page only.
+     *
+     * @return the restaurant DTOs, or an empty stream for an invalid request
+     */
+    public Stream<RestaurantDto> stream(BrowseRestaurantsRequest request) {
+        if (request == null || !request.isValid()) {
+            return Stream.empty();
         }
-
-        // Apply price range filter
-        if (request.minPrice() != null || request.maxPrice() != null) {
-            restaurantStream = restaurantStream.filter(restaurant ->
-                hasMenuItemsInPriceRange(restaurant, request.minPrice(), request.maxPrice())
-            );
+        RestaurantCriteria criteria = criteria(request);
+        int batchSize = request.pageSize() != null ? Math.min(request.pageSize(), STREAM_BATCH_SIZE) : STREAM_BATCH_SIZE;
+        // A short batch is the last one: no need to seek again
+        Stream<Restaurant> restaurants = Stream.iterate(
+                        restaurantRepository.findByCriteriaAfter(criteria, cursor(request), batchSize),
+                        batch -> !batch.isEmpty(),
+                        batch -> batch.size() < batchSize ? List.<Restaurant>of()
+                                : restaurantRepository.findByCriteriaAfter(
+                                        criteria, batch.get(batch.size() - 1).getId(), batchSize))
+                .flatMap(List::stream);
+        if (request.pageSize() != null) {
+            restaurants = restaurants.limit(request.pageSize());
         }
-
-        return restaurantStream.toList();
+        return restaurants.map(restaurantDtoMapper::toDto);
     }
 
     /**
-     * Checks if a restaurant has at least one dish within the specified price range.
+     * Last restaurant id returned by the previous page, or null for the first page.
      */
-    private boolean hasMenuItemsInPriceRange(Restaurant restaurant, BigDecimal minPrice, BigDecimal maxPrice) {
-        return restaurant.getMenu().stream().anyMatch(dish -> {
-            BigDecimal dishPrice = dish.getPrice();
-            boolean meetsMin = minPrice == null || dishPrice.compareTo(minPrice) >= 0;
-            boolean meetsMax = maxPrice == null || dishPrice.compareTo(maxPrice) <= 0;
-            return meetsMin && meetsMax;
-        });
+    private static UUID cursor(BrowseRestaurantsRequest request) {
+        return ContinuationToken.decode(request.continuationToken()).orElse(null);
     }
 
-    private RestaurantDto mapToDto(Restaurant restaurant) {
-        List<DishDto> dishDtos = restaurant.getAvailableDishes().stream()
-                .map(this::mapDishToDto)
-                .toList();
+    private List<Restaurant> findRestaurants(BrowseRestaurantsRequest request) {
+        return restaurantRepository.findByCriteria(criteria(request));
+    }
 
-        return new RestaurantDto(
-                restaurant.getId(),
-                restaurant.getName(),
-                restaurant.getAddress(),
-                restaurant.getOpeningTime(),
-                restaurant.getClosingTime(),
-                restaurant.isOpen(),
-                dishDtos
+    private static RestaurantCriteria criteria(BrowseRestaurantsRequest request) {
+        // Availability, cuisine, restaurant type, diet and price filters are resolved by the repository indexes.
+        // Price bounds are rounded to the cent towards the inside of the range: prices are in cents
+        boolean priceRange = request.minPrice() != null || request.maxPrice() != null;
+        return new RestaurantCriteria(
+                request.availabilityFilter(),
+                request.cuisineType(),
+                request.restaurantType(),
+                request.dietType(),
+                priceRange ? toCents(request.minPrice(), RoundingMode.CEILING, Long.MIN_VALUE) : null,
+                priceRange ? toCents(request.maxPrice(), RoundingMode.FLOOR, Long.MAX_VALUE) : null
         );
     }
 
-    private DishDto mapDishToDto(Dish dish) {
-        return new DishDto(
-                dish.getId(),
-                dish.getName(),
-                dish.getDescription(),
-                dish.getPrice(),
-                dish.getCategory(),
-                dish.isAvailable(),
-                dish.getDietTypes()
-        );
+    private static long toCents(BigDecimal price, RoundingMode roundingMode, long unbounded) {
+        if (price == null) {
+            return unbounded;
+        }
+        BigInteger cents = price.setScale(2, roundingMode).unscaledValue();
+        if (cents.bitLength() < Long.SIZE) {
+            return cents.longValue();
+        }
+        return cents.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
     }
 }
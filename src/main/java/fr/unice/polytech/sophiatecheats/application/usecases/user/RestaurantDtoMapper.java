@@ -0,0 +1,125 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.DishDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Conversion des restaurants en {@link RestaurantDto}, mémorisée par restaurant.
+ *
+ * <p>Le DTO d'un restaurant est réutilisé tant que le tampon de modification du restaurant
+ * et ceux de ses plats disponibles n'ont pas changé. Les tampons sont lus avant l'état
+ * qu'ils couvrent : une modification concurrente laisse un tampon périmé et le DTO sera
+ * reconstruit au prochain appel. Lors d'une reconstruction, les {@link DishDto} des plats
+ * inchangés, retrouvés par identifiant, sont repris tels quels.</p>
+ *
+ * <p>Le nombre de restaurants mémorisés est borné ; le moins récemment converti est évincé
+ * en premier, de sorte qu'un restaurant supprimé du repository finit par disparaître.</p>
+ */
+final class RestaurantDtoMapper {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<UUID, MappedRestaurant> mapped;
+
+    RestaurantDtoMapper() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    RestaurantDtoMapper(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité du cache doit être strictement positive");
+        }
+        this.mapped = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, MappedRestaurant> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    RestaurantDto toDto(Restaurant restaurant) {
+        MappedRestaurant previous;
+        synchronized (mapped) {
+            previous = mapped.get(restaurant.getId());
+        }
+        if (previous != null && previous.isCurrent(restaurant)) {
+            return previous.dto();
+        }
+
+        long stamp = restaurant.getModificationStamp();
+        List<Dish> availableDishes = restaurant.getMenuSnapshot().availableDishes();
+        long[] dishStamps = new long[availableDishes.size()];
+        DishDto[] dishDtos = new DishDto[availableDishes.size()];
+        Map<UUID, MappedDish> dishesById = HashMap.newHashMap(dishDtos.length);
+        for (int i = 0; i < dishDtos.length; i++) {
+            Dish dish = availableDishes.get(i);
+            dishStamps[i] = dish.getModificationStamp();
+            DishDto reusable = previous != null ? previous.dishDto(dish.getId(), dishStamps[i]) : null;
+            dishDtos[i] = reusable != null ? reusable : toDto(dish);
+            dishesById.put(dish.getId(), new MappedDish(dishStamps[i], dishDtos[i]));
+        }
+
+        RestaurantDto dto = new RestaurantDto(
+                restaurant.getId(),
+                restaurant.getName(),
+                restaurant.getAddress(),
+                restaurant.getOpeningTime(),
+                restaurant.getClosingTime(),
+                restaurant.isOpen(),
+                List.of(dishDtos)
+        );
+        synchronized (mapped) {
+            mapped.put(restaurant.getId(), new MappedRestaurant(stamp, dishStamps, dishesById, dto));
+        }
+        return dto;
+    }
+
+    private static DishDto toDto(Dish dish) {
+        return new DishDto(
+                dish.getId(),
+                dish.getName(),
+                dish.getDescription(),
+                dish.getPrice().toBigDecimal(),
+                dish.getCategory(),
+                dish.isAvailable(),
+                dish.getDietTypes()
+        );
+    }
+
+    private record MappedDish(long stamp, DishDto dto) {
+    }
+
+    private record MappedRestaurant(long stamp, long[] dishStamps, Map<UUID, MappedDish> dishes, RestaurantDto dto) {
+
+        boolean isCurrent(Restaurant restaurant) {
+            if (restaurant.getModificationStamp() != stamp) {
+                return false;
+            }
+            // Même tampon de restaurant : même instantané du menu, donc mêmes plats disponibles
+            List<Dish> availableDishes = restaurant.getMenuSnapshot().availableDishes();
+            if (availableDishes.size() != dishStamps.length) {
+                return false;
+            }
+            for (int i = 0; i < dishStamps.length; i++) {
+                if (availableDishes.get(i).getModificationStamp() != dishStamps[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Les tampons ne sont jamais réattribués : même tampon, même plat dans le même état.
+        DishDto dishDto(UUID dishId, long dishStamp) {
+            MappedDish dish = dishes.get(dishId);
+            return dish != null && dish.stamp() == dishStamp ? dish.dto() : null;
+        }
+    }
+}
@@ -20,11 +20,16 @@ import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategy;
 import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategyFactory;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategyRegistry;
 import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentResult;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Use case pour transformer un panier en commande avec paiement.
@@ -34,44 +39,122 @@ import java.util.List;
  *
  * <h3>Flux nominal:</h3>
  * <ol>
- *   <li>Vérifie que l'utilisateur n'a pas de commande active</li>
+ *   <li>Vérifie que l'utilisateur n'a ni commande active ni commande en cours de paiement</li>
  *   <li>Récupère le panier actif de l'utilisateur</li>
- *   <li>Utilise PaymentStrategyFactory pour obtenir la stratégie de paiement appropriée</li>
+ *   <li>Utilise le registre des stratégies pour obtenir la stratégie de paiement appropriée</li>
  *   <li>Transforme le panier en commande</li>
  *   <li>Sauvegarde la commande</li>
  *   <li>Vide le panier</li>
  * </ol>
+ *
+ * <p>Une commande n'existe qu'après le paiement : l'utilisateur est donc marqué dès les
+ * vérifications et jusqu'à l'enregistrement (ou l'échec), pour que deux validations
+ * concurrentes ne passent pas toutes deux le contrôle de commande active.</p>
  */
 public class PlaceOrderUseCase implements UseCase<PlaceOrderRequest, PlaceOrderResponse> {
 
     private static final int CART_TIMEOUT_MINUTES = 5;
 
+    private static final String ACTIVE_ORDER_MESSAGE =
+            "Vous avez déjà une commande en cours. Veuillez attendre qu'elle soit terminée avant d'en créer une nouvelle.";
+
     private final UserRepository userRepository;
     private final RestaurantRepository restaurantRepository;
     private final OrderRepository orderRepository;
     private final CartRepository cartRepository;
+    private final PaymentStrategyRegistry paymentStrategies;
+    /** Utilisateurs dont une commande est entre les vérifications et son enregistrement */
+    private final Set<UUID> checkoutsInProgress = ConcurrentHashMap.newKeySet();
 
     public PlaceOrderUseCase(UserRepository userRepository,
                              RestaurantRepository restaurantRepository,
                              OrderRepository orderRepository,
                              CartRepository cartRepository) {
+        this(userRepository, restaurantRepository, orderRepository, cartRepository,
+                PaymentStrategyFactory.defaultRegistry());
+    }
+
+    public PlaceOrderUseCase(UserRepository userRepository,
+                             RestaurantRepository restaurantRepository,
+                             OrderRepository orderRepository,
+                             CartRepository cartRepository,
+                             PaymentStrategyRegistry paymentStrategies) {
         this.userRepository = userRepository;
         this.restaurantRepository = restaurantRepository;
         this.orderRepository = orderRepository;
         this.cartRepository = cartRepository;
+        this.paymentStrategies = paymentStrategies;
     }
 
     @Override
     public PlaceOrderResponse execute(PlaceOrderRequest request) {
+        Checkout checkout = prepareCheckout(request);
+        try {
+            // Traiter le paiement via la stratégie
+            PaymentResult paymentResult = checkout.paymentStrategy().processPayment(checkout.totalAmount(), checkout.user());
+
+            return completeCheckout(checkout, paymentResult);
+        } finally {
+            checkoutsInProgress.remove(request.userId());
+        }
+    }
+
+    /**
+     * Variante asynchrone de {@link #execute} : les vérifications sont faites dans le thread
+     * appelant, puis le paiement et l'enregistrement de la commande sont enchaînés sans
+     * bloquer l'appelant pendant l'appel au service de paiement. L'utilisateur reste marqué
+     * comme ayant une commande en cours jusqu'à ce que la future soit complétée.
+     *
+     * @param request la demande de commande
+     * @return future complétée avec la réponse, ou en échec avec l'exception métier
+     */
+    public CompletableFuture<PlaceOrderResponse> executeAsync(PlaceOrderRequest request) {
+        Checkout checkout;
+        try {
+            checkout = prepareCheckout(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<PlaceOrderResponse> placed;
+        try {
+            placed = checkout.paymentStrategy()
+                    .processPaymentAsync(checkout.totalAmount(), checkout.user())
+                    .thenApply(paymentResult -> completeCheckout(checkout, paymentResult));
+        } catch (RuntimeException e) {
+            checkoutsInProgress.remove(request.userId());
+            return CompletableFuture.failedFuture(e);
+        }
+        return placed.whenComplete((response, failure) -> checkoutsInProgress.remove(request.userId()));
+    }
+
+    /**
+     * Marque l'utilisateur comme ayant une commande en cours, puis vérifie les règles métier
+     * et prépare la commande à payer. La marque est retirée si une vérification échoue ;
+     * sinon l'appelant la retire une fois la commande enregistrée ou le paiement en échec.
+     */
+    private Checkout prepareCheckout(PlaceOrderRequest request) {
         if (request == null || !request.isValid()) {
             throw new IllegalArgumentException("Invalid request");
         }
 
-        // CONTRAINTE MÉTIER : Un utilisateur ne peut pas avoir plusieurs commandes en parallèle
+        // CONTRAINTE MÉTIER : Un utilisateur ne peut pas avoir plusieurs commandes en parallèle,
+        // y compris une commande dont le paiement n'est pas encore terminé
+        if (!checkoutsInProgress.add(request.userId())) {
+            throw new ValidationException(ACTIVE_ORDER_MESSAGE);
+        }
+        try {
+            return buildCheckout(request);
+        } catch (RuntimeException e) {
+            checkoutsInProgress.remove(request.userId());
+            throw e;
+        }
+    }
+
+    private Checkout buildCheckout(PlaceOrderRequest request) {
         boolean hasActiveOrder = orderRepository.existsActiveOrderByUserId(request.userId());
         if (hasActiveOrder) {
-            throw new ValidationException(
-                    "Vous avez déjà une commande en cours. Veuillez attendre qu'elle soit terminée avant d'en créer une nouvelle.");
+            throw new ValidationException(ACTIVE_ORDER_MESSAGE);
         }
 
         // Récupérer l'utilisateur
@@ -99,44 +182,66 @@ public class PlaceOrderUseCase implements UseCase<PlaceOrderRequest, PlaceOrderR
 
         // Transformer les CartItems en OrderItems
         List<OrderItem> orderItems = createOrderItemsFromCart(cart, restaurant);
-        BigDecimal totalAmount = cart.calculateTotal();
+        BigDecimal totalAmount = cart.calculateTotal().toBigDecimal();
 
-        // Utiliser PaymentStrategyFactory pour obtenir la stratégie de paiement appropriée
-        PaymentStrategy paymentStrategy = PaymentStrategyFactory.createStrategy(request.paymentMethod());
+        // Récupérer la stratégie de paiement partagée appropriée
+        PaymentStrategy paymentStrategy = paymentStrategies.get(request.paymentMethod());
 
-        // Valider et traiter le paiement
-        validateAndProcessPayment(paymentStrategy, user, totalAmount, request.paymentMethod());
+        // Vérifier que l'utilisateur peut payer
+        validatePayment(paymentStrategy, user, totalAmount, request.paymentMethod());
 
-        // Sauvegarder l'utilisateur UNIQUEMENT si le crédit étudiant a été modifié
-        // (pas nécessaire pour les paiements externes)
-        if (request.paymentMethod() == PaymentMethod.STUDENT_CREDIT) {
-            userRepository.save(user);
+        return new Checkout(user, cart, restaurant, orderItems, totalAmount, paymentStrategy, request.paymentMethod());
+    }
+
+    /**
+     * Enregistre la commande une fois le paiement traité.
+     */
+    private PlaceOrderResponse completeCheckout(Checkout checkout, PaymentResult paymentResult) {
+        // Vérifier le résultat du paiement
+        if (!paymentResult.success()) {
+            throw new ValidationException("Échec du paiement: " + paymentResult.message());
         }
 
         // Créer la commande à partir du panier
         Order order = new Order(
-                user,
-                restaurant,
-                orderItems,
-                request.paymentMethod()
+                checkout.user(),
+                checkout.restaurant(),
+                checkout.orderItems(),
+                checkout.paymentMethod()
         );
 
         // Marquer automatiquement comme payé pour le crédit étudiant
-        if (request.paymentMethod() == PaymentMethod.STUDENT_CREDIT) {
+        if (checkout.paymentMethod() == PaymentMethod.STUDENT_CREDIT) {
             order.markAsPaid();
         }
 
-        // Sauvegarder la commande
-        Order savedOrder = orderRepository.save(order);
+        // Sauvegarder la commande : son enregistrement porte l'état du compte de crédit après
+        // le débit, si bien que débit et commande deviennent durables ensemble
+        Order savedOrder;
+        try {
+            savedOrder = orderRepository.save(order);
+        } catch (RuntimeException e) {
+            // Commande non enregistrée : rendre le crédit débité
+            if (checkout.paymentMethod() == PaymentMethod.STUDENT_CREDIT) {
+                checkout.user().addCredit(checkout.totalAmount());
+            }
+            throw e;
+        }
+
+        // Mettre aussi à jour l'utilisateur UNIQUEMENT si le crédit étudiant a été modifié
+        // (pas nécessaire pour les paiements externes)
+        if (checkout.paymentMethod() == PaymentMethod.STUDENT_CREDIT) {
+            userRepository.save(checkout.user());
+        }
 
         // Vider le panier apres transformation en commande
-        cartRepository.delete(cart);
+        cartRepository.delete(checkout.cart());
 
         return new PlaceOrderResponse(
                 savedOrder.getOrderId(),
                 savedOrder.getUser().getName(),
                 savedOrder.getRestaurant().getName(),
-                savedOrder.getTotalAmount(),
+                savedOrder.getTotalAmount().toBigDecimal(),
                 savedOrder.getStatus(),
                 savedOrder.getPaymentMethod(),
                 savedOrder.getOrderDateTime()
@@ -167,17 +272,17 @@ public class PlaceOrderUseCase implements UseCase<PlaceOrderRequest, PlaceOrderR
     }
 
     /**
-     * Valide et traite le paiement pour la commande.
+     * Vérifie que le paiement peut être effectué pour la commande.
      *
      * @param paymentStrategy La stratégie de paiement à utiliser
      * @param user L'utilisateur effectuant le paiement
      * @param totalAmount Le montant total à payer
      * @param paymentMethod La méthode de paiement choisie
      * @throws InsufficientCreditException Si le crédit étudiant est insuffisant
-     * @throws ValidationException Si le paiement échoue
+     * @throws ValidationException Si le paiement par carte est impossible
      */
-    private void validateAndProcessPayment(PaymentStrategy paymentStrategy, User user,
-                                          BigDecimal totalAmount, PaymentMethod paymentMethod) {
+    private void validatePayment(PaymentStrategy paymentStrategy, User user,
+                                 BigDecimal totalAmount, PaymentMethod paymentMethod) {
         // Vérifier si l'utilisateur peut payer
         if (!paymentStrategy.canPay(user, totalAmount)) {
             // Message d'erreur adapté selon la méthode de paiement
@@ -194,13 +299,12 @@ public class PlaceOrderUseCase implements UseCase<PlaceOrderRequest, PlaceOrderR
                 );
             }
         }
+    }
 
-        // Traiter le paiement via la stratégie
-        PaymentResult paymentResult = paymentStrategy.processPayment(totalAmount, user);
-
-        // Vérifier le résultat du paiement
-        if (!paymentResult.success()) {
-            throw new ValidationException("Échec du paiement: " + paymentResult.message());
-        }
+    /**
+     * Commande validée, en attente du résultat du paiement.
+     */
+    private record Checkout(User user, Cart cart, Restaurant restaurant, List<OrderItem> orderItems,
+                            BigDecimal totalAmount, PaymentStrategy paymentStrategy, PaymentMethod paymentMethod) {
     }
-}
\ No newline at end of file
+}
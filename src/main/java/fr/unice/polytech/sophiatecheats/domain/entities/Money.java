@@ -0,0 +1,98 @@
+package fr.unice.polytech.sophiatecheats.domain.entities;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montant en euros, stocké en nombre entier de centimes.
+ *
+ * <p>Utilisé par les entités (plats, paniers, commandes) pour que le calcul des
+ * totaux ne fasse aucune allocation intermédiaire. Les opérations détectent les
+ * dépassements de capacité au lieu de boucler silencieusement. La conversion en
+ * {@link BigDecimal} est réservée aux frontières (DTO, paiement).</p>
+ *
+ * @param cents montant en centimes d'euro
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0L);
+
+    private static final int CENTS_SCALE = 2;
+
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Convertit un montant en euros.
+     *
+     * @throws IllegalArgumentException si le montant est null, plus précis que le centime
+     *                                  ou hors de la capacité d'un {@code long}
+     */
+    public static Money of(BigDecimal euros) {
+        if (euros == null) {
+            throw new IllegalArgumentException("Le montant ne peut pas être null");
+        }
+        try {
+            return ofCents(euros.setScale(CENTS_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Montant invalide (centime maximum): " + euros, e);
+        }
+    }
+
+    /**
+     * Convertit un montant écrit en euros, par exemple {@code "12.50"}.
+     */
+    public static Money of(String euros) {
+        if (euros == null) {
+            throw new IllegalArgumentException("Le montant ne peut pas être null");
+        }
+        return of(new BigDecimal(euros));
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    public boolean isZero() {
+        return cents == 0L;
+    }
+
+    /**
+     * Montant en euros, toujours à deux décimales.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+
+    public double doubleValue() {
+        return cents / 100.0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Format exact en euros, sans passer par un {@code double} : {@code 12.50€}, {@code -0.05€}.
+     */
+    @Override
+    public String toString() {
+        long euros = Math.abs(cents / 100);
+        long remainder = Math.abs(cents % 100);
+        return (cents < 0 ? "-" : "") + euros + (remainder < 10 ? ".0" : ".") + remainder + "€";
+    }
+}
@@ -1,15 +1,16 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.cart;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.Entity;
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.CannotMixRestaurantsException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +25,11 @@ import java.util.UUID;
  *   <li>Tous les plats doivent provenir du même restaurant</li>
  * </ul>
  *
+ * <p>Les articles sont indexés par identifiant de plat et le nombre d'articles comme
+ * le montant total sont tenus à jour à chaque modification : les recherches et les
+ * totaux sont en temps constant. Les quantités doivent donc être modifiées via le
+ * panier et non directement sur un {@link CartItem}.</p>
+ *
  * @author Saad
  */
 @Getter
@@ -36,8 +42,18 @@ public class Cart implements Entity<UUID> {
     /** Identifiant de l'utilisateur propriétaire du panier */
     private final UUID userId;
 
-    /** Liste des articles dans le panier */
-    private final List<CartItem> items;
+    /** Articles du panier par identifiant de plat, dans l'ordre d'ajout */
+    private final LinkedHashMap<UUID, CartItem> items;
+
+    /** Nombre total d'articles, toutes quantités confondues */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int totalItems;
+
+    /** Montant total du panier, en centimes */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long totalCents;
 
     /** Date et heure de création du panier */
     private final LocalDateTime createdAt;
@@ -60,7 +76,7 @@ public class Cart implements Entity<UUID> {
         }
         this.id = UUID.randomUUID();
         this.userId = userId;
-        this.items = new ArrayList<>();
+        this.items = new LinkedHashMap<>();
         this.restaurantId = null; // Aucun restaurant au départ
         this.createdAt = LocalDateTime.now();
     }
@@ -96,9 +112,9 @@ public class Cart implements Entity<UUID> {
         if (existingItem.isPresent()) {
             int newQuantity = existingItem.get().getQuantity() + quantity;
             validateQuantity(newQuantity);
-            existingItem.get().updateQuantity(newQuantity);
+            changeQuantity(existingItem.get(), newQuantity);
         } else {
-            items.add(new CartItem(dish, quantity));
+            putItem(new CartItem(dish, quantity));
 
             // Si c'est le premier plat, définir le restaurant du panier
             if (restaurantId == null) {
@@ -131,9 +147,9 @@ public class Cart implements Entity<UUID> {
         if (existingItem.isPresent()) {
             int newQuantity = existingItem.get().getQuantity() + quantity;
             validateQuantity(newQuantity);
-            existingItem.get().updateQuantity(newQuantity);
+            changeQuantity(existingItem.get(), newQuantity);
         } else {
-            items.add(new CartItem(dish, quantity));
+            putItem(new CartItem(dish, quantity));
             // Ne pas modifier restaurantId ici : on ne dispose pas de l'UUID du
             // restaurant dans la surcharge dépréciée. L'appelant devrait utiliser
             // addDish(dish, quantity, restaurantId) lorsqu'il connaît l'ID.
@@ -159,7 +175,7 @@ public class Cart implements Entity<UUID> {
         CartItem item = findItemByDishId(dishId)
                 .orElseThrow(() -> new ValidationException("Plat non trouvé dans le panier: " + dishId));
 
-        item.updateQuantity(quantity);
+        changeQuantity(item, quantity);
     }
 
     /**
@@ -169,7 +185,11 @@ public class Cart implements Entity<UUID> {
      */
     public void removeDish(UUID dishId) {
         validate();
-        items.removeIf(item -> item.getDishId().equals(dishId));
+        CartItem removed = items.remove(dishId);
+        if (removed != null) {
+            totalItems -= removed.getQuantity();
+            totalCents -= removed.getSubtotal().cents();
+        }
 
         // Si le panier devient vide, réinitialiser le restaurant
         if (items.isEmpty()) {
@@ -183,25 +203,23 @@ public class Cart implements Entity<UUID> {
     public void clear() {
         validate();
         items.clear();
+        totalItems = 0;
+        totalCents = 0L;
         restaurantId = null; // Réinitialiser le restaurant
     }
 
     /**
      * Calcule le montant total de tous les articles du panier.
      */
-    public BigDecimal calculateTotal() {
-        return items.stream()
-                .map(CartItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Money calculateTotal() {
+        return Money.ofCents(totalCents);
     }
 
     /**
      * Calcule le nombre total d'articles dans le panier.
      */
     public int getTotalItems() {
-        return items.stream()
-                .mapToInt(CartItem::getQuantity)
-                .sum();
+        return totalItems;
     }
 
     /**
@@ -215,7 +233,7 @@ public class Cart implements Entity<UUID> {
      * Retourne une copie immutable de la liste des articles du panier.
      */
     public List<CartItem> getItems() {
-        return List.copyOf(items);
+        return List.copyOf(items.values());
     }
 
     /**
@@ -242,9 +260,28 @@ public class Cart implements Entity<UUID> {
      * Recherche un article dans le panier par l'identifiant du plat.
      */
     private Optional<CartItem> findItemByDishId(UUID dishId) {
-        return items.stream()
-                .filter(item -> item.getDishId().equals(dishId))
-                .findFirst();
+        return Optional.ofNullable(items.get(dishId));
+    }
+
+    /**
+     * Ajoute un nouvel article et le reporte dans les totaux.
+     */
+    private void putItem(CartItem item) {
+        long subtotal = item.getSubtotal().cents();
+        totalCents = Math.addExact(totalCents, subtotal);
+        items.put(item.getDishId(), item);
+        totalItems += item.getQuantity();
+    }
+
+    /**
+     * Change la quantité d'un article en reportant l'écart dans les totaux.
+     */
+    private void changeQuantity(CartItem item, int newQuantity) {
+        int previousQuantity = item.getQuantity();
+        long previousSubtotal = item.getSubtotal().cents();
+        item.updateQuantity(newQuantity);
+        totalCents = Math.addExact(totalCents, item.getSubtotal().cents() - previousSubtotal);
+        totalItems += newQuantity - previousQuantity;
     }
 
     /**
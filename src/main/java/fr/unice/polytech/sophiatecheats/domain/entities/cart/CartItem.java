@@ -1,10 +1,10 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.cart;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
 import lombok.Getter;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Getter
@@ -14,7 +14,7 @@ public class CartItem {
     private final UUID dishId;
     private final String dishName;
     private final String dishDescription;
-    private final BigDecimal unitPrice;
+    private final Money unitPrice;
     private int quantity;
 
     public CartItem(Dish dish, int quantity) {
@@ -32,13 +32,16 @@ public class CartItem {
         this.quantity = quantity;
     }
 
-    public void updateQuantity(int newQuantity) {
+    /**
+     * Réservé au panier : toute modification de quantité passe par {@link Cart#updateQuantity}.
+     */
+    void updateQuantity(int newQuantity) {
         validateQuantity(newQuantity);
         this.quantity = newQuantity;
     }
 
-    public BigDecimal getSubtotal() {
-        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    public Money getSubtotal() {
+        return unitPrice.times(quantity);
     }
 
 
@@ -50,7 +53,7 @@ public class CartItem {
 
     @Override
     public String toString() {
-        return String.format("CartItem{dish='%s', quantity=%d, subtotal=%.2f€}",
+        return String.format("CartItem{dish='%s', quantity=%d, subtotal=%s}",
                            dishName, quantity, getSubtotal());
     }
 }
@@ -9,15 +9,23 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Représente l'ensemble des créneaux de livraison disponibles pour un restaurant donné.
  * Gère la génération, la recherche et la réservation des créneaux.
+ *
+ * <p>Les créneaux sont indexés par date et par identifiant. Les lectures se font
+ * sans verrou sur des maps concurrentes contenant des listes immuables ; les
+ * écritures (génération, nettoyage) sont sérialisées pour garder les deux index
+ * cohérents.</p>
  */
 public class DeliverySchedule {
     @Getter
     private final UUID restaurantId;
-    private final Map<LocalDate, List<TimeSlot>> slotsByDate = new HashMap<>();
+    private final Map<LocalDate, List<TimeSlot>> slotsByDate = new ConcurrentHashMap<>();
+    private final Map<UUID, TimeSlot> slotsById = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
 
     public DeliverySchedule(UUID restaurantId) {
         this.restaurantId = restaurantId;
@@ -52,7 +60,14 @@ public class DeliverySchedule {
             current = slotEnd;
         }
 
-        slotsByDate.put(date, slots);
+        synchronized (writeLock) {
+            // Publie d'abord les nouveaux créneaux puis retire ceux qu'ils remplacent
+            slots.forEach(slot -> slotsById.put(slot.getId(), slot));
+            List<TimeSlot> replaced = slotsByDate.put(date, List.copyOf(slots));
+            if (replaced != null) {
+                replaced.forEach(slot -> slotsById.remove(slot.getId(), slot));
+            }
+        }
     }
 
     /**
@@ -104,10 +119,10 @@ public class DeliverySchedule {
     }
 
     public Optional<TimeSlot> findSlotById(UUID slotId) {
-        return slotsByDate.values().stream()
-                .flatMap(Collection::stream)
-                .filter(slot -> slot.getId().equals(slotId))
-                .findFirst();
+        if (slotId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(slotsById.get(slotId));
     }
 
     public void reserveSlot(UUID slotId) {
@@ -128,16 +143,33 @@ public class DeliverySchedule {
         findSlotById(slotId).ifPresent(TimeSlot::release);
     }
 
+    /**
+     * Libère une place du créneau s'il existe et compte au moins une réservation.
+     *
+     * @return false si le créneau est inconnu ou n'a aucune réservation
+     */
+    public boolean releaseSlotIfReserved(UUID slotId) {
+        return findSlotById(slotId).map(TimeSlot::releaseIfReserved).orElse(false);
+    }
+
     /**
      * Supprime tous les créneaux passés pour libérer la mémoire.
      */
     public void cleanupPastSlots() {
         LocalDateTime now = LocalDateTime.now();
-        slotsByDate.entrySet().removeIf(entry ->
-            entry.getKey().isBefore(now.toLocalDate()) ||
-            (entry.getKey().equals(now.toLocalDate()) &&
-             entry.getValue().stream().allMatch(slot -> slot.getEndTime().isBefore(now)))
-        );
+        synchronized (writeLock) {
+            Iterator<Map.Entry<LocalDate, List<TimeSlot>>> it = slotsByDate.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<LocalDate, List<TimeSlot>> entry = it.next();
+                boolean past = entry.getKey().isBefore(now.toLocalDate()) ||
+                        (entry.getKey().equals(now.toLocalDate()) &&
+                         entry.getValue().stream().allMatch(slot -> slot.getEndTime().isBefore(now)));
+                if (past) {
+                    it.remove();
+                    entry.getValue().forEach(slot -> slotsById.remove(slot.getId(), slot));
+                }
+            }
+        }
     }
 
 }
@@ -1,16 +1,19 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.order;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
 import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
 import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 @Getter
 @Setter
 public class Order {
@@ -19,13 +22,21 @@ public class Order {
     private Restaurant restaurant;
     private List<OrderItem> orderItems;
     private OrderStatus status;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private LocalDateTime orderDateTime;
     private LocalDateTime deliveryTime;
     private PaymentMethod paymentMethod;
     private UUID deliverySlotId;
     /** Date/heure de réservation du créneau de livraison */
     private LocalDateTime deliverySlotReservedAt;
+    /**
+     * Vrai tant que la commande détient une place réservée par {@link #reserveDeliverySlot}.
+     * Non journalisé : les réservations vivent dans le planning en mémoire du restaurant.
+     */
+    @Setter(AccessLevel.NONE)
+    private boolean deliverySlotReserved;
+    @Getter(AccessLevel.NONE)
+    private final CopyOnWriteArrayList<OrderStatusListener> statusListeners = new CopyOnWriteArrayList<>();
 
     public Order(User user, Restaurant restaurant, List<OrderItem> orderItems,
                     PaymentMethod paymentMethod) {
@@ -41,12 +52,39 @@ public class Order {
     }
 
 
-   public BigDecimal calculateTotalAmount() {
-                   return orderItems.stream()
-                           .map(OrderItem::getTotalPrice)
-                           .reduce(BigDecimal.ZERO, BigDecimal::add);
+   public Money calculateTotalAmount() {
+                   long cents = 0L;
+                   for (OrderItem item : orderItems) {
+                       cents = Math.addExact(cents, item.getTotalPrice().cents());
+                   }
+                   return Money.ofCents(cents);
        }
 
+    /**
+     * Change le statut de la commande et notifie les observateurs.
+     */
+    public void setStatus(OrderStatus status) {
+        OrderStatus previous = this.status;
+        this.status = status;
+        if (previous != status) {
+            statusListeners.forEach(listener -> listener.onStatusChanged(this, previous, status));
+        }
+    }
+
+    /**
+     * Abonne un observateur aux changements de statut (sans doublon).
+     */
+    public void addStatusListener(OrderStatusListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Le listener ne peut pas être null");
+        }
+        statusListeners.addIfAbsent(listener);
+    }
+
+    public void removeStatusListener(OrderStatusListener listener) {
+        statusListeners.remove(listener);
+    }
+
     /**
      * Confirme la commande en changeant son statut vers CONFIRMED.
      * Calcule également le temps de livraison estimé (15 minutes après confirmation).
@@ -60,7 +98,7 @@ public class Order {
             throw new IllegalStateException("La commande a expiré et ne peut pas être confirmée");
         }
 
-        this.status = OrderStatus.CONFIRMED;
+        setStatus(OrderStatus.CONFIRMED);
         this.deliveryTime = LocalDateTime.now().plusMinutes(15);
     }
 
@@ -79,11 +117,28 @@ public class Order {
         if (status == OrderStatus.EXPIRED) {
             throw new IllegalStateException("La commande a expiré et ne peut pas être payée");
         }
-        this.status = OrderStatus.PAID;
+        setStatus(OrderStatus.PAID);
     }
 
     /**
-     * Assigns a delivery slot to this order and reserves it.
+     * Reserves a place in the given slot and assigns it to this order.
+     * The order then holds the reservation and gives it back when it expires.
+     *
+     * @throws IllegalStateException if the order already has a delivery slot
+     * @throws fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException if the slot cannot be reserved
+     */
+    public void reserveDeliverySlot(TimeSlot slot) {
+        if (this.deliverySlotId != null) {
+            throw new IllegalStateException("Order already has a delivery slot assigned");
+        }
+        slot.reserveOrThrow();
+        this.deliverySlotId = slot.getId();
+        this.deliveryTime = slot.getStartTime();
+        this.deliverySlotReserved = true;
+    }
+
+    /**
+     * Assigns a delivery slot to this order without reserving it.
      * This should be called after order creation but before payment processing.
      */
     public void assignDeliverySlot(UUID slotId, LocalDateTime slotStartTime) {
@@ -117,17 +172,28 @@ public class Order {
      */
     public void releaseDeliverySlot() {
         this.deliverySlotId = null;
+        this.deliverySlotReserved = false;
     }
 
     /**
-     * Expire la commande et libère le créneau de livraison si besoin.
+     * Expire la commande et libère le créneau de livraison si besoin,
+     * en rendant au planning du restaurant la place que la commande a réservée.
+     *
+     * <p>Seule une place réservée par {@link #reserveDeliverySlot} est rendue, et une seule
+     * fois : un créneau simplement assigné ne décompte pas la réservation d'une autre commande.
+     * La place est rendue avant le changement de statut : si la libération échoue,
+     * la commande reste en l'état et peut être expirée de nouveau. Un créneau qui n'a
+     * plus de réservation (ou a été retiré du planning) n'empêche pas l'expiration.</p>
      */
     public void expire() {
         if (status == OrderStatus.EXPIRED) {
             throw new IllegalStateException("La commande est déjà expirée");
         }
-        this.status = OrderStatus.EXPIRED;
+        if (deliverySlotReserved && restaurant != null) {
+            restaurant.releaseDeliverySlotIfReserved(deliverySlotId);
+        }
         releaseDeliverySlot();
+        setStatus(OrderStatus.EXPIRED);
     }
 
 }
@@ -1,27 +1,26 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.order;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Getter
 @Setter
 public class OrderItem {
     private Dish dish;
     private int quantity;
-    private BigDecimal unitPrice;
-    private BigDecimal totalPrice;
+    private Money unitPrice;
+    private Money totalPrice;
 
     public OrderItem(Dish dish, int quantity) {
         this.dish = dish;
         this.quantity = quantity;
         this.unitPrice = dish.getPrice();
-        this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        this.totalPrice = unitPrice.times(quantity);
     }
 
-    public BigDecimal getTotalPrice() {
+    public Money getTotalPrice() {
         return totalPrice;
     }
 }
@@ -0,0 +1,21 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.order;
+
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+
+/**
+ * Observateur des changements de statut d'une commande.
+ *
+ * <p>Permet aux repositories de maintenir leurs index (par statut, par utilisateur)
+ * sans que le domaine ne dépende de l'infrastructure. Les notifications sont émises
+ * de manière synchrone par {@link Order} après chaque transition.</p>
+ */
+public interface OrderStatusListener {
+
+    /**
+     * Appelé après un changement de statut.
+     * @param order la commande modifiée
+     * @param previous l'ancien statut
+     * @param current le nouveau statut
+     */
+    void onStatusChanged(Order order, OrderStatus previous, OrderStatus current);
+}
@@ -1,14 +1,17 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.Entity;
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.DishValidationException;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -22,13 +25,18 @@ public class Dish implements Entity<UUID>{
     private final UUID id;
     private final String name;
     private final String description;
-    @Setter
-    private BigDecimal price;
+    private final Money price;
     private final DishCategory category;
-    private boolean available;
+    private final boolean available;
     private final Set<DietType> dietTypes;
+    // Bit i levé si le plat convient au régime d'ordinal i
+    @Getter(AccessLevel.NONE)
+    private final int dietTypeMask;
     // Identifiant du restaurant propriétaire du plat (peut être null si non initialisé)
     private UUID restaurantId;
+    // Propre à chaque instance : un plat modifié est remplacé par une nouvelle instance
+    @Getter(AccessLevel.NONE)
+    private final long modificationStamp = ModificationStamps.next();
 
 
 
@@ -37,10 +45,11 @@ public class Dish implements Entity<UUID>{
         this.id = builder.id;
         this.name = builder.name;
         this.description = builder.description;
-        this.price = builder.price;
+        this.price = toMoney(builder.price);
         this.category = builder.category;
         this.available = builder.available;
-        this.dietTypes = new HashSet<>(builder.dietTypes);
+        this.dietTypes = builder.dietTypes.clone();
+        this.dietTypeMask = maskOf(this.dietTypes);
         this.restaurantId = builder.restaurantId;
         validate();
     }
@@ -56,7 +65,7 @@ public class Dish implements Entity<UUID>{
         private BigDecimal price;
         private DishCategory category = DishCategory.MAIN_COURSE;
         private boolean available = true;
-        private Set<DietType> dietTypes = new HashSet<>();
+        private EnumSet<DietType> dietTypes = EnumSet.noneOf(DietType.class);
         private UUID restaurantId;
 
         public Builder id(UUID id) {
@@ -79,6 +88,11 @@ public class Dish implements Entity<UUID>{
             return this;
         }
 
+        public Builder price(Money price) {
+            this.price = price != null ? price.toBigDecimal() : null;
+            return this;
+        }
+
         public Builder category(DishCategory category) {
             this.category = category;
             return this;
@@ -90,7 +104,7 @@ public class Dish implements Entity<UUID>{
         }
 
         public Builder dietTypes(Set<DietType> dietTypes) {
-            this.dietTypes = new HashSet<>(dietTypes);
+            this.dietTypes = dietTypes.isEmpty() ? EnumSet.noneOf(DietType.class) : EnumSet.copyOf(dietTypes);
             return this;
         }
 
@@ -119,7 +133,7 @@ public class Dish implements Entity<UUID>{
         if (description != null && description.length() > 500) {
             throw new DishValidationException("La description ne peut pas dépasser 500 caractères");
         }
-        if (price == null || price.compareTo(BigDecimal.ZERO) < 0) {
+        if (price == null || price.isNegative()) {
             throw new DishValidationException("Price must be positive or zero");
         }
         if (category == null) {
@@ -131,12 +145,25 @@ public class Dish implements Entity<UUID>{
     }
 
 
-    public void makeAvailable() {
-        this.available = true;
+    private static Money toMoney(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        try {
+            return Money.of(price);
+        } catch (IllegalArgumentException e) {
+            throw new DishValidationException("Le prix doit être exprimé au centime près");
+        }
     }
 
-    public void makeUnavailable() {
-        this.available = false;
+    /**
+     * Tampon du plat. Prix et disponibilité ne changent pas : le restaurant remplace le plat
+     * par une nouvelle instance ({@link Restaurant#modifyDish}, {@link Restaurant#setDishAvailability}),
+     * qui reçoit un nouveau tampon. Ce qui a été calculé à partir d'un plat reste donc valable
+     * tant que son tampon est inchangé.
+     */
+    public long getModificationStamp() {
+        return modificationStamp;
     }
 
     /**
@@ -177,11 +204,40 @@ public class Dish implements Entity<UUID>{
     }
 
     public boolean hasDietType(DietType dietType) {
-        return dietTypes.contains(dietType);
+        return dietType != null && (dietTypeMask & bit(dietType)) != 0;
     }
 
+    /**
+     * Vue non modifiable des régimes : l'ensemble n'évolue plus après la construction du plat.
+     */
     public Set<DietType> getDietTypes() {
-        return new HashSet<>(dietTypes);
+        return Collections.unmodifiableSet(dietTypes);
+    }
+
+    /**
+     * Régimes du plat sous forme de masque : bit {@code 1 << ordinal()} par régime.
+     */
+    public int getDietTypeMask() {
+        return dietTypeMask;
+    }
+
+    /**
+     * Masque d'un ensemble de régimes, au même format que {@link #getDietTypeMask()}.
+     */
+    public static int maskOf(Collection<DietType> dietTypes) {
+        int mask = 0;
+        for (DietType dietType : dietTypes) {
+            mask |= bit(dietType);
+        }
+        return mask;
+    }
+
+    public static int bit(DietType dietType) {
+        return 1 << dietType.ordinal();
+    }
+
+    public static int bit(DishCategory category) {
+        return 1 << category.ordinal();
     }
 
 
@@ -0,0 +1,10 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
+
+/**
+ * Emplacement d'un plat : le plat lui-même et le restaurant qui le propose.
+ *
+ * @param restaurant le restaurant propriétaire du plat
+ * @param dish le plat
+ */
+public record DishLocation(Restaurant restaurant, Dish dish) {
+}
@@ -0,0 +1,223 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * État immuable du menu d'un restaurant à un instant donné.
+ *
+ * <p>Le restaurant publie un nouvel instantané à chaque modification du menu ;
+ * les lecteurs utilisent celui qu'ils ont obtenu sans copie ni verrou. Les listes,
+ * ensembles et bornes de prix sont calculés une seule fois, à la construction.</p>
+ *
+ * <p>Les régimes et catégories servis sont aussi résumés en masques de bits
+ * ({@link Dish#bit(DietType)}, {@link Dish#bit(DishCategory)}), sur tout le menu et sur
+ * les seuls plats disponibles : tester un régime est un simple ET binaire.</p>
+ */
+public final class MenuSnapshot {
+
+    static final MenuSnapshot EMPTY = new MenuSnapshot(List.of());
+
+    private final List<Dish> dishes;
+    private final List<Dish> availableDishes;
+    private final Map<UUID, Dish> dishesById;
+    private final Set<DishCategory> categories;
+    private final Set<DietType> dietTypes;
+    private final Money minPrice;
+    private final Money maxPrice;
+    private final long[] availablePrices;
+    private final int dietTypeMask;
+    private final int categoryMask;
+    private final int availableDietTypeMask;
+    private final int availableCategoryMask;
+
+    private MenuSnapshot(List<Dish> dishes) {
+        this.dishes = List.copyOf(dishes);
+        List<Dish> available = new ArrayList<>();
+        Map<UUID, Dish> byId = new HashMap<>();
+        EnumSet<DishCategory> categorySet = EnumSet.noneOf(DishCategory.class);
+        int diets = 0;
+        int availableDiets = 0;
+        int availableCategories = 0;
+        Money min = null;
+        Money max = null;
+        for (Dish dish : this.dishes) {
+            if (dish.isAvailable()) {
+                available.add(dish);
+                availableDiets |= dish.getDietTypeMask();
+                availableCategories |= Dish.bit(dish.getCategory());
+            }
+            byId.putIfAbsent(dish.getId(), dish);
+            categorySet.add(dish.getCategory());
+            diets |= dish.getDietTypeMask();
+            Money price = dish.getPrice();
+            if (min == null || price.compareTo(min) < 0) {
+                min = price;
+            }
+            if (max == null || price.compareTo(max) > 0) {
+                max = price;
+            }
+        }
+        this.availableDishes = List.copyOf(available);
+        this.availablePrices = new long[available.size()];
+        for (int i = 0; i < availablePrices.length; i++) {
+            availablePrices[i] = available.get(i).getPrice().cents();
+        }
+        Arrays.sort(availablePrices);
+        this.dishesById = Map.copyOf(byId);
+        this.categories = Collections.unmodifiableSet(categorySet);
+        this.dietTypes = Collections.unmodifiableSet(dietTypesOf(diets));
+        this.dietTypeMask = diets;
+        this.categoryMask = maskOf(categorySet);
+        this.availableDietTypeMask = availableDiets;
+        this.availableCategoryMask = availableCategories;
+        this.minPrice = min;
+        this.maxPrice = max;
+    }
+
+    private static EnumSet<DietType> dietTypesOf(int mask) {
+        EnumSet<DietType> set = EnumSet.noneOf(DietType.class);
+        for (DietType dietType : DietType.values()) {
+            if ((mask & Dish.bit(dietType)) != 0) {
+                set.add(dietType);
+            }
+        }
+        return set;
+    }
+
+    private static int maskOf(Set<DishCategory> categories) {
+        int mask = 0;
+        for (DishCategory category : categories) {
+            mask |= Dish.bit(category);
+        }
+        return mask;
+    }
+
+    static MenuSnapshot of(List<Dish> dishes) {
+        return dishes == null || dishes.isEmpty() ? EMPTY : new MenuSnapshot(dishes);
+    }
+
+    /**
+     * Plats du menu, dans l'ordre d'ajout (liste immuable).
+     */
+    public List<Dish> dishes() {
+        return dishes;
+    }
+
+    /**
+     * Plats disponibles au moment de l'instantané (liste immuable).
+     */
+    public List<Dish> availableDishes() {
+        return availableDishes;
+    }
+
+    public Optional<Dish> findDish(UUID dishId) {
+        return dishId == null ? Optional.empty() : Optional.ofNullable(dishesById.get(dishId));
+    }
+
+    public boolean containsDish(UUID dishId) {
+        return dishId != null && dishesById.containsKey(dishId);
+    }
+
+    public Set<DishCategory> categories() {
+        return categories;
+    }
+
+    public Set<DietType> dietTypes() {
+        return dietTypes;
+    }
+
+    /**
+     * Régimes servis par au moins un plat du menu, disponible ou non.
+     */
+    public int dietTypeMask() {
+        return dietTypeMask;
+    }
+
+    /**
+     * Catégories d'au moins un plat du menu, disponible ou non.
+     */
+    public int categoryMask() {
+        return categoryMask;
+    }
+
+    /**
+     * Régimes servis par au moins un plat disponible.
+     */
+    public int availableDietTypeMask() {
+        return availableDietTypeMask;
+    }
+
+    /**
+     * Catégories d'au moins un plat disponible.
+     */
+    public int availableCategoryMask() {
+        return availableCategoryMask;
+    }
+
+    public boolean offersDietType(DietType dietType) {
+        return (availableDietTypeMask & Dish.bit(dietType)) != 0;
+    }
+
+    public boolean offersCategory(DishCategory category) {
+        return (availableCategoryMask & Dish.bit(category)) != 0;
+    }
+
+    /**
+     * Prix le plus bas du menu, vide si le menu est vide.
+     */
+    public Optional<Money> minPrice() {
+        return Optional.ofNullable(minPrice);
+    }
+
+    /**
+     * Prix le plus haut du menu, vide si le menu est vide.
+     */
+    public Optional<Money> maxPrice() {
+        return Optional.ofNullable(maxPrice);
+    }
+
+    /**
+     * Prix le plus bas parmi les plats disponibles, en centimes.
+     */
+    public OptionalLong lowestAvailablePriceCents() {
+        return availablePrices.length == 0 ? OptionalLong.empty() : OptionalLong.of(availablePrices[0]);
+    }
+
+    /**
+     * Indique si au moins un plat disponible a un prix dans l'intervalle fermé donné, en centimes.
+     * Recherche dichotomique dans les prix triés des plats disponibles.
+     */
+    public boolean hasPriceBetween(long minCents, long maxCents) {
+        if (minCents > maxCents) {
+            return false;
+        }
+        int index = Arrays.binarySearch(availablePrices, minCents);
+        if (index >= 0) {
+            return true;
+        }
+        int firstAbove = -index - 1;
+        return firstAbove < availablePrices.length && availablePrices[firstAbove] <= maxCents;
+    }
+
+    public int size() {
+        return dishes.size();
+    }
+
+    public boolean isEmpty() {
+        return dishes.isEmpty();
+    }
+}
@@ -0,0 +1,22 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source unique des tampons de modification des restaurants et des plats.
+ *
+ * <p>Chaque création ou modification prend un tampon jamais attribué auparavant :
+ * deux états différents d'un même objet, ou deux objets portant le même identifiant,
+ * n'ont jamais le même tampon.</p>
+ */
+final class ModificationStamps {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private ModificationStamps() {
+    }
+
+    static long next() {
+        return SEQUENCE.incrementAndGet();
+    }
+}
@@ -5,6 +5,7 @@ import fr.unice.polytech.sophiatecheats.domain.entities.delivery.DeliverySchedul
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantValidationException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,9 +13,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Entité représentant un restaurant dans le système SophiaTech Eats.
+ *
+ * <p>Le menu est publié sous forme d'instantané immuable ({@link MenuSnapshot}),
+ * remplacé d'un bloc à chaque modification : les lecteurs n'ont ni copie ni verrou
+ * à payer et ne voient jamais un menu à moitié modifié.</p>
  */
 @Getter
 @Setter
@@ -25,10 +31,20 @@ public class Restaurant implements Entity<UUID> {
     private final String address;
     private Schedule schedule;
     private boolean isOpen;
-    private final List<Dish> menu;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile MenuSnapshot menu;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Object menuWriteLock = new Object();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile long modificationStamp = ModificationStamps.next();
     private final DeliverySchedule deliverySchedule;
     private RestaurantType restaurantType;
     private DishCategory cuisineType;
+    @Getter(AccessLevel.NONE)
+    private final CopyOnWriteArrayList<RestaurantListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructeur privé utilisé par le Builder.
@@ -39,7 +55,7 @@ public class Restaurant implements Entity<UUID> {
         this.address = builder.address;
         this.schedule = builder.schedule != null ? builder.schedule : Schedule.defaultSchedule();
         this.isOpen = builder.isOpen;
-        this.menu = builder.menu != null ? new ArrayList<>(builder.menu) : new ArrayList<>();
+        this.menu = MenuSnapshot.of(builder.menu);
         this.deliverySchedule = builder.deliverySchedule != null ? builder.deliverySchedule : new DeliverySchedule(this.id);
         this.restaurantType = builder.restaurantType != null ? builder.restaurantType : RestaurantType.RESTAURANT;
         this.cuisineType = builder.cuisineType;
@@ -163,7 +179,7 @@ public class Restaurant implements Entity<UUID> {
         this.id = UUID.randomUUID();
         this.name = name;
         this.address = address;
-        this.menu = new ArrayList<>();
+        this.menu = MenuSnapshot.EMPTY;
         this.isOpen = true;
         this.schedule = Schedule.defaultSchedule();
         this.deliverySchedule = new DeliverySchedule(this.id);
@@ -179,7 +195,7 @@ public class Restaurant implements Entity<UUID> {
         this.id = UUID.randomUUID();
         this.name = name;
         this.address = address;
-        this.menu = new ArrayList<>();
+        this.menu = MenuSnapshot.EMPTY;
         this.isOpen = true;
         this.schedule = Schedule.defaultSchedule();
         this.deliverySchedule = new DeliverySchedule(this.id);
@@ -208,7 +224,7 @@ public class Restaurant implements Entity<UUID> {
         this.address = address;
         this.schedule = schedule != null ? schedule : Schedule.defaultSchedule();
         this.isOpen = isOpen;
-        this.menu = menu != null ? new ArrayList<>(menu) : new ArrayList<>();
+        this.menu = MenuSnapshot.of(menu);
         this.deliverySchedule = deliverySchedule != null ? deliverySchedule : new DeliverySchedule(id);
         this.restaurantType = restaurantType != null ? restaurantType : RestaurantType.RESTAURANT;
         this.cuisineType = cuisineType;
@@ -252,90 +268,221 @@ public class Restaurant implements Entity<UUID> {
         if (dish == null) {
             throw new IllegalArgumentException("Le plat ne peut pas être null");
         }
-        // Check for duplicate dish name only if not explicitly allowing duplicates
-        if (!allowDuplicateNames && menu.stream().anyMatch(existingDish -> existingDish.getName().equals(dish.getName()))) {
-            throw new IllegalArgumentException("Un plat avec le nom '" + dish.getName() + "' existe déjà dans le menu");
+        synchronized (menuWriteLock) {
+            List<Dish> dishes = new ArrayList<>(menu.dishes());
+            // Check for duplicate dish name only if not explicitly allowing duplicates
+            if (!allowDuplicateNames) {
+                checkNameIsFree(dishes, dish.getName());
+            }
+            // Assigner l'UUID du restaurant au plat afin que le plat connaisse son propriétaire.
+            dish.setRestaurantId(this.id);
+            dishes.add(dish);
+            publishMenu(dishes);
+            listeners.forEach(listener -> listener.onDishAdded(this, dish));
+        }
+    }
+
+    /**
+     * Remplace tout le menu par les plats donnés, publiés en un seul instantané.
+     *
+     * <p>Chemin de chargement en masse : l'unicité des noms et des identifiants est vérifiée
+     * en une passe avec des ensembles de hachage, au lieu d'un parcours du menu à chaque plat
+     * comme dans {@link #addDish(Dish)}. Les observateurs reçoivent une seule notification.</p>
+     *
+     * @throws IllegalArgumentException si un plat est null, ou si deux plats ont le même nom
+     *                                  ou le même identifiant ; le menu est alors inchangé
+     */
+    public void replaceMenu(Collection<Dish> dishes) {
+        if (dishes == null) {
+            throw new IllegalArgumentException("Le menu ne peut pas être null");
+        }
+        List<Dish> replacement = new ArrayList<>(dishes.size());
+        Set<String> names = HashSet.newHashSet(dishes.size());
+        Set<UUID> dishIds = HashSet.newHashSet(dishes.size());
+        for (Dish dish : dishes) {
+            if (dish == null) {
+                throw new IllegalArgumentException("Le plat ne peut pas être null");
+            }
+            if (!names.add(dish.getName())) {
+                throw new IllegalArgumentException("Un plat avec le nom '" + dish.getName() + "' existe déjà dans le menu");
+            }
+            if (!dishIds.add(dish.getId())) {
+                throw new IllegalArgumentException("Le plat " + dish.getId() + " apparaît plusieurs fois dans le menu");
+            }
+            replacement.add(dish);
+        }
+        synchronized (menuWriteLock) {
+            List<Dish> previous = menu.dishes();
+            replacement.forEach(dish -> dish.setRestaurantId(this.id));
+            publishMenu(replacement);
+            List<Dish> published = menu.dishes();
+            listeners.forEach(listener -> listener.onMenuReplaced(this, previous, published));
         }
-        // Assigner l'UUID du restaurant au plat afin que le plat connaisse son propriétaire.
-        dish.setRestaurantId(this.id);
-        menu.add(dish);
     }
 
     public void removeDish(UUID dishId) {
         if (dishId == null) {
             throw new IllegalArgumentException("L'identifiant du plat ne peut pas être null");
         }
-        menu.removeIf(dish -> dish.getId().equals(dishId));
+        synchronized (menuWriteLock) {
+            if (!menu.containsDish(dishId)) {
+                return;
+            }
+            List<Dish> dishes = new ArrayList<>(menu.dishes());
+            List<Dish> removed = new ArrayList<>();
+            dishes.removeIf(dish -> dish.getId().equals(dishId) && removed.add(dish));
+            publishMenu(dishes);
+            removed.forEach(dish -> listeners.forEach(listener -> listener.onDishRemoved(this, dish)));
+        }
+    }
+
+    /**
+     * Rend un plat du menu disponible ou indisponible et publie le nouvel état du menu.
+     * C'est par cette méthode, et non directement sur le {@link Dish}, que la disponibilité
+     * d'un plat du menu doit changer. Le plat est reconstruit et garde sa place dans le menu :
+     * les instantanés déjà publiés restent inchangés.
+     *
+     * @return false si le plat n'est pas dans le menu
+     */
+    public boolean setDishAvailability(UUID dishId, boolean available) {
+        synchronized (menuWriteLock) {
+            Optional<Dish> dish = menu.findDish(dishId);
+            if (dish.isEmpty()) {
+                return false;
+            }
+            Dish existingDish = dish.get();
+            Dish modified = rebuild(existingDish, null, null, null, null, available);
+            List<Dish> dishes = new ArrayList<>(menu.dishes());
+            dishes.set(dishes.indexOf(existingDish), modified);
+            replaceDish(existingDish, modified, dishes);
+            return true;
+        }
+    }
+
+    /**
+     * Tampon de l'état courant du restaurant : il change à chaque modification du menu,
+     * de l'ouverture, du planning ou des types. Les plats ont leur propre tampon
+     * ({@link Dish#getModificationStamp()}).
+     */
+    public long getModificationStamp() {
+        return modificationStamp;
+    }
+
+    /**
+     * Instantané courant du menu, à utiliser tel quel pour plusieurs lectures cohérentes.
+     */
+    public MenuSnapshot getMenuSnapshot() {
+        return menu;
+    }
+
+    private static void checkNameIsFree(List<Dish> dishes, String name) {
+        for (Dish existingDish : dishes) {
+            if (existingDish.getName().equals(name)) {
+                throw new IllegalArgumentException("Un plat avec le nom '" + name + "' existe déjà dans le menu");
+            }
+        }
+    }
+
+    /**
+     * Abonne un observateur aux modifications du restaurant (sans doublon).
+     */
+    public void addListener(RestaurantListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Le listener ne peut pas être null");
+        }
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(RestaurantListener listener) {
+        listeners.remove(listener);
     }
 
     public List<Dish> getAvailableDishes() {
-        return menu.stream()
-                .filter(Dish::isAvailable)
-                .toList();
+        return menu.availableDishes();
     }
 
     public Optional<Dish> findDishById(UUID dishId) {
-        if (dishId == null) {
-            return Optional.empty();
-        }
-        return menu.stream()
-                .filter(dish -> dish.getId().equals(dishId))
-                .findFirst();
+        return menu.findDish(dishId);
     }
 
     public Optional<Dish> findDishByName(String dishName) {
         if (dishName == null || dishName.trim().isEmpty()) {
             return Optional.empty();
         }
-        return menu.stream()
+        return menu.dishes().stream()
                 .filter(dish -> dish.getName().equals(dishName))
                 .findFirst();
     }
 
-    // Modifies existing dish attributes while preserving availability state
-    private void modifyDish(UUID dishId, String name, String description, BigDecimal price, DishCategory category) {
-        Optional<Dish> d = findDishById(dishId);
-        if (d.isPresent()) {
-            Dish existingDish = d.get();
-            if (name == null) {
-                name = existingDish.getName();
-            }
-            if (description == null) {
-                description = existingDish.getDescription();
-            }
-            if (price == null) {
-                price = existingDish.getPrice();
+    /**
+     * Modifie en une fois les attributs d'un plat du menu ; un paramètre null laisse
+     * l'attribut inchangé. Le plat est reconstruit et publié dans un seul instantané, avec
+     * une seule notification : les lecteurs voient l'ancien plat ou le nouveau, jamais un
+     * mélange des deux. Le plat passe en fin de menu, sauf si seule sa disponibilité change.
+     *
+     * @return false si le plat n'est pas dans le menu
+     * @throws IllegalArgumentException si le nouveau nom est déjà celui d'un autre plat
+     */
+    public boolean modifyDish(UUID dishId, String name, String description, BigDecimal price,
+                              DishCategory category, Boolean available) {
+        synchronized (menuWriteLock) {
+            Optional<Dish> d = menu.findDish(dishId);
+            if (d.isEmpty()) {
+                return false;
             }
-            if (category == null) {
-                category = existingDish.getCategory();
+            if (name == null && description == null && price == null && category == null) {
+                return available == null || setDishAvailability(dishId, available);
             }
-            boolean currentAvailability = existingDish.isAvailable();
-            removeDish(dishId);
-            addDish(Dish.builder()
-                    .id(dishId)
-                    .name(name)
-                    .description(description)
-                    .price(price)
-                    .category(category)
-                    .available(currentAvailability)
-                    .build());
+            Dish existingDish = d.get();
+            Dish modified = rebuild(existingDish, name, description, price, category, available);
+
+            List<Dish> dishes = new ArrayList<>(menu.dishes());
+            dishes.remove(existingDish);
+            checkNameIsFree(dishes, modified.getName());
+            dishes.add(modified);
+            replaceDish(existingDish, modified, dishes);
+            return true;
         }
     }
 
+    private Dish rebuild(Dish existingDish, String name, String description, BigDecimal price,
+                         DishCategory category, Boolean available) {
+        Dish.Builder replacement = Dish.builder()
+                .id(existingDish.getId())
+                .name(name != null ? name : existingDish.getName())
+                .description(description != null ? description : existingDish.getDescription())
+                .category(category != null ? category : existingDish.getCategory())
+                .dietTypes(existingDish.getDietTypes())
+                .available(available != null ? available : existingDish.isAvailable())
+                .restaurantId(this.id);
+        if (price != null) {
+            replacement.price(price);
+        } else {
+            replacement.price(existingDish.getPrice());
+        }
+        return replacement.build();
+    }
+
+    // Publie le menu où existingDish a été remplacé par modified (appelant sous menuWriteLock)
+    private void replaceDish(Dish existingDish, Dish modified, List<Dish> dishes) {
+        publishMenu(dishes);
+        listeners.forEach(listener -> listener.onMenuReplaced(this, List.of(existingDish), List.of(modified)));
+    }
+
     public void modifyDishName(UUID dishId, String newName) {
-        modifyDish(dishId, newName, null, null, null);
+        modifyDish(dishId, newName, null, null, null, null);
     }
 
     public void modifyDishDescription(UUID dishId, String newDescription) {
-        modifyDish(dishId, null, newDescription, null, null);
+        modifyDish(dishId, null, newDescription, null, null, null);
     }
 
     public void modifyDishPrice(UUID dishId, BigDecimal newPrice) {
-        modifyDish(dishId, null, null, newPrice, null);
+        modifyDish(dishId, null, null, newPrice, null, null);
     }
 
     public void modifyDishCategory(UUID dishId, DishCategory newCategory) {
-        modifyDish(dishId, null, null, null, newCategory);
+        modifyDish(dishId, null, null, null, newCategory, null);
     }
 
     public void reserveDeliverySlot(UUID slotId) {
@@ -346,6 +493,26 @@ public class Restaurant implements Entity<UUID> {
         deliverySchedule.releaseSlot(slotId);
     }
 
+    /**
+     * Comme {@link #releaseDeliverySlot(UUID)}, mais sans erreur pour un créneau inconnu
+     * ou déjà libéré.
+     *
+     * @return true si une place a été rendue
+     */
+    public boolean releaseDeliverySlotIfReserved(UUID slotId) {
+        return deliverySchedule.releaseSlotIfReserved(slotId);
+    }
+
+    private void publishMenu(List<Dish> dishes) {
+        menu = MenuSnapshot.of(dishes);
+        modificationStamp = ModificationStamps.next();
+    }
+
+    private void notifyUpdated() {
+        modificationStamp = ModificationStamps.next();
+        listeners.forEach(listener -> listener.onRestaurantUpdated(this));
+    }
+
     public boolean isOpenAt(LocalTime time) {
         return isOpen && schedule.isOpenAt(time);
     }
@@ -356,6 +523,7 @@ public class Restaurant implements Entity<UUID> {
 
     public void setSchedule(LocalTime opening, LocalTime closing) {
         this.schedule = new Schedule(opening, closing);
+        notifyUpdated();
     }
 
     public void setSchedule(Schedule newSchedule) {
@@ -363,6 +531,17 @@ public class Restaurant implements Entity<UUID> {
             throw new IllegalArgumentException("Le planning ne peut pas être null");
         }
         this.schedule = newSchedule;
+        notifyUpdated();
+    }
+
+    public void setRestaurantType(RestaurantType restaurantType) {
+        this.restaurantType = restaurantType;
+        notifyUpdated();
+    }
+
+    public void setCuisineType(DishCategory cuisineType) {
+        this.cuisineType = cuisineType;
+        notifyUpdated();
     }
 
     public LocalTime getOpeningTime() {
@@ -373,16 +552,24 @@ public class Restaurant implements Entity<UUID> {
         return schedule != null ? schedule.closingTime() : null;
     }
 
+    public void setOpen(boolean isOpen) {
+        this.isOpen = isOpen;
+        notifyUpdated();
+    }
+
     public void open() {
-        this.isOpen = true;
+        setOpen(true);
     }
 
     public void close() {
-        this.isOpen = false;
+        setOpen(false);
     }
 
+    /**
+     * Plats du menu, sans copie : la liste est immuable.
+     */
     public List<Dish> getMenu() {
-        return new ArrayList<>(menu);
+        return menu.dishes();
     }
 
     @Override
@@ -0,0 +1,47 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
+
+import java.util.List;
+
+/**
+ * Observateur des modifications d'un restaurant (menu, ouverture, type).
+ *
+ * <p>Permet aux couches externes (index des repositories par exemple) de rester
+ * synchronisées avec le restaurant sans que le domaine ne dépende de l'infrastructure.
+ * Les notifications sont émises de manière synchrone par {@link Restaurant}.</p>
+ */
+public interface RestaurantListener {
+
+    /**
+     * Appelé après l'ajout d'un plat au menu.
+     * @param restaurant le restaurant propriétaire du plat
+     * @param dish le plat ajouté
+     */
+    void onDishAdded(Restaurant restaurant, Dish dish);
+
+    /**
+     * Appelé après le retrait d'un plat du menu.
+     * @param restaurant le restaurant propriétaire du plat
+     * @param dish le plat retiré
+     */
+    void onDishRemoved(Restaurant restaurant, Dish dish);
+
+    /**
+     * Appelé après le remplacement de tout le menu ({@link Restaurant#replaceMenu}).
+     * Par défaut, équivaut au retrait de chaque ancien plat puis à l'ajout de chaque nouveau.
+     * @param restaurant le restaurant dont le menu a été remplacé
+     * @param removed les plats de l'ancien menu
+     * @param added les plats du nouveau menu
+     */
+    default void onMenuReplaced(Restaurant restaurant, List<Dish> removed, List<Dish> added) {
+        removed.forEach(dish -> onDishRemoved(restaurant, dish));
+        added.forEach(dish -> onDishAdded(restaurant, dish));
+    }
+
+    /**
+     * Appelé après un changement d'état du restaurant : ouverture/fermeture,
+     * planning, type de restaurant ou type de cuisine.
+     * @param restaurant le restaurant modifié
+     */
+    default void onRestaurantUpdated(Restaurant restaurant) {
+    }
+}
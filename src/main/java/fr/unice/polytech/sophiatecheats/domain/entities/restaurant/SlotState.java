@@ -0,0 +1,42 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stockage du mot d'état compacté d'un {@link TimeSlot} (capacité maximale, nombre de
+ * réservations, activation), lu et mis à jour par compare-and-set.
+ *
+ * <p>Par défaut l'état est tenu en mémoire ; un repository peut le placer ailleurs,
+ * par exemple dans un fichier projeté en mémoire, sans que le créneau change de comportement.</p>
+ */
+public interface SlotState {
+
+    long get();
+
+    void set(long value);
+
+    boolean compareAndSet(long expected, long updated);
+
+    /**
+     * État tenu en mémoire, initialisé à {@code initial}.
+     */
+    static SlotState inMemory(long initial) {
+        AtomicLong word = new AtomicLong(initial);
+        return new SlotState() {
+            @Override
+            public long get() {
+                return word.get();
+            }
+
+            @Override
+            public void set(long value) {
+                word.set(value);
+            }
+
+            @Override
+            public boolean compareAndSet(long expected, long updated) {
+                return word.compareAndSet(expected, updated);
+            }
+        };
+    }
+}
@@ -2,13 +2,14 @@ package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.Entity;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.LongUnaryOperator;
 
 /**
  * Représente un créneau de livraison de 30 minutes pour les commandes restaurant.
@@ -21,7 +22,7 @@ import java.util.UUID;
  *   <li>Durée fixe de 30 minutes</li>
  *   <li>Capacité limitée par nombre de commandes</li>
  *   <li>Temps de livraison: fin du créneau + 15 minutes</li>
- *   <li>Réservation atomique avec gestion de la concurrence</li>
+ *   <li>Réservation atomique avec gestion de la concurrence (CAS sans verrou)</li>
  *   <li>Désactivation automatique des créneaux passés</li>
  * </ul>
  *
@@ -33,13 +34,30 @@ import java.util.UUID;
  *   <li><strong>Désactivé:</strong> Fermé manuellement</li>
  * </ul>
  *
+ * <h3>Concurrence:</h3>
+ * <p>La capacité maximale, le nombre de réservations et l'état d'activation sont
+ * regroupés dans un unique {@code long} mis à jour par compare-and-set : une
+ * réservation vérifie et incrémente en une seule opération atomique, ce qui
+ * empêche toute sur-réservation sous forte concurrence. Ce mot est tenu par un
+ * {@link SlotState}, en mémoire par défaut. Lorsqu'il change de stockage
+ * ({@link #bindState(SlotState)}), l'ancien mot est marqué déplacé par compare-and-set :
+ * une mise à jour concurrente sur l'ancien stockage échoue alors et recommence sur le nouveau.</p>
+ *
  * @author SophiaTech Eats Backend Team
  * @since 1.0
  */
 @Getter
-@Setter
 public class TimeSlot implements Entity<UUID> {
 
+    /** Bit indiquant un créneau désactivé manuellement */
+    private static final long DISABLED = 1L << 63;
+    /** Bit indiquant un mot d'état abandonné au profit d'un autre stockage */
+    private static final long MOVED = 1L << 62;
+    private static final long CAPACITY_MASK = 0x3FFF_FFFFL;
+    private static final long RESERVED_MASK = 0xFFFF_FFFFL;
+
+    private enum ReservationOutcome { RESERVED, FULL, UNAVAILABLE }
+
     /** Identifiant unique du créneau */
     private final UUID id;
 
@@ -52,12 +70,12 @@ public class TimeSlot implements Entity<UUID> {
     /** Heure de fin du créneau (startTime + 30 minutes) */
     private final LocalDateTime endTime;
 
-    /** Capacité maximale de commandes pour ce créneau */
-    private int maxCapacity;
-
-    /** Nombre de réservations actuelles */
-    private int reservedCount;
-    private boolean available = true;
+    /**
+     * État compacté : bit 63 = désactivé, bit 62 = déplacé, bits 32-61 = capacité maximale,
+     * bits 0-31 = nombre de réservations actuelles.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile SlotState state;
 
     /**
      * Constructeur privé utilisé par le Builder.
@@ -67,9 +85,17 @@ public class TimeSlot implements Entity<UUID> {
         this.restaurantId = builder.restaurantId;
         this.startTime = builder.startTime;
         this.endTime = builder.endTime;
-        this.maxCapacity = builder.maxCapacity;
-        this.reservedCount = builder.reservedCount;
-        this.available = builder.available;
+        if (builder.state != null) {
+            // Un déplacement interrompu (arrêt du processus) ne doit pas bloquer le créneau
+            long current = builder.state.get();
+            if (isMoved(current)) {
+                builder.state.set(current & ~MOVED);
+            }
+            this.state = builder.state;
+        } else {
+            validateCounters(builder.maxCapacity, builder.reservedCount);
+            this.state = SlotState.inMemory(pack(builder.maxCapacity, builder.reservedCount, builder.available));
+        }
         validate();
     }
 
@@ -91,6 +117,7 @@ public class TimeSlot implements Entity<UUID> {
         private int maxCapacity;
         private int reservedCount = 0;
         private boolean available = true;
+        private SlotState state;
 
         private Builder() {
         }
@@ -194,6 +221,16 @@ public class TimeSlot implements Entity<UUID> {
             return this;
         }
 
+        /**
+         * Définit le stockage de l'état compacté (optionnel). La capacité, les réservations
+         * et l'activation sont alors lues dans ce stockage, qui a été écrit par un créneau
+         * précédent, et les valeurs définies sur le Builder sont ignorées.
+         */
+        public Builder state(SlotState state) {
+            this.state = state;
+            return this;
+        }
+
         /**
          * Construit le TimeSlot avec les paramètres définis.
          * @return Un nouveau TimeSlot
@@ -236,8 +273,8 @@ public class TimeSlot implements Entity<UUID> {
         this.restaurantId = restaurantId;
         this.startTime = startTime;
         this.endTime = endTime;
-        this.maxCapacity = maxCapacity;
-        this.reservedCount = 0;
+        validateCounters(maxCapacity, 0);
+        this.state = SlotState.inMemory(pack(maxCapacity, 0, true));
         validate();
     }
 
@@ -262,8 +299,8 @@ public class TimeSlot implements Entity<UUID> {
         this.restaurantId = restaurantId;
         this.startTime = date.with(startTime);
         this.endTime = this.startTime.plusMinutes(30);
-        this.maxCapacity = maxCapacity;
-        this.reservedCount = 0;
+        validateCounters(maxCapacity, 0);
+        this.state = SlotState.inMemory(pack(maxCapacity, 0, true));
         validate();
     }
 
@@ -272,6 +309,82 @@ public class TimeSlot implements Entity<UUID> {
         return id;
     }
 
+    /**
+     * Déplace l'état du créneau vers {@code target}, qui devient son stockage.
+     *
+     * <p>L'ancien mot est figé en y posant le bit {@link #MOVED} par compare-and-set, puis
+     * sa valeur est recopiée dans {@code target} : une réservation concurrente faite sur
+     * l'ancien stockage est soit comptée avant le déplacement, soit rejouée sur le nouveau.
+     * Si l'écriture dans {@code target} échoue, l'ancien mot est rétabli et reste le stockage
+     * du créneau.</p>
+     */
+    public synchronized void bindState(SlotState target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Le stockage de l'état ne peut pas être null");
+        }
+        SlotState cell = state;
+        if (target == cell) {
+            return;
+        }
+        long current;
+        do {
+            current = cell.get();
+        } while (!cell.compareAndSet(current, current | MOVED));
+        try {
+            target.set(current);
+        } catch (RuntimeException e) {
+            // Personne n'écrit un mot figé : le rétablir libère les threads en attente
+            cell.set(current);
+            throw e;
+        }
+        state = target;
+    }
+
+    /**
+     * Attend que {@link #bindState(SlotState)} ait publié le nouveau stockage après avoir
+     * figé {@code cell}, ou ait rétabli {@code cell} après un échec, pour que l'appelant
+     * recommence sa mise à jour.
+     */
+    private void awaitMove(SlotState cell) {
+        while (state == cell && isMoved(cell.get())) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static long pack(int maxCapacity, int reservedCount, boolean available) {
+        return (available ? 0L : DISABLED) | ((long) maxCapacity << 32) | (reservedCount & RESERVED_MASK);
+    }
+
+    private static int maxCapacityOf(long state) {
+        return (int) ((state >>> 32) & CAPACITY_MASK);
+    }
+
+    private static int reservedCountOf(long state) {
+        return (int) state;
+    }
+
+    private static boolean enabledIn(long state) {
+        return (state & DISABLED) == 0;
+    }
+
+    private static boolean isMoved(long state) {
+        return (state & MOVED) != 0;
+    }
+
+    /**
+     * @return la capacité maximale de commandes pour ce créneau
+     */
+    public int getMaxCapacity() {
+        return maxCapacityOf(state.get());
+    }
+
+    /**
+     * @return le nombre de réservations actuelles
+     */
+    public int getReservedCount() {
+        return reservedCountOf(state.get());
+    }
+
 
     /**
      * Vérifie si le créneau accepte encore des réservations.
@@ -286,7 +399,32 @@ public class TimeSlot implements Entity<UUID> {
      * @return true si des réservations sont possibles
      */
     public boolean isAvailable() {
-        return available && reservedCount < maxCapacity && !isPast();
+        long current = state.get();
+        return enabledIn(current) && reservedCountOf(current) < maxCapacityOf(current) && !isPast();
+    }
+
+    /**
+     * Vérifie la capacité et l'activation puis incrémente le compteur par CAS,
+     * en recommençant tant qu'un autre thread a modifié l'état entre-temps.
+     */
+    private ReservationOutcome tryReserve() {
+        while (true) {
+            SlotState cell = state;
+            long current = cell.get();
+            if (isMoved(current)) {
+                awaitMove(cell);
+                continue;
+            }
+            if (reservedCountOf(current) >= maxCapacityOf(current)) {
+                return ReservationOutcome.FULL;
+            }
+            if (!enabledIn(current) || isPast()) {
+                return ReservationOutcome.UNAVAILABLE;
+            }
+            if (cell.compareAndSet(current, current + 1)) {
+                return ReservationOutcome.RESERVED;
+            }
+        }
     }
 
     /**
@@ -295,11 +433,7 @@ public class TimeSlot implements Entity<UUID> {
      * @return true si la réservation a réussi, false sinon
      */
     public boolean reserve() {
-        if (!isAvailable()) {
-            return false;
-        }
-        reservedCount++;
-        return true;
+        return tryReserve() == ReservationOutcome.RESERVED;
     }
 
     /**
@@ -311,13 +445,11 @@ public class TimeSlot implements Entity<UUID> {
      * @throws ValidationException si la réservation est impossible
      */
     public void reserveOrThrow() {
-        if (reservedCount >= maxCapacity) {
-            throw new ValidationException("Impossible de réserver le créneau : capacité maximale atteinte (" + maxCapacity + ")");
-        }
-        if (!isAvailable()) {
-            throw new ValidationException("Impossible de réserver le créneau : créneau expiré, désactivé ou complet");
+        switch (tryReserve()) {
+            case FULL -> throw new ValidationException("Impossible de réserver le créneau : capacité maximale atteinte (" + getMaxCapacity() + ")");
+            case UNAVAILABLE -> throw new ValidationException("Impossible de réserver le créneau : créneau expiré, désactivé ou complet");
+            case RESERVED -> { }
         }
-        reservedCount++;
     }
 
     /**
@@ -326,10 +458,31 @@ public class TimeSlot implements Entity<UUID> {
      * @throws ValidationException si aucune réservation n'existe
      */
     public void release() {
-        if (reservedCount <= 0) {
+        if (!releaseIfReserved()) {
             throw new ValidationException("Impossible de libérer: aucune réservation existante");
         }
-        reservedCount--;
+    }
+
+    /**
+     * Libère une place si le créneau en compte au moins une.
+     *
+     * @return false si aucune réservation n'existait
+     */
+    public boolean releaseIfReserved() {
+        while (true) {
+            SlotState cell = state;
+            long current = cell.get();
+            if (isMoved(current)) {
+                awaitMove(cell);
+                continue;
+            }
+            if (reservedCountOf(current) <= 0) {
+                return false;
+            }
+            if (cell.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
     }
 
     /**
@@ -338,7 +491,8 @@ public class TimeSlot implements Entity<UUID> {
      * @return true si plus aucune réservation n'est possible
      */
     public boolean isFull() {
-        return reservedCount >= maxCapacity;
+        long current = state.get();
+        return reservedCountOf(current) >= maxCapacityOf(current);
     }
 
     /**
@@ -347,7 +501,8 @@ public class TimeSlot implements Entity<UUID> {
      * @return le nombre de réservations encore possibles
      */
     public int getAvailableSpots() {
-        return Math.max(0, maxCapacity - reservedCount);
+        long current = state.get();
+        return Math.max(0, maxCapacityOf(current) - reservedCountOf(current));
     }
 
     /**
@@ -367,7 +522,7 @@ public class TimeSlot implements Entity<UUID> {
      * @return le nombre de places réservées
      */
     public int getCurrentCapacity() {
-        return reservedCount;
+        return getReservedCount();
     }
 
     // =================== GESTION DU TEMPS ===================
@@ -433,14 +588,41 @@ public class TimeSlot implements Entity<UUID> {
      * mais conservent leurs réservations existantes.</p>
      */
     public void deactivate() {
-        this.available = false;
+        updateState(current -> current | DISABLED);
     }
 
     /**
      * Réactive le créneau pour accepter des réservations.
      */
     public void activate() {
-        this.available = true;
+        updateState(current -> current & ~DISABLED);
+    }
+
+    private void updateState(LongUnaryOperator update) {
+        while (true) {
+            SlotState cell = state;
+            long current = cell.get();
+            if (isMoved(current)) {
+                awaitMove(cell);
+                continue;
+            }
+            if (cell.compareAndSet(current, update.applyAsLong(current))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Active ou désactive le créneau.
+     *
+     * @param available true pour activer, false pour désactiver
+     */
+    public void setAvailable(boolean available) {
+        if (available) {
+            activate();
+        } else {
+            deactivate();
+        }
     }
 
     /**
@@ -453,13 +635,22 @@ public class TimeSlot implements Entity<UUID> {
      * @throws ValidationException si la nouvelle capacité est invalide
      */
     public void setMaxCapacity(int newMaxCapacity) {
-        if (newMaxCapacity <= 0) {
-            throw new ValidationException("La capacité maximale doit être positive");
-        }
-        if (newMaxCapacity < reservedCount) {
-            throw new ValidationException("La nouvelle capacité ne peut pas être inférieure aux réservations existantes");
+        validateCounters(newMaxCapacity, 0);
+        while (true) {
+            SlotState cell = state;
+            long current = cell.get();
+            if (isMoved(current)) {
+                awaitMove(cell);
+                continue;
+            }
+            if (newMaxCapacity < reservedCountOf(current)) {
+                throw new ValidationException("La nouvelle capacité ne peut pas être inférieure aux réservations existantes");
+            }
+            long updated = (current & ~(CAPACITY_MASK << 32)) | ((long) newMaxCapacity << 32);
+            if (cell.compareAndSet(current, updated)) {
+                return;
+            }
         }
-        this.maxCapacity = newMaxCapacity;
     }
 
     // =================== VALIDATION ET UTILITAIRES ===================
@@ -481,9 +672,17 @@ public class TimeSlot implements Entity<UUID> {
         if (startTime.isAfter(endTime)) {
             throw new ValidationException("L'heure de début doit être antérieure à l'heure de fin");
         }
+        long current = state.get();
+        validateCounters(maxCapacityOf(current), reservedCountOf(current));
+    }
+
+    private static void validateCounters(int maxCapacity, int reservedCount) {
         if (maxCapacity <= 0) {
             throw new ValidationException("La capacité maximale doit être positive");
         }
+        if (maxCapacity > CAPACITY_MASK) {
+            throw new ValidationException("La capacité maximale ne peut pas dépasser " + CAPACITY_MASK);
+        }
         if (reservedCount < 0) {
             throw new ValidationException("Le nombre de réservations ne peut pas être négatif");
         }
@@ -504,10 +703,11 @@ public class TimeSlot implements Entity<UUID> {
 
     @Override
     public String toString() {
+        long current = state.get();
         return String.format("TimeSlot{id=%s, restaurant=%s, time=%s-%s, capacity=%d/%d, available=%b}",
                 id, restaurantId,
                 startTime.toLocalTime(), endTime.toLocalTime(),
-                reservedCount, maxCapacity, available);
+                reservedCountOf(current), maxCapacityOf(current), enabledIn(current));
     }
 
 }
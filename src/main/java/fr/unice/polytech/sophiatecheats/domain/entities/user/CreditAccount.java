@@ -0,0 +1,143 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.user;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Compte de crédit étudiant d'un utilisateur, solde tenu en centimes.
+ *
+ * <p>L'état du compte est un {@link Snapshot} immuable remplacé par compare-and-set : un débit
+ * échoue plutôt que de laisser le solde passer sous zéro, quel que soit le nombre de commandes
+ * payées en parallèle par le même étudiant. Les dépassements de capacité sont détectés.</p>
+ *
+ * <p>Chaque mouvement incrémente la version du compte. Un état persistant à plusieurs endroits
+ * (journal des utilisateurs, commandes payées par crédit) se réconcilie ainsi en gardant la
+ * version la plus haute ({@link #restoreIfNewer(Snapshot)}).</p>
+ */
+public final class CreditAccount {
+
+    /**
+     * État du compte : solde en centimes et nombre de mouvements depuis l'ouverture.
+     */
+    public record Snapshot(long cents, long version) {
+
+        public Snapshot {
+            if (cents < 0) {
+                throw new IllegalArgumentException("Le crédit étudiant ne peut pas être négatif");
+            }
+            if (version < 0) {
+                throw new IllegalArgumentException("La version du compte ne peut pas être négative");
+            }
+        }
+
+        public Money balance() {
+            return Money.ofCents(cents);
+        }
+    }
+
+    private final AtomicReference<Snapshot> state;
+
+    /**
+     * @throws IllegalArgumentException si le solde initial est négatif
+     */
+    public CreditAccount(Money initialBalance) {
+        this(new Snapshot(requirePositiveOrZero(initialBalance).cents(), 0));
+    }
+
+    /**
+     * Compte rouvert dans un état persisté.
+     */
+    public CreditAccount(Snapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("L'état du compte ne peut pas être null");
+        }
+        this.state = new AtomicReference<>(snapshot);
+    }
+
+    public Money balance() {
+        return state.get().balance();
+    }
+
+    /**
+     * État courant du compte, cohérent (solde et version lus ensemble).
+     */
+    public Snapshot snapshot() {
+        return state.get();
+    }
+
+    /**
+     * Remplace le solde.
+     *
+     * @throws IllegalArgumentException si le solde est négatif
+     */
+    public void set(Money balance) {
+        long cents = requirePositiveOrZero(balance).cents();
+        apply(current -> cents);
+    }
+
+    /**
+     * @throws IllegalArgumentException si le montant n'est pas strictement positif
+     * @throws ArithmeticException si le solde dépasserait la capacité d'un {@code long}
+     */
+    public void deposit(Money amount) {
+        long credited = requireStrictlyPositive(amount, "Le montant crédité doit être strictement positif");
+        apply(current -> Math.addExact(current, credited));
+    }
+
+    /**
+     * Débite le compte si le solde le permet, sans jamais le rendre négatif.
+     *
+     * @return {@code true} si le débit a eu lieu, {@code false} si le solde est insuffisant
+     * @throws IllegalArgumentException si le montant n'est pas strictement positif
+     */
+    public boolean tryDebit(Money amount) {
+        long debited = requireStrictlyPositive(amount, "Le montant débité doit être strictement positif");
+        Snapshot current;
+        do {
+            current = state.get();
+            if (current.cents() < debited) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, new Snapshot(current.cents() - debited, current.version() + 1)));
+        return true;
+    }
+
+    /**
+     * Reprend un état persisté s'il est plus récent que l'état courant.
+     *
+     * @return {@code true} si l'état a été repris
+     */
+    public boolean restoreIfNewer(Snapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("L'état du compte ne peut pas être null");
+        }
+        Snapshot current;
+        do {
+            current = state.get();
+            if (snapshot.version() <= current.version()) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, snapshot));
+        return true;
+    }
+
+    private void apply(LongUnaryOperator movement) {
+        state.updateAndGet(current -> new Snapshot(movement.applyAsLong(current.cents()), current.version() + 1));
+    }
+
+    private static Money requirePositiveOrZero(Money balance) {
+        if (balance == null || balance.isNegative()) {
+            throw new IllegalArgumentException("Le crédit étudiant ne peut pas être négatif");
+        }
+        return balance;
+    }
+
+    private static long requireStrictlyPositive(Money amount, String message) {
+        if (amount == null || amount.cents() <= 0) {
+            throw new IllegalArgumentException(message);
+        }
+        return amount.cents();
+    }
+}
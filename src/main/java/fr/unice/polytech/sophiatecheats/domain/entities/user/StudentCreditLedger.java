@@ -0,0 +1,70 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.user;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre des comptes de crédit étudiant des utilisateurs d'un repository.
+ *
+ * <p>Le registre appartient au repository utilisateur, qui y inscrit le compte de chaque
+ * utilisateur sauvegardé et l'en retire à la suppression : il ne contient donc que les
+ * comptes des utilisateurs stockés. Les débits de crédit étudiant passent par le registre,
+ * indexé par identifiant : toutes les instances d'un même utilisateur débitent le même compte.</p>
+ */
+public final class StudentCreditLedger {
+
+    private final ConcurrentHashMap<UUID, CreditAccount> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Inscrit le compte de l'utilisateur sauvegardé, à la place de celui d'une instance précédente.
+     */
+    public void register(User user) {
+        accounts.put(user.getId(), user.getCreditAccount());
+    }
+
+    /**
+     * Compte qui fait foi pour l'utilisateur : celui inscrit pour son identifiant, même si
+     * {@code user} est une autre instance (rejeu, reconstruction) ; à défaut, pour un
+     * utilisateur qui n'a jamais été sauvegardé, son propre compte.
+     */
+    public CreditAccount accountOf(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("L'utilisateur ne peut pas être null");
+        }
+        return accounts.getOrDefault(user.getId(), user.getCreditAccount());
+    }
+
+    /**
+     * Solde courant du compte de l'utilisateur ({@link #accountOf(User)}).
+     */
+    public Money balance(User user) {
+        return accountOf(user).balance();
+    }
+
+    /**
+     * Débite le compte de l'utilisateur ({@link #accountOf(User)}) si le solde le permet.
+     *
+     * @return {@code false} si le solde est insuffisant
+     * @throws IllegalArgumentException si le montant n'est pas strictement positif
+     */
+    public boolean tryDebit(User user, Money amount) {
+        return accountOf(user).tryDebit(amount);
+    }
+
+    /**
+     * Ferme le compte de l'utilisateur.
+     */
+    public void close(UUID userId) {
+        accounts.remove(userId);
+    }
+
+    public void clear() {
+        accounts.clear();
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+}
@@ -1,8 +1,10 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.user;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.InsufficientCreditException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,6 +17,10 @@ import java.util.UUID;
  *
  * Note: Cette classe ne gère pas l'authentification ou l'inscription,
  * elle sert uniquement d'identifiant métier.
+ *
+ * Le solde du crédit étudiant est tenu par un {@link CreditAccount} propre à l'utilisateur,
+ * qui garantit qu'aucun débit concurrent ne le rend négatif. Le repository qui stocke
+ * l'utilisateur inscrit ce compte dans son {@link StudentCreditLedger}.
  */
 @Setter
 @Getter
@@ -23,22 +29,30 @@ public class User {
     private final UUID id;
     private final String name;
     private final String email;
-    private BigDecimal studentCredit;
+    @Setter(AccessLevel.NONE)
+    private final CreditAccount creditAccount;
     private Cart cart;
 
     public User(String email, String name) {
-        this.id = UUID.randomUUID();
-        this.email = email;
-        this.name = name;
-        this.studentCredit = BigDecimal.ZERO;
-        this.cart = new Cart(this.id);
+        this(UUID.randomUUID(), email, name, new CreditAccount(Money.ZERO));
     }
 
     public User(UUID id, String email, String name, BigDecimal studentCredit) {
+        this(id, email, name, new CreditAccount(studentCredit != null ? Money.of(studentCredit) : Money.ZERO));
+    }
+
+    /**
+     * Utilisateur dont le crédit est tenu par le compte donné, par exemple un compte rouvert
+     * dans un état persisté : le solde du compte n'est pas modifié.
+     */
+    public User(UUID id, String email, String name, CreditAccount creditAccount) {
+        if (creditAccount == null) {
+            throw new IllegalArgumentException("Le compte de crédit étudiant ne peut pas être null");
+        }
         this.id = id;
         this.email = email;
         this.name = name;
-        this.studentCredit = studentCredit != null ? studentCredit : BigDecimal.ZERO;
+        this.creditAccount = creditAccount;
         this.cart = new Cart(this.id);
     }
 
@@ -56,24 +70,36 @@ public class User {
     }
 
     public BigDecimal getStudentCredit() {
-        return studentCredit;
+        return creditAccount.balance().toBigDecimal();
+    }
+
+    public void setStudentCredit(BigDecimal studentCredit) {
+        creditAccount.set(studentCredit != null ? Money.of(studentCredit) : Money.ZERO);
     }
 
     // Gestion du crédit étudiant
     public void addCredit(BigDecimal amount) {
         if (amount != null && amount.compareTo(BigDecimal.ZERO) > 0) {
-            this.studentCredit = this.studentCredit.add(amount);
+            creditAccount.deposit(Money.of(amount));
         }
     }
 
     public boolean hasEnoughCredit(BigDecimal amount) {
-        return amount != null && this.studentCredit.compareTo(amount) >= 0;
+        return amount != null && getStudentCredit().compareTo(amount) >= 0;
     }
 
+    /**
+     * Débite le crédit étudiant de manière atomique, sur le compte de cette instance. C'est celui
+     * que le repository inscrit dans son {@link StudentCreditLedger} quand il la sauvegarde ; les
+     * paiements passent par le registre ({@link StudentCreditLedger#tryDebit(User, Money)}).
+     *
+     * @throws InsufficientCreditException si le solde ne couvre pas le montant
+     */
     public void deductCredit(BigDecimal amount) {
-        if (amount != null && hasEnoughCredit(amount)) {
-            this.studentCredit = this.studentCredit.subtract(amount);
-        } else {
+        if (amount == null) {
+            throw new InsufficientCreditException("Insufficient credit");
+        }
+        if (amount.signum() != 0 && !creditAccount.tryDebit(Money.of(amount))) {
             throw new InsufficientCreditException("Insufficient credit");
         }
     }
@@ -97,7 +123,7 @@ public class User {
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", email='" + email + '\'' +
-                ", studentCredit=" + studentCredit +
+                ", studentCredit=" + getStudentCredit() +
                 '}';
     }
 }
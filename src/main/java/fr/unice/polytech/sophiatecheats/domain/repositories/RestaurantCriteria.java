@@ -0,0 +1,43 @@
+package fr.unice.polytech.sophiatecheats.domain.repositories;
+
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+
+/**
+ * Critères de recherche de restaurants. Un critère {@code null} n'est pas filtrant.
+ *
+ * @param open true pour les restaurants ouverts, false pour les fermés
+ * @param cuisineType type de cuisine déclaré par le restaurant, ou catégorie présente dans son menu
+ * @param restaurantType type de restaurant
+ * @param dietType régime proposé par au moins un plat disponible du menu
+ * @param minPriceCents borne basse incluse, en centimes, du prix d'au moins un plat disponible
+ * @param maxPriceCents borne haute incluse, en centimes, du prix de ce même plat
+ */
+public record RestaurantCriteria(
+        Boolean open,
+        DishCategory cuisineType,
+        RestaurantType restaurantType,
+        DietType dietType,
+        Long minPriceCents,
+        Long maxPriceCents
+) {
+
+    public RestaurantCriteria(Boolean open, DishCategory cuisineType, RestaurantType restaurantType, DietType dietType) {
+        this(open, cuisineType, restaurantType, dietType, null, null);
+    }
+
+    /**
+     * Indique si les critères portent sur le prix des plats.
+     */
+    public boolean hasPriceRange() {
+        return minPriceCents != null || maxPriceCents != null;
+    }
+
+    /**
+     * Critères vides : tous les restaurants correspondent.
+     */
+    public static RestaurantCriteria any() {
+        return new RestaurantCriteria(null, null, null, null, null, null);
+    }
+}
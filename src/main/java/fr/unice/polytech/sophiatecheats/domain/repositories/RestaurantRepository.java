@@ -1,9 +1,13 @@
 package fr.unice.polytech.sophiatecheats.domain.repositories;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.DishLocation;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -32,4 +36,57 @@ public interface RestaurantRepository extends Repository<Restaurant, UUID> {
      * @return list of open restaurants with dishes in the specified category
      */
     List<Restaurant> findOpenByDishCategory(DishCategory category);
+
+    /**
+     * Find a dish by its identifier together with the restaurant that serves it.
+     * @param dishId the dish identifier
+     * @return the dish location, or empty if no stored restaurant serves this dish
+     */
+    Optional<DishLocation> findDishLocation(UUID dishId);
+
+    /**
+     * Find restaurants matching all the non-null criteria.
+     * @param criteria the search criteria
+     * @return list of restaurants matching every given criterion
+     */
+    List<Restaurant> findByCriteria(RestaurantCriteria criteria);
+
+    /**
+     * Find restaurants matching the criteria in id order, starting strictly after the given id,
+     * so that callers can page through the results with a cursor.
+     * Implementations should seek to the cursor rather than sort every match.
+     * @param criteria the search criteria, or null to match every restaurant
+     * @param after the last id already returned, or null to start from the first restaurant
+     * @param limit the maximum number of restaurants to return
+     * @return at most {@code limit} matching restaurants, in id order
+     */
+    default List<Restaurant> findByCriteriaAfter(RestaurantCriteria criteria, UUID after, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("La limite ne peut pas être négative");
+        }
+        return findByCriteria(criteria).stream()
+                .filter(restaurant -> after == null || restaurant.getId().compareTo(after) > 0)
+                .sorted(Comparator.comparing(Restaurant::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Version of the stored restaurants, incremented on every change the repository
+     * observes: save, deletion, menu change, opening or schedule change.
+     * Results computed from the repository stay valid while this value is unchanged.
+     * @return the current modification version
+     */
+    long modificationVersion();
+
+    /**
+     * Save a batch of restaurants, typically when loading a whole catalog.
+     * Implementations should validate the batch in a single pass and store nothing
+     * if one restaurant is rejected.
+     * @param restaurants the restaurants to save
+     * @return the saved restaurants
+     */
+    default List<Restaurant> saveAll(Collection<Restaurant> restaurants) {
+        return restaurants.stream().map(this::save).toList();
+    }
 }
\ No newline at end of file
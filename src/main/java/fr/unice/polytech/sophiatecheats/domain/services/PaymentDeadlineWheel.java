@@ -0,0 +1,167 @@
+package fr.unice.polytech.sophiatecheats.domain.services;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.OrderStatusListener;
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Roue temporelle hachée des échéances de paiement des commandes.
+ *
+ * <p>Chaque commande dont le paiement a démarré est rangée dans le seau correspondant
+ * à son échéance (réservation du créneau + délai de paiement). À chaque passage,
+ * seuls les seaux des ticks écoulés sont parcourus : le coût dépend du nombre de
+ * commandes réellement échues et non du nombre total de commandes en attente.</p>
+ *
+ * <p>L'échéance est annulée automatiquement dès que la commande quitte le statut
+ * PENDING (paiement, confirmation, expiration).</p>
+ */
+public class PaymentDeadlineWheel {
+
+    public static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final Duration paymentTimeout;
+    private final long tickMillis;
+    private final int mask;
+    private final List<Map<String, Long>> buckets;
+    private final Map<String, Long> deadlineTicks = new HashMap<>();
+    private final OrderStatusListener canceller = this::onStatusChanged;
+    private long processedTick;
+
+    public PaymentDeadlineWheel(Duration paymentTimeout) {
+        this(paymentTimeout, DEFAULT_TICK, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * @param paymentTimeout délai accordé pour payer après le démarrage du paiement
+     * @param tick           granularité de la roue
+     * @param wheelSize      nombre de seaux, arrondi à la puissance de deux supérieure
+     */
+    public PaymentDeadlineWheel(Duration paymentTimeout, Duration tick, int wheelSize) {
+        if (paymentTimeout == null || paymentTimeout.isNegative()) {
+            throw new IllegalArgumentException("Le délai de paiement doit être positif");
+        }
+        if (tick == null || tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("La durée d'un tick doit être strictement positive");
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("La roue doit contenir au moins un seau");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.paymentTimeout = paymentTimeout;
+        this.tickMillis = tick.toMillis();
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.processedTick = tickOf(LocalDateTime.now()) - 1;
+    }
+
+    public Duration getPaymentTimeout() {
+        return paymentTimeout;
+    }
+
+    /**
+     * Enregistre l'échéance de paiement d'une commande, en remplaçant une éventuelle
+     * échéance précédente.
+     *
+     * @param order commande dont le chrono de paiement a démarré
+     */
+    public void schedule(Order order) {
+        if (order == null || order.getOrderId() == null || order.getDeliverySlotReservedAt() == null) {
+            throw new IllegalArgumentException("La commande doit avoir démarré son paiement");
+        }
+        schedule(order.getOrderId(), order.getDeliverySlotReservedAt().plus(paymentTimeout));
+        order.addStatusListener(canceller);
+    }
+
+    synchronized void schedule(String orderId, LocalDateTime deadline) {
+        cancel(orderId);
+        // Une échéance déjà passée est traitée au prochain tick
+        long tick = Math.max(tickOf(deadline), processedTick + 1);
+        buckets.get(bucketOf(tick)).put(orderId, tick);
+        deadlineTicks.put(orderId, tick);
+    }
+
+    /**
+     * Replace une échéance retirée par {@link #pollDue} au prochain tick, par exemple
+     * lorsque l'expiration de la commande a échoué.
+     */
+    public void retry(String orderId) {
+        if (orderId == null) {
+            throw new IllegalArgumentException("L'identifiant de commande est requis");
+        }
+        schedule(orderId, LocalDateTime.now());
+    }
+
+    /**
+     * Annule l'échéance d'une commande.
+     *
+     * @return true si une échéance était enregistrée
+     */
+    public synchronized boolean cancel(String orderId) {
+        Long tick = orderId != null ? deadlineTicks.remove(orderId) : null;
+        if (tick == null) {
+            return false;
+        }
+        buckets.get(bucketOf(tick)).remove(orderId);
+        return true;
+    }
+
+    /**
+     * Avance la roue jusqu'à l'instant donné et retire les échéances atteintes.
+     *
+     * @param now instant courant
+     * @return les identifiants des commandes dont l'échéance est dépassée
+     */
+    public synchronized List<String> pollDue(LocalDateTime now) {
+        long currentTick = tickOf(now);
+        if (currentTick <= processedTick) {
+            return List.of();
+        }
+        List<String> due = new ArrayList<>();
+        long steps = Math.min(currentTick - processedTick, buckets.size());
+        for (long step = 1; step <= steps; step++) {
+            Iterator<Map.Entry<String, Long>> it = buckets.get(bucketOf(processedTick + step)).entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> entry = it.next();
+                // Les échéances d'un tour ultérieur restent dans le seau
+                if (entry.getValue() <= currentTick) {
+                    it.remove();
+                    deadlineTicks.remove(entry.getKey());
+                    due.add(entry.getKey());
+                }
+            }
+        }
+        processedTick = currentTick;
+        return due;
+    }
+
+    public synchronized int size() {
+        return deadlineTicks.size();
+    }
+
+    private void onStatusChanged(Order order, OrderStatus previous, OrderStatus current) {
+        if (current != OrderStatus.PENDING) {
+            cancel(order.getOrderId());
+            order.removeStatusListener(canceller);
+        }
+    }
+
+    private long tickOf(LocalDateTime time) {
+        return Math.floorDiv(time.toInstant(ZoneOffset.UTC).toEpochMilli(), tickMillis);
+    }
+
+    private int bucketOf(long tick) {
+        return (int) (tick & mask);
+    }
+}
@@ -0,0 +1,94 @@
+package fr.unice.polytech.sophiatecheats.domain.services;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Verrous par restaurant, répartis sur un nombre fixe de {@link StampedLock}.
+ *
+ * <p>Un restaurant est toujours associé au même verrou (selon le hash de son
+ * identifiant) ; deux restaurants peuvent partager un verrou sans que cela change
+ * le résultat, seulement le degré de parallélisme.</p>
+ *
+ * <ul>
+ *   <li>{@link #readLocked} : verrou partagé, pour les opérations déjà atomiques entre
+ *   elles (réservation d'un créneau) qui doivent exclure les écritures.</li>
+ *   <li>{@link #write} : verrou exclusif, pour toute modification du menu ou des créneaux.</li>
+ * </ul>
+ *
+ * <p>Les verrous ne sont pas réentrants : une action ne doit pas reprendre un verrou
+ * de cette instance.</p>
+ */
+public class RestaurantLocks {
+
+    public static final int DEFAULT_STRIPES = 64;
+
+    private static final RestaurantLocks SHARED = new RestaurantLocks();
+
+    private final StampedLock[] stripes;
+
+    public RestaurantLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes nombre de verrous, arrondi à la puissance de deux supérieure
+     */
+    public RestaurantLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Le nombre de verrous doit être strictement positif");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new StampedLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * Instance utilisée par défaut par le service et les use cases restaurant,
+     * pour qu'ils se coordonnent même sans injection explicite.
+     */
+    public static RestaurantLocks shared() {
+        return SHARED;
+    }
+
+    public <T> T readLocked(UUID restaurantId, Supplier<T> action) {
+        StampedLock lock = lockFor(restaurantId);
+        long stamp = lock.readLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public <T> T write(UUID restaurantId, Supplier<T> writer) {
+        StampedLock lock = lockFor(restaurantId);
+        long stamp = lock.writeLock();
+        try {
+            return writer.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void write(UUID restaurantId, Runnable writer) {
+        write(restaurantId, () -> {
+            writer.run();
+            return null;
+        });
+    }
+
+    private StampedLock lockFor(UUID restaurantId) {
+        if (restaurantId == null) {
+            throw new IllegalArgumentException("L'identifiant du restaurant ne peut pas être null");
+        }
+        int hash = restaurantId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -27,12 +27,22 @@ import java.util.UUID;
  *     Mettre à jour les informations d’un restaurant existant
  *     Supprimer un restaurant de la base
  *     Gérer le menu et les créneaux de livraison cotés métier pour un restaurant
+ *
+ * Les modifications du menu et des créneaux d'un restaurant prennent son verrou exclusif
+ * ({@link RestaurantLocks}) ; les lectures du menu passent par l'instantané publié
+ * par le restaurant et ne prennent aucun verrou.
  */
 public class RestaurantService {
     private final RestaurantRepository repository;
+    private final RestaurantLocks locks;
 
     public RestaurantService(RestaurantRepository repository) {
+        this(repository, RestaurantLocks.shared());
+    }
+
+    public RestaurantService(RestaurantRepository repository, RestaurantLocks locks) {
         this.repository = repository;
+        this.locks = locks;
     }
 
     // GESTION DES RESTAURANTS - CRUD
@@ -115,54 +125,66 @@ public class RestaurantService {
     //GESTION DU MENU
     public void addDishToRestaurant(UUID restaurantId, String name, String description, BigDecimal price, DishCategory category) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.addDish(Dish.builder()
+        Dish dish = Dish.builder()
                 .name(name)
                 .description(description)
                 .price(price)
                 .category(category)
                 .available(true)
-                .build());
-        repository.save(r);
+                .build();
+        locks.write(restaurantId, () -> {
+            r.addDish(dish);
+            repository.save(r);
+        });
     }
 
     public void removeDishFromRestaurant(UUID restaurantId, UUID dishId) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.removeDish(dishId);
-        repository.save(r);
+        locks.write(restaurantId, () -> {
+            r.removeDish(dishId);
+            repository.save(r);
+        });
     }
 
     public void updateDishName(UUID restaurantId, UUID dishId, String newName) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.modifyDishName(dishId, newName);
-        repository.save(r);
+        locks.write(restaurantId, () -> {
+            r.modifyDishName(dishId, newName);
+            repository.save(r);
+        });
     }
 
     public void updateDishDescription(UUID restaurantId, UUID dishId, String newDescription) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.modifyDishDescription(dishId, newDescription);
-        repository.save(r);
+        locks.write(restaurantId, () -> {
+            r.modifyDishDescription(dishId, newDescription);
+            repository.save(r);
+        });
     }
 
     public void updateDishPrice(UUID restaurantId, UUID dishId, BigDecimal newPrice) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.modifyDishPrice(dishId, newPrice);
-        repository.save(r);
+        locks.write(restaurantId, () -> {
+            r.modifyDishPrice(dishId, newPrice);
+            repository.save(r);
+        });
     }
 
     public void updateDishCategory(UUID restaurantId, UUID dishId, DishCategory newCategory) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.modifyDishCategory(dishId, newCategory);
-        repository.save(r);
+        locks.write(restaurantId, () -> {
+            r.modifyDishCategory(dishId, newCategory);
+            repository.save(r);
+        });
     }
 
     public List<Dish> getRestaurantMenu(UUID restaurantId) {
-        Restaurant r = getRestaurantById(restaurantId);
-        return r.getMenu();
+        // Instantané immuable du menu : aucune synchronisation nécessaire
+        return getRestaurantById(restaurantId).getMenu();
     }
 
     public List<Dish> getAvailableDishes(UUID restaurantId) {
-        Restaurant r = getRestaurantById(restaurantId);
-        return r.getAvailableDishes();
+        return getRestaurantById(restaurantId).getAvailableDishes();
     }
 
     // FILTRAGE DES RESTAURANTS
@@ -180,8 +202,10 @@ public class RestaurantService {
 
     public void generateDeliverySlots(UUID restaurantId, LocalDate date, LocalTime start, LocalTime end, int maxCapacityPerSlot) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.getDeliverySchedule().generateDailySlots(date, start, end, maxCapacityPerSlot);
-        repository.save(r);
+        locks.write(restaurantId, () -> {
+            r.getDeliverySchedule().generateDailySlots(date, start, end, maxCapacityPerSlot);
+            repository.save(r);
+        });
     }
 
     public List<TimeSlot> getDeliverySlots(UUID restaurantId, LocalDate date) {
@@ -191,14 +215,19 @@ public class RestaurantService {
 
     public void reserveDeliverySlot(UUID restaurantId, UUID slotId) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.reserveDeliverySlot(slotId);
-        repository.save(r);
+        // Réservations concurrentes arbitrées par le créneau, exclusives des écritures
+        locks.readLocked(restaurantId, () -> {
+            r.reserveDeliverySlot(slotId);
+            return repository.save(r);
+        });
     }
 
     public void releaseDeliverySlot(UUID restaurantId, UUID slotId) {
         Restaurant r = getRestaurantById(restaurantId);
-        r.releaseDeliverySlot(slotId);
-        repository.save(r);
+        locks.readLocked(restaurantId, () -> {
+            r.releaseDeliverySlot(slotId);
+            return repository.save(r);
+        });
     }
 
     public List<Restaurant> getOpenedRestaurantsTodayAt(LocalTime time) {
@@ -5,15 +5,40 @@ import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 import java.math.BigDecimal;
 import java.security.SecureRandom;
 import java.util.UUID;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Stratégie de paiement par carte bancaire via un service externe (simulé).
+ *
+ * <p>L'appel à la banque est lent ; {@link #processPaymentAsync} l'exécute sur un
+ * thread virtuel, qui libère son thread porteur pendant l'attente.</p>
+ */
 public class ExternalCardStrategy implements PaymentStrategy {
 
     private static final BigDecimal MAX_TRANSACTION_AMOUNT = new BigDecimal("500.00");
     private static final BigDecimal MIN_TRANSACTION_AMOUNT = new BigDecimal("0.01");
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Executor executor;
+    private volatile boolean serviceAvailable = true;
+    private volatile boolean alwaysSucceed = false; // Mode test pour désactiver l'échec aléatoire
 
-    private boolean serviceAvailable = true;
-    private boolean alwaysSucceed = false; // Mode test pour désactiver l'échec aléatoire
+    public ExternalCardStrategy() {
+        this(VIRTUAL_THREADS);
+    }
+
+    /**
+     * @param executor exécuteur des paiements asynchrones
+     */
+    public ExternalCardStrategy(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("L'exécuteur ne peut pas être null");
+        }
+        this.executor = executor;
+    }
 
     @Override
     public PaymentResult processPayment(BigDecimal amount, User user) {
@@ -81,6 +106,11 @@ public class ExternalCardStrategy implements PaymentStrategy {
         }
     }
 
+    @Override
+    public CompletableFuture<PaymentResult> processPaymentAsync(BigDecimal amount, User user) {
+        return CompletableFuture.supplyAsync(() -> processPayment(amount, user), executor);
+    }
+
     @Override
     public boolean canPay(User user, BigDecimal amount) {
         if (user == null || amount == null) {
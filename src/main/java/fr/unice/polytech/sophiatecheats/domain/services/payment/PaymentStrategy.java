@@ -3,6 +3,7 @@ package fr.unice.polytech.sophiatecheats.domain.services.payment;
 import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface Strategy pour le traitement des paiements.
@@ -30,6 +31,20 @@ public interface PaymentStrategy {
      */
     PaymentResult processPayment(BigDecimal amount, User user);
 
+    /**
+     * Traite un paiement sans bloquer l'appelant.
+     *
+     * <p>Par défaut, le paiement est traité immédiatement dans le thread appelant ;
+     * les stratégies qui dépendent d'un service externe lent surchargent cette méthode.</p>
+     *
+     * @param amount Montant à payer
+     * @param user Utilisateur effectuant le paiement
+     * @return future complétée avec le résultat du paiement
+     */
+    default CompletableFuture<PaymentResult> processPaymentAsync(BigDecimal amount, User user) {
+        return CompletableFuture.completedFuture(processPayment(amount, user));
+    }
+
     /**
      * Vérifie si l'utilisateur peut effectuer un paiement avec cette stratégie.
      *
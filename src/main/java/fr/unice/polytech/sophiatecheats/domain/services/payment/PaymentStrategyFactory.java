@@ -13,30 +13,36 @@ import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
  * - Extensibilité : facile d'ajouter de nouvelles stratégies
  * - Maintenabilité : logique de création centralisée
  *
+ * Les stratégies retournées sont les instances partagées d'un {@link PaymentStrategyRegistry}
+ * par défaut : aucune allocation n'a lieu par commande. Les use cases qui doivent partager
+ * leur configuration avec l'application reçoivent plutôt le registre par injection.
+ *
  * @author SophiaTech Eats Team
  * @version 1.0
  */
 public class PaymentStrategyFactory {
 
+    private static final PaymentStrategyRegistry DEFAULT_REGISTRY = new PaymentStrategyRegistry();
+
+    private PaymentStrategyFactory() {
+    }
+
+    /**
+     * Registre partagé utilisé par la factory.
+     */
+    public static PaymentStrategyRegistry defaultRegistry() {
+        return DEFAULT_REGISTRY;
+    }
+
     /**
-     * Crée une stratégie de paiement appropriée selon la méthode de paiement.
+     * Retourne la stratégie de paiement appropriée selon la méthode de paiement.
      *
      * @param paymentMethod Méthode de paiement souhaitée
-     * @return Stratégie de paiement correspondante
+     * @return Stratégie de paiement partagée correspondante
      * @throws IllegalArgumentException si la méthode de paiement est null ou non supportée
      */
     public static PaymentStrategy createStrategy(PaymentMethod paymentMethod) {
-        if (paymentMethod == null) {
-            throw new IllegalArgumentException("La méthode de paiement ne peut pas être null");
-        }
-
-        return switch (paymentMethod) {
-            case STUDENT_CREDIT -> new StudentCreditStrategy();
-            case EXTERNAL_CARD -> new ExternalCardStrategy();
-            default -> throw new IllegalArgumentException(
-                "Méthode de paiement non supportée: " + paymentMethod
-            );
-        };
+        return DEFAULT_REGISTRY.get(paymentMethod);
     }
 
     /**
@@ -46,16 +52,7 @@ public class PaymentStrategyFactory {
      * @return true si la méthode est supportée, false sinon
      */
     public static boolean isSupported(PaymentMethod paymentMethod) {
-        if (paymentMethod == null) {
-            return false;
-        }
-
-        try {
-            createStrategy(paymentMethod);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return DEFAULT_REGISTRY.isSupported(paymentMethod);
     }
 
     /**
@@ -64,9 +61,6 @@ public class PaymentStrategyFactory {
      * @return Tableau des méthodes de paiement supportées
      */
     public static PaymentMethod[] getSupportedMethods() {
-        return new PaymentMethod[] {
-            PaymentMethod.STUDENT_CREDIT,
-            PaymentMethod.EXTERNAL_CARD
-        };
+        return DEFAULT_REGISTRY.getSupportedMethods();
     }
 }
@@ -0,0 +1,96 @@
+package fr.unice.polytech.sophiatecheats.domain.services.payment;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.user.StudentCreditLedger;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registre des stratégies de paiement, une instance partagée par méthode de paiement.
+ *
+ * <p>Les stratégies sont construites une seule fois et réutilisées pour toutes les
+ * commandes : elles doivent donc être thread-safe. Comme l'instance enregistrée est
+ * celle utilisée par les use cases, sa configuration (par exemple
+ * {@link ExternalCardStrategy#setServiceAvailable(boolean)}) s'applique immédiatement
+ * aux paiements en cours.</p>
+ */
+public class PaymentStrategyRegistry {
+
+    private final Map<PaymentMethod, PaymentStrategy> strategies;
+
+    /**
+     * Crée un registre avec les stratégies par défaut (crédit étudiant et carte bancaire).
+     */
+    public PaymentStrategyRegistry() {
+        this(new StudentCreditLedger());
+    }
+
+    /**
+     * Crée un registre avec les stratégies par défaut, le crédit étudiant étant débité
+     * sur les comptes du registre de crédit donné.
+     */
+    public PaymentStrategyRegistry(StudentCreditLedger creditLedger) {
+        this(Map.of(
+            PaymentMethod.STUDENT_CREDIT, new StudentCreditStrategy(creditLedger),
+            PaymentMethod.EXTERNAL_CARD, new ExternalCardStrategy()
+        ));
+    }
+
+    /**
+     * @param strategies stratégie à utiliser pour chaque méthode de paiement supportée
+     */
+    public PaymentStrategyRegistry(Map<PaymentMethod, ? extends PaymentStrategy> strategies) {
+        if (strategies == null || strategies.isEmpty()) {
+            throw new IllegalArgumentException("Au moins une stratégie de paiement est requise");
+        }
+        EnumMap<PaymentMethod, PaymentStrategy> copy = new EnumMap<>(PaymentMethod.class);
+        strategies.forEach((method, strategy) -> {
+            if (method == null || strategy == null) {
+                throw new IllegalArgumentException("Méthode et stratégie de paiement ne peuvent pas être null");
+            }
+            copy.put(method, strategy);
+        });
+        this.strategies = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Retourne la stratégie associée à une méthode de paiement.
+     *
+     * @param paymentMethod Méthode de paiement souhaitée
+     * @return Stratégie de paiement partagée
+     * @throws IllegalArgumentException si la méthode de paiement est null ou non supportée
+     */
+    public PaymentStrategy get(PaymentMethod paymentMethod) {
+        if (paymentMethod == null) {
+            throw new IllegalArgumentException("La méthode de paiement ne peut pas être null");
+        }
+        PaymentStrategy strategy = strategies.get(paymentMethod);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Méthode de paiement non supportée: " + paymentMethod);
+        }
+        return strategy;
+    }
+
+    /**
+     * Retourne la stratégie associée à une méthode de paiement, avec son type concret.
+     *
+     * @throws IllegalArgumentException si la stratégie enregistrée n'est pas du type attendu
+     */
+    public <S extends PaymentStrategy> S get(PaymentMethod paymentMethod, Class<S> type) {
+        PaymentStrategy strategy = get(paymentMethod);
+        if (!type.isInstance(strategy)) {
+            throw new IllegalArgumentException("La stratégie " + paymentMethod + " n'est pas de type " + type.getSimpleName());
+        }
+        return type.cast(strategy);
+    }
+
+    public boolean isSupported(PaymentMethod paymentMethod) {
+        return paymentMethod != null && strategies.containsKey(paymentMethod);
+    }
+
+    public PaymentMethod[] getSupportedMethods() {
+        return strategies.keySet().toArray(PaymentMethod[]::new);
+    }
+}
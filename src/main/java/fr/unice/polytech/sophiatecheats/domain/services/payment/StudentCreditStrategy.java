@@ -1,5 +1,7 @@
 package fr.unice.polytech.sophiatecheats.domain.services.payment;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.StudentCreditLedger;
 import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 
 import java.math.BigDecimal;
@@ -13,7 +15,9 @@ import java.util.UUID;
  *
  * Fonctionnalités :
  * - Vérifie que l'utilisateur a suffisamment de crédit
- * - Déduit le montant du crédit étudiant
+ * - Déduit le montant du crédit étudiant par un débit atomique sur le compte
+ *   de l'utilisateur dans le {@link StudentCreditLedger}, sûr face aux commandes
+ *   simultanées, même passées avec des instances différentes du même utilisateur
  * - Gère les cas d'erreur (solde insuffisant, compte invalide)
  *
  * @author SophiaTech Eats Team
@@ -23,6 +27,22 @@ public class StudentCreditStrategy implements PaymentStrategy {
 
     private static final BigDecimal MINIMUM_BALANCE = BigDecimal.ZERO;
 
+    private final StudentCreditLedger creditLedger;
+
+    /**
+     * Stratégie sans registre partagé : chaque utilisateur est débité sur son propre compte.
+     */
+    public StudentCreditStrategy() {
+        this(new StudentCreditLedger());
+    }
+
+    public StudentCreditStrategy(StudentCreditLedger creditLedger) {
+        if (creditLedger == null) {
+            throw new IllegalArgumentException("Le registre de crédit étudiant ne peut pas être null");
+        }
+        this.creditLedger = creditLedger;
+    }
+
     @Override
     public PaymentResult processPayment(BigDecimal amount, User user) {
         // Validation des paramètres
@@ -34,20 +54,16 @@ public class StudentCreditStrategy implements PaymentStrategy {
             return PaymentResult.failure("Utilisateur invalide", "INVALID_USER");
         }
 
-        // Vérifier si l'utilisateur peut payer
-        if (!canPay(user, amount)) {
-            return PaymentResult.failure(
-                String.format("Crédit étudiant insuffisant. Solde: %.2f€, Requis: %.2f€",
-                    user.getStudentCredit(), amount.doubleValue()),
-                "INSUFFICIENT_FUNDS"
-            );
-        }
-
-        // Traiter le paiement
+        // Traiter le paiement : le débit échoue plutôt que de rendre le solde négatif
         try {
-            BigDecimal currentCredit = user.getStudentCredit();
-            BigDecimal newBalance = currentCredit.subtract(amount);
-            user.setStudentCredit(newBalance);
+            if (!creditLedger.tryDebit(user, Money.of(amount))) {
+                return PaymentResult.failure(
+                    String.format("Crédit étudiant insuffisant. Solde: %.2f€, Requis: %.2f€",
+                        creditLedger.balance(user).toBigDecimal(), amount.doubleValue()),
+                    "INSUFFICIENT_FUNDS"
+                );
+            }
+            BigDecimal newBalance = creditLedger.balance(user).toBigDecimal();
 
             String transactionId = "STU-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
 
@@ -73,7 +89,7 @@ public class StudentCreditStrategy implements PaymentStrategy {
         }
 
         // Vérifier que l'utilisateur a assez de crédit
-        BigDecimal studentCredit = user.getStudentCredit();
+        BigDecimal studentCredit = creditLedger.balance(user).toBigDecimal();
 
         return studentCredit.compareTo(amount) >= 0 &&
                studentCredit.compareTo(MINIMUM_BALANCE) >= 0;
@@ -0,0 +1,360 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.catalog;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Schedule;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Import et export du catalogue des restaurants (menus, horaires, régimes alimentaires)
+ * au format JSON, avec l'API de flux de Jackson ({@link JsonGenerator}, {@link JsonParser}).
+ *
+ * <p>Aucun arbre JSON n'est construit : l'export écrit les restaurants un par un et l'import
+ * remet chaque restaurant au consommateur dès que son objet est lu. La mémoire utilisée ne
+ * dépend donc que du plus gros menu, pas de la taille du fichier.</p>
+ *
+ * <h3>Format</h3>
+ * <pre>
+ * {"version": 1, "restaurants": [
+ *   {"id": "…", "name": "…", "address": "…", "open": true, "type": "RESTAURANT", "cuisine": null,
+ *    "schedule": {"opening": "09:00", "closing": "22:00"},
+ *    "menu": [{"id": "…", "name": "…", "description": "…", "price": 8.50,
+ *              "category": "MAIN_COURSE", "available": true, "dietTypes": ["VEGETARIAN"]}]}
+ * ]}
+ * </pre>
+ * <p>À l'import, les champs inconnus sont ignorés et les champs absents prennent les valeurs
+ * par défaut des builders de {@link Restaurant} et {@link Dish}.</p>
+ */
+public class JsonCatalog {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private final JsonFactory factory = JsonFactory.builder().build();
+
+    /**
+     * Nombre de restaurants et de plats écrits ou lus.
+     */
+    public record Stats(int restaurants, int dishes) {
+    }
+
+    /**
+     * Exporte tous les restaurants du repository dans le fichier.
+     */
+    public Stats export(RestaurantRepository repository, Path file) {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            return write(repository.findAll(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export du catalogue impossible vers " + file, e);
+        }
+    }
+
+    /**
+     * Importe le fichier dans le repository. Les restaurants sont enregistrés d'un bloc
+     * ({@link RestaurantRepository#saveAll}) une fois le fichier entièrement lu : rien n'est
+     * importé si le fichier est invalide ou contient un doublon.
+     *
+     * @throws IllegalArgumentException si le fichier n'est pas un catalogue valide
+     */
+    public Stats importInto(RestaurantRepository repository, Path file) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            List<Restaurant> restaurants = new ArrayList<>();
+            Stats stats = read(in, restaurants::add);
+            repository.saveAll(restaurants);
+            return stats;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import du catalogue impossible depuis " + file, e);
+        }
+    }
+
+    /**
+     * Écrit les restaurants dans le flux, sans le fermer.
+     */
+    public Stats write(Iterable<Restaurant> restaurants, OutputStream out) {
+        int restaurantCount = 0;
+        int dishCount = 0;
+        try (JsonGenerator generator = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeArrayFieldStart("restaurants");
+            for (Restaurant restaurant : restaurants) {
+                dishCount += writeRestaurant(generator, restaurant);
+                restaurantCount++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du catalogue impossible", e);
+        }
+        return new Stats(restaurantCount, dishCount);
+    }
+
+    /**
+     * Lit le catalogue et remet chaque restaurant au consommateur dès qu'il est complet.
+     *
+     * @throws IllegalArgumentException si le contenu n'est pas un catalogue valide
+     */
+    public Stats read(InputStream in, Consumer<Restaurant> consumer) {
+        int restaurantCount = 0;
+        int dishCount = 0;
+        try (JsonParser parser = factory.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "version" -> {
+                        if (value != JsonToken.VALUE_NUMBER_INT || parser.getIntValue() != FORMAT_VERSION) {
+                            throw invalid(parser, "version de catalogue non supportée " + parser.getText());
+                        }
+                    }
+                    case "restaurants" -> {
+                        expect(parser, value, JsonToken.START_ARRAY);
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+                            Restaurant restaurant = readRestaurant(parser);
+                            consumer.accept(restaurant);
+                            restaurantCount++;
+                            dishCount += restaurant.getMenu().size();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du catalogue impossible", e);
+        }
+        return new Stats(restaurantCount, dishCount);
+    }
+
+    private static int writeRestaurant(JsonGenerator generator, Restaurant restaurant) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", restaurant.getId().toString());
+        generator.writeStringField("name", restaurant.getName());
+        generator.writeStringField("address", restaurant.getAddress());
+        generator.writeBooleanField("open", restaurant.isOpen());
+        writeEnumField(generator, "type", restaurant.getRestaurantType());
+        writeEnumField(generator, "cuisine", restaurant.getCuisineType());
+        Schedule schedule = restaurant.getSchedule();
+        if (schedule != null) {
+            generator.writeObjectFieldStart("schedule");
+            writeTimeField(generator, "opening", schedule.openingTime());
+            writeTimeField(generator, "closing", schedule.closingTime());
+            generator.writeEndObject();
+        }
+        List<Dish> menu = restaurant.getMenu();
+        generator.writeArrayFieldStart("menu");
+        for (Dish dish : menu) {
+            writeDish(generator, dish);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        return menu.size();
+    }
+
+    private static void writeDish(JsonGenerator generator, Dish dish) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", dish.getId().toString());
+        generator.writeStringField("name", dish.getName());
+        generator.writeStringField("description", dish.getDescription());
+        generator.writeNumberField("price", dish.getPrice().toBigDecimal());
+        writeEnumField(generator, "category", dish.getCategory());
+        generator.writeBooleanField("available", dish.isAvailable());
+        generator.writeArrayFieldStart("dietTypes");
+        for (DietType dietType : dish.getDietTypes()) {
+            generator.writeString(dietType.name());
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeEnumField(JsonGenerator generator, String field, Enum<?> value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.name());
+        }
+    }
+
+    private static void writeTimeField(JsonGenerator generator, String field, LocalTime time) throws IOException {
+        if (time == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, time.toString());
+        }
+    }
+
+    private static Restaurant readRestaurant(JsonParser parser) throws IOException {
+        Restaurant.Builder builder = Restaurant.builder();
+        List<Dish> menu = List.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> builder.id(readUuid(parser, value));
+                case "name" -> builder.name(readString(parser, value));
+                case "address" -> builder.address(readString(parser, value));
+                case "open" -> builder.isOpen(readBoolean(parser, value));
+                case "type" -> builder.restaurantType(readEnum(parser, value, RestaurantType.class));
+                case "cuisine" -> builder.cuisineType(readEnum(parser, value, DishCategory.class));
+                case "schedule" -> builder.schedule(readSchedule(parser, value));
+                case "menu" -> menu = readMenu(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        Restaurant restaurant = builder.build();
+        restaurant.replaceMenu(menu);
+        return restaurant;
+    }
+
+    private static Schedule readSchedule(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, value, JsonToken.START_OBJECT);
+        LocalTime opening = null;
+        LocalTime closing = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "opening" -> opening = readTime(parser, token);
+                case "closing" -> closing = readTime(parser, token);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Schedule(opening, closing);
+    }
+
+    private static List<Dish> readMenu(JsonParser parser, JsonToken value) throws IOException {
+        expect(parser, value, JsonToken.START_ARRAY);
+        List<Dish> menu = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+            Dish dish = readDish(parser);
+            if (!names.add(dish.getName())) {
+                throw invalid(parser, "un plat avec le nom '" + dish.getName() + "' existe déjà dans le menu");
+            }
+            menu.add(dish);
+        }
+        return menu;
+    }
+
+    private static Dish readDish(JsonParser parser) throws IOException {
+        Dish.Builder builder = Dish.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> builder.id(readUuid(parser, value));
+                case "name" -> builder.name(readString(parser, value));
+                case "description" -> builder.description(readString(parser, value));
+                case "price" -> builder.price(readDecimal(parser, value));
+                case "category" -> builder.category(readEnum(parser, value, DishCategory.class));
+                case "available" -> builder.available(readBoolean(parser, value));
+                case "dietTypes" -> builder.dietTypes(readDietTypes(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static Set<DietType> readDietTypes(JsonParser parser, JsonToken value) throws IOException {
+        expect(parser, value, JsonToken.START_ARRAY);
+        Set<DietType> dietTypes = EnumSet.noneOf(DietType.class);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            dietTypes.add(readEnum(parser, token, DietType.class));
+        }
+        return dietTypes;
+    }
+
+    private static String readString(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, value, JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+
+    private static UUID readUuid(JsonParser parser, JsonToken value) throws IOException {
+        String text = readString(parser, value);
+        try {
+            return text != null ? UUID.fromString(text) : null;
+        } catch (IllegalArgumentException e) {
+            throw invalid(parser, "identifiant invalide '" + text + "'");
+        }
+    }
+
+    private static LocalTime readTime(JsonParser parser, JsonToken value) throws IOException {
+        String text = readString(parser, value);
+        try {
+            return text != null ? LocalTime.parse(text) : null;
+        } catch (DateTimeParseException e) {
+            throw invalid(parser, "heure invalide '" + text + "'");
+        }
+    }
+
+    private static boolean readBoolean(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_TRUE && value != JsonToken.VALUE_FALSE) {
+            throw invalid(parser, "booléen attendu au lieu de " + value);
+        }
+        return parser.getBooleanValue();
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw invalid(parser, "nombre attendu au lieu de " + value);
+        }
+        return parser.getDecimalValue();
+    }
+
+    private static <E extends Enum<E>> E readEnum(JsonParser parser, JsonToken value, Class<E> type) throws IOException {
+        String text = readString(parser, value);
+        try {
+            return text != null ? Enum.valueOf(type, text) : null;
+        } catch (IllegalArgumentException e) {
+            throw invalid(parser, "valeur inconnue '" + text + "' pour " + type.getSimpleName());
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw invalid(parser, expected + " attendu au lieu de " + actual);
+        }
+    }
+
+    private static IllegalArgumentException invalid(JsonParser parser, String message) {
+        return new IllegalArgumentException("Catalogue invalide (ligne " + parser.currentLocation().getLineNr()
+                + ", colonne " + parser.currentLocation().getColumnNr() + ") : " + message);
+    }
+}
@@ -2,26 +2,45 @@ package fr.unice.polytech.sophiatecheats.infrastructure.config;
 
 import fr.unice.polytech.sophiatecheats.application.usecases.user.order.PlaceOrderUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.order.ConfirmOrderUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.order.ExpireUnpaidOrdersUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.order.InitiatePaymentUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.order.SelectDeliverySlotUseCase;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsCache;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.AddDishToRestaurantUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.UpdateDishUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.restaurant.RemoveDishFromRestaurantUseCase;
 import fr.unice.polytech.sophiatecheats.application.usecases.cart.*;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.StudentCreditLedger;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 import fr.unice.polytech.sophiatecheats.domain.repositories.CartRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal.JournalCompactor;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal.JournaledOrderRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal.JournaledUserRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryOrderRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryUserRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryCartRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.CartExpirySweeper;
+import fr.unice.polytech.sophiatecheats.domain.services.PaymentDeadlineWheel;
+import fr.unice.polytech.sophiatecheats.domain.services.RestaurantLocks;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategyRegistry;
 import fr.unice.polytech.sophiatecheats.domain.services.photoai.PhotoAnalysisService;
+import fr.unice.polytech.sophiatecheats.infrastructure.catalog.JsonCatalog;
 import fr.unice.polytech.sophiatecheats.infrastructure.external.MockAIPhotoAnalysisService;
 import org.picocontainer.DefaultPicoContainer;
 import org.picocontainer.MutablePicoContainer;
 import org.picocontainer.behaviors.Caching;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
 
 /**
  * Central application configuration managing dependency injection for the SophiaTech Eats system.
@@ -43,6 +62,15 @@ import org.picocontainer.behaviors.Caching;
  */
 public class ApplicationConfig {
 
+  /** Répertoire des journaux ; s'il n'est pas défini, tous les repositories restent en mémoire. */
+  public static final String JOURNAL_DIRECTORY_PROPERTY = "sophiatecheats.journal.dir";
+
+  /** Catalogue JSON chargé au démarrage à la place des restaurants d'exemple. */
+  public static final String CATALOG_FILE_PROPERTY = "sophiatecheats.catalog";
+
+  static final String USERS_JOURNAL = "users.journal";
+  static final String ORDERS_JOURNAL = "orders.journal";
+
   private final MutablePicoContainer container;
 
   public ApplicationConfig() {
@@ -56,21 +84,41 @@ public class ApplicationConfig {
    */
   private void configure() {
     // Repositories - using caching behavior for singleton instances
-    container.addComponent(UserRepository.class, InMemoryUserRepository.class);
-    container.addComponent(RestaurantRepository.class, InMemoryRestaurantRepository.class);
-    container.addComponent(OrderRepository.class, InMemoryOrderRepository.class);
-    container.addComponent(CartRepository.class, InMemoryCartRepository.class);
+    // Comptes de crédit étudiant, tenus par le repository utilisateur
+    StudentCreditLedger creditLedger = new StudentCreditLedger();
+    container.addComponent(StudentCreditLedger.class, creditLedger);
+    String journalDirectory = System.getProperty(JOURNAL_DIRECTORY_PROPERTY);
+    if (journalDirectory == null || journalDirectory.isBlank()) {
+      container.addComponent(UserRepository.class, new InMemoryUserRepository(creditLedger));
+      container.addComponent(RestaurantRepository.class, createRestaurantRepository());
+      container.addComponent(OrderRepository.class, InMemoryOrderRepository.class);
+    } else {
+      configureJournaledRepositories(Path.of(journalDirectory), creditLedger);
+    }
+    InMemoryCartRepository cartRepository = new InMemoryCartRepository();
+    container.addComponent(CartRepository.class, cartRepository);
+
+    // Nettoyage des paniers expirés en tâche de fond
+    CartExpirySweeper cartSweeper = new CartExpirySweeper(cartRepository, CartExpirySweeper.DEFAULT_PERIOD);
+    container.addComponent(cartSweeper);
+    cartSweeper.start();
 
     // Services
     container.addComponent(PhotoAnalysisService.class, MockAIPhotoAnalysisService.class);
+    container.addComponent(new PaymentDeadlineWheel(Duration.ofMinutes(5)));
+    container.addComponent(PaymentStrategyRegistry.class, new PaymentStrategyRegistry(creditLedger));
+    container.addComponent(RestaurantLocks.class, RestaurantLocks.shared());
 
     // Use Cases
     container.addComponent(BrowseRestaurantsUseCase.class);
+    container.addComponent(BrowseRestaurantsCache.class);
     container.addComponent(PlaceOrderUseCase.class);
 
     // Order Flow Use Cases - Complete order→slot→payment sequence
     container.addComponent(SelectDeliverySlotUseCase.class);
     container.addComponent(ConfirmOrderUseCase.class);
+    container.addComponent(InitiatePaymentUseCase.class);
+    container.addComponent(ExpireUnpaidOrdersUseCase.class);
     
 
     // Cart Use Cases - Only keeping actually used ones
@@ -84,6 +132,45 @@ public class ApplicationConfig {
     container.addComponent(RemoveDishFromRestaurantUseCase.class);
   }
 
+  /**
+   * Restaurants d'exemple, ou ceux du catalogue JSON désigné par {@value #CATALOG_FILE_PROPERTY}.
+   */
+  private static RestaurantRepository createRestaurantRepository() {
+    String catalogFile = System.getProperty(CATALOG_FILE_PROPERTY);
+    if (catalogFile == null || catalogFile.isBlank()) {
+      return new InMemoryRestaurantRepository();
+    }
+    InMemoryRestaurantRepository repository = new InMemoryRestaurantRepository(false);
+    new JsonCatalog().importInto(repository, Path.of(catalogFile));
+    return repository;
+  }
+
+  /**
+   * Utilisateurs et commandes persistés dans des journaux du répertoire donné,
+   * rejoués au démarrage depuis leur dernier instantané ; les restaurants et les paniers
+   * restent en mémoire.
+   */
+  private void configureJournaledRepositories(Path directory, StudentCreditLedger creditLedger) {
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Impossible de créer le répertoire des journaux " + directory, e);
+    }
+    RestaurantRepository restaurantRepository = createRestaurantRepository();
+    JournaledUserRepository userRepository = new JournaledUserRepository(directory.resolve(USERS_JOURNAL), creditLedger);
+    JournaledOrderRepository orderRepository =
+        new JournaledOrderRepository(directory.resolve(ORDERS_JOURNAL), userRepository, restaurantRepository);
+    container.addComponent(RestaurantRepository.class, restaurantRepository);
+    container.addComponent(UserRepository.class, userRepository);
+    container.addComponent(OrderRepository.class, orderRepository);
+
+    // Instantanés en tâche de fond : le démarrage ne rejoue que la fin des journaux
+    JournalCompactor compactor = new JournalCompactor(List.of(userRepository, orderRepository),
+        JournalCompactor.DEFAULT_PERIOD, JournalCompactor.DEFAULT_THRESHOLD_BYTES);
+    container.addComponent(compactor);
+    compactor.start();
+  }
+
   /**
    * Récupère une instance configurée d'une classe.
    */
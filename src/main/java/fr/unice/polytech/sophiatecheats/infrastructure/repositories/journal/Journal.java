@@ -0,0 +1,360 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal binaire en ajout seul, écrit à travers un {@link FileChannel}.
+ *
+ * <p>Chaque enregistrement est précédé de sa longueur et de sa somme de contrôle CRC32C.
+ * À l'ouverture, le journal est relu jusqu'au premier enregistrement incomplet ou corrompu
+ * (écriture interrompue par un arrêt brutal) ; la fin du fichier à partir de cet
+ * enregistrement est tronquée.</p>
+ *
+ * <p>{@link #append(byte[])} ne rend la main qu'une fois l'enregistrement forcé sur disque.
+ * Les forçages sont groupés : un seul appelant à la fois force le canal, et ce forçage
+ * couvre tous les enregistrements écrits avant lui. Les appelants concurrents qui attendent
+ * pendant ce temps sont servis par le forçage suivant, partagé entre eux.</p>
+ *
+ * <p>Les enregistrements sont repérés par une position logique qui ne fait que croître :
+ * l'en-tête du fichier porte la position de son premier enregistrement. {@link #compact(long)}
+ * abandonne les enregistrements couverts par un instantané sans changer la position des suivants.</p>
+ */
+public final class Journal implements Closeable {
+
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+    static final int FILE_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private static final int MAGIC = 0x53544A31; // "STJ1"
+
+    private final Path file;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object syncMonitor = new Object();
+    private final AtomicLong syncCount = new AtomicLong();
+    private FileChannel channel;
+    private volatile long baseOffset;
+    private long writeOffset;
+    private volatile long writtenOffset;
+    private long durableOffset;
+
+    private Journal(Path file, FileChannel channel, long baseOffset, long endOffset) {
+        this.file = file;
+        this.channel = channel;
+        this.baseOffset = baseOffset;
+        this.writeOffset = endOffset;
+        this.writtenOffset = endOffset;
+        this.durableOffset = endOffset;
+    }
+
+    /**
+     * Ouvre (ou crée) le journal et passe chaque enregistrement valide, dans l'ordre
+     * d'écriture, à {@code replay}.
+     *
+     * @throws UncheckedIOException  si le fichier ne peut pas être lu ou tronqué
+     * @throws IllegalStateException si le journal a été compacté
+     */
+    public static Journal open(Path file, Consumer<ByteBuffer> replay) {
+        return open(file, 0, replay);
+    }
+
+    /**
+     * Ouvre (ou crée) le journal et rejoue les enregistrements situés à partir de la position
+     * {@code fromOffset}, c'est-à-dire ceux qui ne sont pas couverts par un instantané.
+     *
+     * @throws UncheckedIOException  si le fichier ne peut pas être lu ou tronqué
+     * @throws IllegalStateException si le journal ne contient pas tous les enregistrements
+     *                               postérieurs à {@code fromOffset}
+     */
+    public static Journal open(Path file, long fromOffset, Consumer<ByteBuffer> replay) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long baseOffset = readOrCreateHeader(channel, file);
+            if (fromOffset < baseOffset) {
+                throw new IllegalStateException("Le journal " + file + " ne couvre plus la position " + fromOffset);
+            }
+            long validLength = replay(channel, baseOffset, fromOffset, replay);
+            long endOffset = baseOffset + validLength - FILE_HEADER_SIZE;
+            if (endOffset < fromOffset) {
+                throw new IllegalStateException("Le journal " + file + " s'arrête avant la position " + fromOffset);
+            }
+            if (validLength < channel.size()) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+            return new Journal(file, channel, baseOffset, endOffset);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Impossible d'ouvrir le journal " + file, e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Ajoute un enregistrement et attend qu'il soit durable.
+     *
+     * @throws IllegalArgumentException si l'enregistrement est vide ou trop volumineux
+     * @throws UncheckedIOException     si l'écriture ou le forçage échoue
+     */
+    public void append(byte[] record) {
+        append(() -> record);
+    }
+
+    /**
+     * Ajoute l'enregistrement produit par {@code record} et attend qu'il soit durable.
+     *
+     * <p>L'enregistrement est produit sous le verrou d'écriture : deux enregistrements
+     * décrivant l'état d'une même entité sont écrits dans l'ordre où cet état a été lu.</p>
+     *
+     * @throws IllegalArgumentException si l'enregistrement est vide ou trop volumineux
+     * @throws UncheckedIOException     si l'écriture ou le forçage échoue
+     */
+    public void append(Supplier<byte[]> record) {
+        long end;
+        appendLock.lock();
+        try {
+            ByteBuffer frame = frame(record.get());
+            long position = physical(writeOffset);
+            while (frame.hasRemaining()) {
+                position += channel.write(frame, position);
+            }
+            writeOffset += frame.capacity();
+            writtenOffset = writeOffset;
+            end = writeOffset;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible dans le journal " + file, e);
+        } finally {
+            appendLock.unlock();
+        }
+        awaitDurable(end);
+    }
+
+    /**
+     * Abandonne les enregistrements situés avant la position {@code upTo}, déjà couverts
+     * par un instantané durable. Les enregistrements suivants sont recopiés dans un nouveau
+     * fichier qui remplace l'ancien de façon atomique, renommage rendu durable ; les écritures
+     * attendent la fin de la copie.
+     *
+     * @throws IllegalArgumentException si la position est hors du journal
+     * @throws UncheckedIOException     si la copie ou le remplacement échoue
+     */
+    public void compact(long upTo) {
+        appendLock.lock();
+        try {
+            if (upTo < baseOffset || upTo > writeOffset) {
+                throw new IllegalArgumentException("Position hors du journal: " + upTo);
+            }
+            if (upTo == baseOffset) {
+                return;
+            }
+            Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+            FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                writeHeader(target, upTo);
+                target.position(FILE_HEADER_SIZE);
+                long position = physical(upTo);
+                long end = physical(writeOffset);
+                while (position < end) {
+                    position += channel.transferTo(position, end - position, target);
+                }
+                target.force(true);
+                synchronized (syncMonitor) {
+                    Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    forceDirectory(file);
+                    closeQuietly(channel);
+                    channel = target;
+                    baseOffset = upTo;
+                    durableOffset = writeOffset;
+                }
+            } catch (IOException | RuntimeException e) {
+                if (channel != target) {
+                    closeQuietly(target);
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Compaction impossible du journal " + file, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Rend durable l'entrée de répertoire de {@code file}, par exemple après un renommage :
+     * sans cela, un arrêt brutal peut annuler le renommage alors que le contenu est écrit.
+     */
+    static void forceDirectory(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private void awaitDurable(long offset) {
+        synchronized (syncMonitor) {
+            // Un forçage précédent, lancé après notre écriture, nous a peut-être déjà couverts
+            if (durableOffset >= offset) {
+                return;
+            }
+            long target = writtenOffset;
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Forçage impossible du journal " + file, e);
+            }
+            durableOffset = target;
+            syncCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Nombre de forçages effectués depuis l'ouverture.
+     */
+    public long syncCount() {
+        return syncCount.get();
+    }
+
+    /**
+     * Position logique suivant le dernier enregistrement écrit.
+     */
+    public long endOffset() {
+        return writtenOffset;
+    }
+
+    /**
+     * Taille en octets des enregistrements encore présents dans le fichier.
+     */
+    public long size() {
+        return writtenOffset - baseOffset;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Fermeture impossible du journal " + file, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    static ByteBuffer frame(byte[] record) {
+        if (record == null || record.length == 0 || record.length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Taille d'enregistrement invalide");
+        }
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + record.length);
+        frame.putInt(record.length).putInt(checksum(record)).put(record).flip();
+        return frame;
+    }
+
+    static int checksum(byte[] record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record, 0, record.length);
+        return (int) crc.getValue();
+    }
+
+    private long physical(long offset) {
+        return FILE_HEADER_SIZE + offset - baseOffset;
+    }
+
+    private static long readOrCreateHeader(FileChannel channel, Path file) throws IOException {
+        if (channel.size() < FILE_HEADER_SIZE) {
+            // Fichier neuf, ou création interrompue avant la fin de l'en-tête
+            channel.truncate(0);
+            writeHeader(channel, 0);
+            channel.force(true);
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Le fichier " + file + " n'est pas un journal");
+        }
+        return header.getLong();
+    }
+
+    private static void writeHeader(FileChannel channel, long baseOffset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).putLong(baseOffset).flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    /**
+     * Relit les enregistrements et renvoie la longueur de la partie valide du fichier.
+     */
+    private static long replay(FileChannel channel, long baseOffset, long fromOffset,
+                               Consumer<ByteBuffer> replay) throws IOException {
+        long size = channel.size();
+        long position = FILE_HEADER_SIZE;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (size - position >= HEADER_SIZE) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || length > size - position - HEADER_SIZE) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(length);
+            readFully(channel, record, position + HEADER_SIZE);
+            if (checksum(record.array()) != checksum) {
+                break;
+            }
+            if (baseOffset + position - FILE_HEADER_SIZE >= fromOffset) {
+                record.flip();
+                replay.accept(record.asReadOnlyBuffer());
+            }
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            position += read;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // l'erreur d'origine est plus utile que celle de fermeture
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tâche de fond qui écrit périodiquement un instantané des repositories journalisés
+ * dont le journal a dépassé une taille donnée, puis compacte ce journal.
+ *
+ * <p>Le temps de démarrage reste ainsi borné par la taille de l'état et non par celle
+ * de l'historique. Comme le nettoyage des paniers, la tâche s'exécute sur un thread démon
+ * dédié et une erreur lors d'un passage n'interrompt pas les passages suivants ; la dernière
+ * erreur reste consultable par {@link #lastFailure()} pour la supervision.</p>
+ */
+public class JournalCompactor implements AutoCloseable {
+
+    public static final Duration DEFAULT_PERIOD = Duration.ofMinutes(1);
+    public static final long DEFAULT_THRESHOLD_BYTES = 8L * 1024 * 1024;
+
+    private final List<Snapshottable> repositories;
+    private final Duration period;
+    private final long thresholdBytes;
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> task;
+    private volatile RuntimeException lastFailure;
+
+    public JournalCompactor(List<? extends Snapshottable> repositories, Duration period, long thresholdBytes) {
+        if (repositories == null || repositories.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un repository journalisé est requis");
+        }
+        if (period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("La période de compaction doit être strictement positive");
+        }
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("Le seuil de compaction ne peut pas être négatif");
+        }
+        this.repositories = List.copyOf(repositories);
+        this.period = period;
+        this.thresholdBytes = thresholdBytes;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Démarre la compaction périodique. Sans effet si elle est déjà démarrée.
+     */
+    public synchronized void start() {
+        if (task != null) {
+            return;
+        }
+        long periodNanos = period.toNanos();
+        task = executor.scheduleWithFixedDelay(this::compactSafely, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Exécute un passage immédiatement.
+     *
+     * @return le nombre de repositories dont le journal a été compacté
+     */
+    public int compact() {
+        int compacted = 0;
+        for (Snapshottable repository : repositories) {
+            if (compact(repository)) {
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Dernière erreur survenue lors d'un passage périodique, vide si aucun n'a échoué.
+     */
+    public Optional<RuntimeException> lastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    public synchronized boolean isRunning() {
+        return task != null && !task.isCancelled();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (task != null) {
+            task.cancel(false);
+        }
+        executor.shutdownNow();
+    }
+
+    private void compactSafely() {
+        for (Snapshottable repository : repositories) {
+            try {
+                compact(repository);
+            } catch (RuntimeException e) {
+                // Un repository en échec ne doit empêcher ni les autres ni les passages suivants
+                lastFailure = e;
+            }
+        }
+    }
+
+    private boolean compact(Snapshottable repository) {
+        long size = repository.journalSize();
+        if (size == 0 || size < thresholdBytes) {
+            return false;
+        }
+        repository.snapshot();
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Journal et instantané d'un repository.
+ *
+ * <p>Au démarrage, l'instantané est relu, puis seuls les enregistrements du journal qu'il
+ * ne couvre pas sont rejoués. Une écriture journalise puis applique sa modification en
+ * mémoire sous un verrou partagé ; un instantané prend ce verrou en exclusif le temps de
+ * relever la position du journal et d'encoder les entités, puis écrit les enregistrements
+ * obtenus sans bloquer les écritures. Les entités sont mutables : les encoder après avoir
+ * rendu le verrou laisserait entrer dans l'instantané une modification journalisée après
+ * la position relevée.</p>
+ */
+final class JournalStore implements Closeable {
+
+    private final Path snapshotFile;
+    private final Journal journal;
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+    private final Object snapshotLock = new Object();
+
+    JournalStore(Path file, Consumer<ByteBuffer> replay) {
+        this.snapshotFile = file.resolveSibling(file.getFileName() + ".snapshot");
+        long coveredOffset = SnapshotFile.read(snapshotFile, replay);
+        this.journal = Journal.open(file, coveredOffset, replay);
+    }
+
+    /**
+     * Journalise l'enregistrement puis applique la modification correspondante en mémoire.
+     */
+    <R> R write(Supplier<byte[]> record, Supplier<R> apply) {
+        gate.readLock().lock();
+        try {
+            journal.append(record);
+            return apply.get();
+        } finally {
+            gate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Écrit un instantané des entités renvoyées par {@code state}, puis compacte le journal.
+     */
+    <T> void snapshot(Supplier<? extends Collection<T>> state, Function<T, byte[]> encoder) {
+        synchronized (snapshotLock) {
+            long coveredOffset;
+            List<byte[]> records;
+            gate.writeLock().lock();
+            try {
+                coveredOffset = journal.endOffset();
+                Collection<T> entities = state.get();
+                records = new ArrayList<>(entities.size());
+                for (T entity : entities) {
+                    records.add(encoder.apply(entity));
+                }
+            } finally {
+                gate.writeLock().unlock();
+            }
+            // L'instantané est durable, renommage compris, avant que le journal ne soit tronqué
+            SnapshotFile.write(snapshotFile, coveredOffset, records);
+            journal.compact(coveredOffset);
+        }
+    }
+
+    Journal journal() {
+        return journal;
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+}
@@ -0,0 +1,262 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.OrderItem;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.CreditAccount;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryOrderRepository;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repository de commandes persistant : les lectures et les index restent ceux de
+ * {@link InMemoryOrderRepository}, chaque écriture est d'abord rendue durable dans un {@link Journal}.
+ *
+ * <p>Un enregistrement décrit l'état complet de la commande au moment du {@link #save(Order)} :
+ * une modification (statut, créneau, paiement) n'est durable qu'une fois la commande
+ * sauvegardée, comme le font déjà les cas d'utilisation. Les prix des lignes sont ceux
+ * payés, indépendamment des prix actuels du menu.</p>
+ *
+ * <p>Au démarrage, le dernier instantané est relu puis le journal qui le suit est rejoué ;
+ * seul le dernier état de chaque commande est gardé.
+ * L'utilisateur et le restaurant sont repris des repositories fournis ; s'ils en ont disparu,
+ * ils sont reconstruits à partir des informations journalisées (restaurant fermé, plats
+ * indisponibles), sans être ajoutés à ces repositories.</p>
+ *
+ * <p>L'enregistrement porte aussi l'état du compte de crédit de l'utilisateur (solde et
+ * version) : un paiement par crédit étudiant devient durable en même temps que sa commande.
+ * Au rejeu, un état plus récent que celui du repository utilisateur y est repris puis
+ * sauvegardé, par exemple après un arrêt survenu entre les deux écritures.</p>
+ */
+public final class JournaledOrderRepository extends InMemoryOrderRepository implements Snapshottable, Closeable {
+
+    private static final byte ORDER_SAVED = 1;
+    private static final byte ORDER_DELETED = 2;
+    private static final byte ORDERS_CLEARED = 3;
+
+    private final JournalStore store;
+
+    public JournaledOrderRepository(Path file, UserRepository userRepository, RestaurantRepository restaurantRepository) {
+        Map<String, OrderRecord> replayed = new LinkedHashMap<>();
+        this.store = new JournalStore(file, record -> replay(record, replayed));
+        Map<UUID, User> advancedUsers = new LinkedHashMap<>();
+        for (OrderRecord order : replayed.values()) {
+            super.save(order.restore(userRepository, restaurantRepository, advancedUsers));
+        }
+        // Débits durables seulement dans ce journal : les reporter dans celui des utilisateurs
+        advancedUsers.values().forEach(userRepository::save);
+    }
+
+    @Override
+    public Order save(Order order) {
+        if (order == null || order.getOrderId() == null) {
+            return super.save(order);
+        }
+        return store.write(() -> encode(order), () -> super.save(order));
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        if (!existsById(id)) {
+            return false;
+        }
+        return store.write(() -> new RecordCodec.Writer(ORDER_DELETED).writeString(id).toByteArray(),
+                () -> super.deleteById(id));
+    }
+
+    @Override
+    public void clear() {
+        store.write(() -> new RecordCodec.Writer(ORDERS_CLEARED).toByteArray(), () -> {
+            super.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public void snapshot() {
+        store.snapshot(this::findAll, JournaledOrderRepository::encode);
+    }
+
+    @Override
+    public long journalSize() {
+        return store.journal().size();
+    }
+
+    /**
+     * Journal sous-jacent, exposé pour la supervision (taille, nombre de forçages).
+     */
+    public Journal journal() {
+        return store.journal();
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private static byte[] encode(Order order) {
+        RecordCodec.Writer writer = new RecordCodec.Writer(ORDER_SAVED).writeString(order.getOrderId());
+
+        User user = order.getUser();
+        writer.writeBoolean(user != null);
+        if (user != null) {
+            CreditAccount.Snapshot credit = user.getCreditAccount().snapshot();
+            writer.writeUuid(user.getId()).writeString(user.getEmail()).writeString(user.getName())
+                    .writeLong(credit.cents()).writeLong(credit.version());
+        }
+
+        Restaurant restaurant = order.getRestaurant();
+        writer.writeBoolean(restaurant != null);
+        if (restaurant != null) {
+            writer.writeUuid(restaurant.getId()).writeString(restaurant.getName()).writeString(restaurant.getAddress());
+        }
+
+        List<OrderItem> items = order.getOrderItems();
+        writer.writeInt(items.size());
+        for (OrderItem item : items) {
+            Dish dish = item.getDish();
+            writer.writeUuid(dish.getId())
+                    .writeString(dish.getName())
+                    .writeEnum(dish.getCategory())
+                    .writeInt(item.getQuantity())
+                    .writeLong(item.getUnitPrice().cents())
+                    .writeLong(item.getTotalPrice().cents());
+        }
+
+        return writer.writeEnum(order.getStatus())
+                .writeLong(order.getTotalAmount().cents())
+                .writeDateTime(order.getOrderDateTime())
+                .writeDateTime(order.getDeliveryTime())
+                .writeEnum(order.getPaymentMethod())
+                .writeUuid(order.getDeliverySlotId())
+                .writeDateTime(order.getDeliverySlotReservedAt())
+                .toByteArray();
+    }
+
+    private static void replay(ByteBuffer record, Map<String, OrderRecord> orders) {
+        RecordCodec.Reader reader = new RecordCodec.Reader(record);
+        switch (reader.readByte()) {
+            case ORDER_SAVED -> {
+                OrderRecord order = OrderRecord.read(reader);
+                // Réinsérer place la commande en fin d'ordre de rejeu, comme sa dernière sauvegarde
+                orders.remove(order.orderId());
+                orders.put(order.orderId(), order);
+            }
+            case ORDER_DELETED -> orders.remove(reader.readString());
+            case ORDERS_CLEARED -> orders.clear();
+            default -> throw new IllegalStateException("Enregistrement de commande inconnu dans le journal");
+        }
+    }
+
+    private record ItemRecord(UUID dishId, String dishName, DishCategory category,
+                              int quantity, long unitPriceCents, long totalPriceCents) {
+
+        OrderItem restore(Restaurant restaurant) {
+            Dish dish = restaurant != null ? restaurant.getMenuSnapshot().findDish(dishId).orElse(null) : null;
+            if (dish == null) {
+                dish = Dish.builder()
+                        .id(dishId)
+                        .name(dishName)
+                        .price(Money.ofCents(unitPriceCents))
+                        .category(category)
+                        .available(false)
+                        .restaurantId(restaurant != null ? restaurant.getId() : null)
+                        .build();
+            }
+            OrderItem item = new OrderItem(dish, quantity);
+            item.setUnitPrice(Money.ofCents(unitPriceCents));
+            item.setTotalPrice(Money.ofCents(totalPriceCents));
+            return item;
+        }
+    }
+
+    private record OrderRecord(String orderId,
+                               UUID userId, String userEmail, String userName, CreditAccount.Snapshot credit,
+                               UUID restaurantId, String restaurantName, String restaurantAddress,
+                               List<ItemRecord> items, OrderStatus status, long totalCents,
+                               LocalDateTime orderDateTime, LocalDateTime deliveryTime,
+                               PaymentMethod paymentMethod, UUID deliverySlotId,
+                               LocalDateTime deliverySlotReservedAt) {
+
+        static OrderRecord read(RecordCodec.Reader reader) {
+            String orderId = reader.readString();
+            boolean hasUser = reader.readBoolean();
+            UUID userId = hasUser ? reader.readUuid() : null;
+            String userEmail = hasUser ? reader.readString() : null;
+            String userName = hasUser ? reader.readString() : null;
+            CreditAccount.Snapshot credit = hasUser ? new CreditAccount.Snapshot(reader.readLong(), reader.readLong()) : null;
+            boolean hasRestaurant = reader.readBoolean();
+            UUID restaurantId = hasRestaurant ? reader.readUuid() : null;
+            String restaurantName = hasRestaurant ? reader.readString() : null;
+            String restaurantAddress = hasRestaurant ? reader.readString() : null;
+
+            int itemCount = reader.readInt();
+            List<ItemRecord> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(new ItemRecord(reader.readUuid(), reader.readString(), reader.readEnum(DishCategory.class),
+                        reader.readInt(), reader.readLong(), reader.readLong()));
+            }
+
+            return new OrderRecord(orderId, userId, userEmail, userName, credit,
+                    restaurantId, restaurantName, restaurantAddress, items,
+                    reader.readEnum(OrderStatus.class), reader.readLong(),
+                    reader.readDateTime(), reader.readDateTime(),
+                    reader.readEnum(PaymentMethod.class), reader.readUuid(), reader.readDateTime());
+        }
+
+        /**
+         * @param advancedUsers reçoit les utilisateurs du repository dont le compte a été avancé
+         *                      à l'état journalisé avec la commande
+         */
+        Order restore(UserRepository userRepository, RestaurantRepository restaurantRepository,
+                      Map<UUID, User> advancedUsers) {
+            User user = null;
+            if (userId != null) {
+                user = userRepository.findById(userId).orElse(null);
+                if (user == null) {
+                    user = new User(userId, userEmail, userName, new CreditAccount(credit));
+                } else if (user.getCreditAccount().restoreIfNewer(credit)) {
+                    advancedUsers.put(userId, user);
+                }
+            }
+            Restaurant restaurant = restaurantId == null ? null : restaurantRepository.findById(restaurantId)
+                    .orElseGet(() -> Restaurant.builder()
+                            .id(restaurantId)
+                            .name(restaurantName)
+                            .address(restaurantAddress)
+                            .isOpen(false)
+                            .build());
+
+            List<OrderItem> orderItems = new ArrayList<>(items.size());
+            for (ItemRecord item : items) {
+                orderItems.add(item.restore(restaurant));
+            }
+
+            Order order = new Order(user, restaurant, orderItems, paymentMethod);
+            order.setOrderId(orderId);
+            order.setStatus(status);
+            order.setTotalAmount(Money.ofCents(totalCents));
+            order.setOrderDateTime(orderDateTime);
+            order.setDeliveryTime(deliveryTime);
+            order.setDeliverySlotId(deliverySlotId);
+            order.setDeliverySlotReservedAt(deliverySlotReservedAt);
+            return order;
+        }
+    }
+}
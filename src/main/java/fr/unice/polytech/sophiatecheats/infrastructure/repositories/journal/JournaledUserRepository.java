@@ -0,0 +1,117 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.user.CreditAccount;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.StudentCreditLedger;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryUserRepository;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repository utilisateur persistant : les lectures sont servies par la mémoire,
+ * chaque écriture est d'abord rendue durable dans un {@link Journal}.
+ *
+ * <p>Un enregistrement décrit l'état complet de l'utilisateur au moment du {@link #save(User)},
+ * solde et version du compte de crédit étudiant compris. Au démarrage, le dernier instantané
+ * est relu puis le journal qui le suit est rejoué ; seul le dernier état de chaque utilisateur
+ * est gardé. Le journal des commandes porte aussi l'état du compte après chaque paiement
+ * par crédit : {@link JournaledOrderRepository} y reprend les versions plus récentes.</p>
+ */
+public final class JournaledUserRepository extends InMemoryUserRepository implements Snapshottable, Closeable {
+
+    private static final byte USER_SAVED = 1;
+    private static final byte USER_DELETED = 2;
+    private static final byte USERS_CLEARED = 3;
+
+    private final JournalStore store;
+
+    public JournaledUserRepository(Path file) {
+        this(file, new StudentCreditLedger());
+    }
+
+    public JournaledUserRepository(Path file, StudentCreditLedger creditLedger) {
+        super(false, creditLedger);
+        Map<UUID, User> replayed = new LinkedHashMap<>();
+        this.store = new JournalStore(file, record -> replay(record, replayed));
+        replayed.values().forEach(super::save);
+    }
+
+    @Override
+    public User save(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        return store.write(() -> encode(user), () -> super.save(user));
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        if (!existsById(id)) {
+            return false;
+        }
+        return store.write(() -> new RecordCodec.Writer(USER_DELETED).writeUuid(id).toByteArray(),
+                () -> super.deleteById(id));
+    }
+
+    @Override
+    public void clear() {
+        store.write(() -> new RecordCodec.Writer(USERS_CLEARED).toByteArray(), () -> {
+            super.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public void snapshot() {
+        store.snapshot(this::findAll, JournaledUserRepository::encode);
+    }
+
+    @Override
+    public long journalSize() {
+        return store.journal().size();
+    }
+
+    /**
+     * Journal sous-jacent, exposé pour la supervision (taille, nombre de forçages).
+     */
+    public Journal journal() {
+        return store.journal();
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private static byte[] encode(User user) {
+        CreditAccount.Snapshot credit = user.getCreditAccount().snapshot();
+        return new RecordCodec.Writer(USER_SAVED)
+                .writeUuid(user.getId())
+                .writeString(user.getEmail())
+                .writeString(user.getName())
+                .writeLong(credit.cents())
+                .writeLong(credit.version())
+                .toByteArray();
+    }
+
+    private static void replay(ByteBuffer record, Map<UUID, User> users) {
+        RecordCodec.Reader reader = new RecordCodec.Reader(record);
+        switch (reader.readByte()) {
+            case USER_SAVED -> {
+                UUID id = reader.readUuid();
+                String email = reader.readString();
+                String name = reader.readString();
+                CreditAccount.Snapshot credit = new CreditAccount.Snapshot(reader.readLong(), reader.readLong());
+                users.put(id, new User(id, email, name, new CreditAccount(credit)));
+            }
+            case USER_DELETED -> users.remove(reader.readUuid());
+            case USERS_CLEARED -> users.clear();
+            default -> throw new IllegalStateException("Enregistrement utilisateur inconnu dans le journal");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Lecture et écriture des champs des enregistrements du journal.
+ *
+ * <p>Les valeurs facultatives sont précédées d'un booléen de présence. Les dates sont
+ * écrites en secondes et nanosecondes, sans fuseau, comme les {@link LocalDateTime}
+ * qu'elles représentent. Les énumérations sont écrites par nom, pour qu'un journal
+ * reste lisible si l'ordre de leurs constantes change.</p>
+ */
+final class RecordCodec {
+
+    private RecordCodec() {
+    }
+
+    static final class Writer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        Writer(byte type) {
+            writeByte(type);
+        }
+
+        Writer writeByte(int value) {
+            try {
+                out.writeByte(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        Writer writeInt(int value) {
+            try {
+                out.writeInt(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        Writer writeLong(long value) {
+            try {
+                out.writeLong(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        Writer writeBoolean(boolean value) {
+            return writeByte(value ? 1 : 0);
+        }
+
+        Writer writeString(String value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                try {
+                    out.writeUTF(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this;
+        }
+
+        Writer writeUuid(UUID value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeLong(value.getMostSignificantBits());
+                writeLong(value.getLeastSignificantBits());
+            }
+            return this;
+        }
+
+        Writer writeDateTime(LocalDateTime value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeLong(value.toEpochSecond(ZoneOffset.UTC));
+                writeInt(value.getNano());
+            }
+            return this;
+        }
+
+        <E extends Enum<E>> Writer writeEnum(E value) {
+            return writeString(value != null ? value.name() : null);
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    static final class Reader {
+        private final DataInputStream in;
+
+        Reader(ByteBuffer record) {
+            this.in = new DataInputStream(new InputStream() {
+                @Override
+                public int read() {
+                    return record.hasRemaining() ? record.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (!record.hasRemaining()) {
+                        return -1;
+                    }
+                    int n = Math.min(len, record.remaining());
+                    record.get(b, off, n);
+                    return n;
+                }
+            });
+        }
+
+        byte readByte() {
+            try {
+                return in.readByte();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int readInt() {
+            try {
+                return in.readInt();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long readLong() {
+            try {
+                return in.readLong();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        String readString() {
+            if (!readBoolean()) {
+                return null;
+            }
+            try {
+                return in.readUTF();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        UUID readUuid() {
+            return readBoolean() ? new UUID(readLong(), readLong()) : null;
+        }
+
+        LocalDateTime readDateTime() {
+            return readBoolean() ? LocalDateTime.ofEpochSecond(readLong(), readInt(), ZoneOffset.UTC) : null;
+        }
+
+        <E extends Enum<E>> E readEnum(Class<E> type) {
+            String name = readString();
+            return name != null ? Enum.valueOf(type, name) : null;
+        }
+    }
+}
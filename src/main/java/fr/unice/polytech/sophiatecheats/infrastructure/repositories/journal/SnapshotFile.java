@@ -0,0 +1,102 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Instantané de l'état d'un repository journalisé.
+ *
+ * <p>Le fichier contient la position du journal couverte par l'instantané, le nombre
+ * d'enregistrements, puis les enregistrements eux-mêmes, encadrés comme dans le {@link Journal}.
+ * Il est écrit à côté puis renommé de façon atomique, et le répertoire est forcé après le
+ * renommage : un instantané présent est toujours complet, et toute incohérence à la lecture
+ * est une erreur.</p>
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x53545331; // "STS1"
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Passe chaque enregistrement de l'instantané à {@code replay}.
+     *
+     * @return la position du journal couverte, 0 s'il n'y a pas d'instantané
+     * @throws UncheckedIOException si l'instantané est illisible ou corrompu
+     */
+    static long read(Path file, Consumer<ByteBuffer> replay) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Le fichier " + file + " n'est pas un instantané");
+            }
+            long coveredOffset = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || length > Journal.MAX_RECORD_SIZE) {
+                    throw new IOException("Enregistrement invalide dans l'instantané " + file);
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                if (Journal.checksum(record) != checksum) {
+                    throw new IOException("Somme de contrôle invalide dans l'instantané " + file);
+                }
+                replay.accept(ByteBuffer.wrap(record).asReadOnlyBuffer());
+            }
+            return coveredOffset;
+        } catch (EOFException e) {
+            throw new UncheckedIOException("Instantané tronqué: " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture impossible de l'instantané " + file, e);
+        }
+    }
+
+    /**
+     * Écrit l'instantané formé des enregistrements donnés, couvrant le journal jusqu'à
+     * {@code coveredOffset}. Au retour, l'instantané survit à un arrêt brutal.
+     *
+     * @throws UncheckedIOException si l'écriture ou le renommage échoue
+     */
+    static void write(Path file, long coveredOffset, Collection<byte[]> records) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeLong(coveredOffset);
+            out.writeInt(records.size());
+            for (byte[] record : records) {
+                out.write(Journal.frame(record).array());
+            }
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible de l'instantané " + file, e);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Journal.forceDirectory(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Remplacement impossible de l'instantané " + file, e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+/**
+ * Repository journalisé dont le journal peut être résumé par un instantané.
+ */
+public interface Snapshottable {
+
+    /**
+     * Écrit un instantané de l'état courant puis compacte le journal qu'il couvre.
+     */
+    void snapshot();
+
+    /**
+     * Taille en octets du journal écrit depuis le dernier instantané.
+     */
+    long journalSize();
+}
@@ -0,0 +1,43 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.mapped;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.SlotState;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Mot d'état d'un créneau stocké dans un fichier projeté en mémoire.
+ *
+ * <p>Les accès passent par une vue {@link VarHandle} du tampon : lectures et écritures
+ * volatiles, compare-and-set atomique sur l'adresse alignée du mot. Une réservation met
+ * donc à jour le fichier directement, sans sérialisation.</p>
+ */
+final class MappedSlotState implements SlotState {
+
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteBuffer segment;
+    private final int offset;
+
+    MappedSlotState(ByteBuffer segment, int offset) {
+        this.segment = segment;
+        this.offset = offset;
+    }
+
+    @Override
+    public long get() {
+        return (long) LONG.getVolatile(segment, offset);
+    }
+
+    @Override
+    public void set(long value) {
+        LONG.setVolatile(segment, offset, value);
+    }
+
+    @Override
+    public boolean compareAndSet(long expected, long updated) {
+        return LONG.compareAndSet(segment, offset, expected, updated);
+    }
+}
@@ -0,0 +1,279 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.mapped;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.SlotState;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.repositories.TimeSlotRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dépôt de créneaux de livraison dont les compteurs de capacité vivent dans un fichier
+ * projeté en mémoire.
+ *
+ * <p>Chaque créneau sauvegardé occupe un enregistrement de 64 octets (une ligne de cache),
+ * et son {@link SlotState} est le premier mot de cet enregistrement : les réservations,
+ * libérations et changements de capacité sont des compare-and-set directement dans le
+ * fichier. Ils survivent à un redémarrage du processus sans sérialisation ; {@link #force()}
+ * les écrit sur disque. Les créneaux obtenus par {@link #findById(UUID)} ou passés à
+ * {@link #save(TimeSlot)} partagent ce stockage.</p>
+ *
+ * <h3>Format du fichier (petit-boutiste)</h3>
+ * <pre>
+ * en-tête (64 octets) : int magic "STSL" | int version | int taille d'un enregistrement | int enregistrements par segment
+ * enregistrement (64 octets, aligné sur 64) :
+ *   0  long  état : bit 63 désactivé, bit 62 déplacé, bits 32-61 capacité maximale, bits 0-31 réservations
+ *   8  long  id du créneau (bits de poids fort)     16 long id du créneau (poids faible)
+ *   24 long  id du restaurant (bits de poids fort)  32 long id du restaurant (poids faible)
+ *   40 long  début, secondes depuis 1970-01-01T00:00 (sans fuseau)
+ *   48 int   début, nanosecondes
+ *   52 int   durée en secondes (fin - début)
+ *   56 int   fin, nanosecondes
+ *   60 int   drapeaux : bit 0 = enregistrement occupé
+ * </pre>
+ * <p>Le fichier grandit par segments de {@value #RECORDS_PER_SEGMENT} enregistrements ; un
+ * enregistrement n'est marqué occupé qu'une fois tous ses champs écrits.</p>
+ */
+public class MappedTimeSlotRepository implements TimeSlotRepository, Closeable {
+
+    static final int RECORD_SIZE = 64;
+    static final int HEADER_SIZE = RECORD_SIZE;
+    static final int RECORDS_PER_SEGMENT = 1024;
+    static final int SEGMENT_SIZE = RECORDS_PER_SEGMENT * RECORD_SIZE;
+
+    private static final int MAGIC = 0x4C535453; // "STSL" en petit-boutiste
+    private static final int VERSION = 1;
+    private static final int IN_USE = 1;
+
+    private static final int STATE = 0;
+    private static final int SLOT_ID = 8;
+    private static final int RESTAURANT_ID = 24;
+    private static final int START_SECONDS = 40;
+    private static final int START_NANOS = 48;
+    private static final int DURATION_SECONDS = 52;
+    private static final int END_NANOS = 56;
+    private static final int FLAGS = 60;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<UUID, TimeSlot> slots = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> recordBySlot = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeRecords = new ArrayDeque<>();
+
+    /**
+     * Ouvre (ou crée) la table et recharge les créneaux qu'elle contient.
+     *
+     * @throws UncheckedIOException si le fichier ne peut pas être projeté ou n'est pas une table de créneaux
+     */
+    public MappedTimeSlotRepository(Path file) {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            openHeader();
+            long segmentCount = (channel.size() - HEADER_SIZE + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+            for (int i = 0; i < segmentCount; i++) {
+                mapSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir la table des créneaux " + file, e);
+        }
+        for (int record = 0; record < segments.size() * RECORDS_PER_SEGMENT; record++) {
+            if (isInUse(record)) {
+                TimeSlot slot = restore(record);
+                slots.put(slot.getId(), slot);
+                recordBySlot.put(slot.getId(), record);
+            } else {
+                freeRecords.addLast(record);
+            }
+        }
+    }
+
+    @Override
+    public List<TimeSlot> findAvailableSlots(LocalDate date) {
+        return slots.values().stream()
+                .filter(slot -> slot.getStartTime().toLocalDate().equals(date))
+                .filter(TimeSlot::isAvailable)
+                .toList();
+    }
+
+    /**
+     * Enregistre le créneau et place son état dans la table ; le créneau continue
+     * ensuite de lire et modifier ses compteurs dans le fichier.
+     */
+    @Override
+    public synchronized TimeSlot save(TimeSlot slot) {
+        if (slot == null) {
+            throw new IllegalArgumentException("Le créneau ne peut pas être null");
+        }
+        if (slots.get(slot.getId()) == slot) {
+            return slot;
+        }
+        Integer existing = recordBySlot.get(slot.getId());
+        int record = existing != null ? existing : allocate();
+        ByteBuffer segment = segmentOf(record);
+        int offset = offsetOf(record);
+        if (existing == null) {
+            INT.setVolatile(segment, offset + FLAGS, 0);
+        }
+        writeDescription(segment, offset, slot);
+        slot.bindState(new MappedSlotState(segment, offset + STATE));
+        INT.setRelease(segment, offset + FLAGS, IN_USE);
+        slots.put(slot.getId(), slot);
+        recordBySlot.put(slot.getId(), record);
+        return slot;
+    }
+
+    @Override
+    public void update(TimeSlot slot) {
+        save(slot);
+    }
+
+    @Override
+    public Optional<TimeSlot> findById(UUID id) {
+        return id != null ? Optional.ofNullable(slots.get(id)) : Optional.empty();
+    }
+
+    @Override
+    public List<TimeSlot> findAll() {
+        return new ArrayList<>(slots.values());
+    }
+
+    @Override
+    public synchronized boolean deleteById(UUID id) {
+        TimeSlot removed = id != null ? slots.remove(id) : null;
+        if (removed == null) {
+            return false;
+        }
+        int record = recordBySlot.remove(id);
+        // Le créneau retiré garde ses compteurs, mais hors de l'enregistrement libéré
+        removed.bindState(SlotState.inMemory(0));
+        INT.setRelease(segmentOf(record), offsetOf(record) + FLAGS, 0);
+        freeRecords.addFirst(record);
+        return true;
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return id != null && slots.containsKey(id);
+    }
+
+    /**
+     * Écrit sur disque les pages modifiées de la table.
+     */
+    public synchronized void force() {
+        segments.forEach(MappedByteBuffer::force);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Fermeture impossible de la table des créneaux " + file, e);
+        }
+    }
+
+    private void openHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.size() < HEADER_SIZE) {
+            header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(RECORDS_PER_SEGMENT).clear();
+            channel.write(header, 0);
+            channel.force(true);
+            return;
+        }
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // lecture de l'en-tête complet
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION
+                || header.getInt() != RECORD_SIZE || header.getInt() != RECORDS_PER_SEGMENT) {
+            throw new IOException("Le fichier " + file + " n'est pas une table de créneaux compatible");
+        }
+    }
+
+    private int allocate() {
+        if (freeRecords.isEmpty()) {
+            int first = segments.size() * RECORDS_PER_SEGMENT;
+            try {
+                mapSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible d'agrandir la table des créneaux " + file, e);
+            }
+            for (int record = first; record < first + RECORDS_PER_SEGMENT; record++) {
+                freeRecords.addLast(record);
+            }
+        }
+        return freeRecords.pollFirst();
+    }
+
+    private void mapSegment() throws IOException {
+        long position = HEADER_SIZE + (long) segments.size() * SEGMENT_SIZE;
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segments.add(segment);
+    }
+
+    private ByteBuffer segmentOf(int record) {
+        return segments.get(record / RECORDS_PER_SEGMENT);
+    }
+
+    private static int offsetOf(int record) {
+        return (record % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+    }
+
+    private boolean isInUse(int record) {
+        return ((int) INT.getAcquire(segmentOf(record), offsetOf(record) + FLAGS) & IN_USE) != 0;
+    }
+
+    private static void writeDescription(ByteBuffer segment, int offset, TimeSlot slot) {
+        LocalDateTime start = slot.getStartTime();
+        LocalDateTime end = slot.getEndTime();
+        long startSeconds = start.toEpochSecond(ZoneOffset.UTC);
+        segment.putLong(offset + SLOT_ID, slot.getId().getMostSignificantBits());
+        segment.putLong(offset + SLOT_ID + 8, slot.getId().getLeastSignificantBits());
+        segment.putLong(offset + RESTAURANT_ID, slot.getRestaurantId().getMostSignificantBits());
+        segment.putLong(offset + RESTAURANT_ID + 8, slot.getRestaurantId().getLeastSignificantBits());
+        segment.putLong(offset + START_SECONDS, startSeconds);
+        segment.putInt(offset + START_NANOS, start.getNano());
+        segment.putInt(offset + DURATION_SECONDS, Math.toIntExact(end.toEpochSecond(ZoneOffset.UTC) - startSeconds));
+        segment.putInt(offset + END_NANOS, end.getNano());
+    }
+
+    private TimeSlot restore(int record) {
+        ByteBuffer segment = segmentOf(record);
+        int offset = offsetOf(record);
+        long startSeconds = segment.getLong(offset + START_SECONDS);
+        LocalDateTime start = LocalDateTime.ofEpochSecond(startSeconds, segment.getInt(offset + START_NANOS), ZoneOffset.UTC);
+        LocalDateTime end = LocalDateTime.ofEpochSecond(startSeconds + segment.getInt(offset + DURATION_SECONDS),
+                segment.getInt(offset + END_NANOS), ZoneOffset.UTC);
+        return TimeSlot.builder()
+                .id(new UUID(segment.getLong(offset + SLOT_ID), segment.getLong(offset + SLOT_ID + 8)))
+                .restaurantId(new UUID(segment.getLong(offset + RESTAURANT_ID), segment.getLong(offset + RESTAURANT_ID + 8)))
+                .startTime(start)
+                .endTime(end)
+                .state(new MappedSlotState(segment, offset + STATE))
+                .build();
+    }
+}
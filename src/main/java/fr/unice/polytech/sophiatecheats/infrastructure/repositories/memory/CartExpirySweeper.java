@@ -0,0 +1,81 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
+
+import fr.unice.polytech.sophiatecheats.domain.repositories.CartRepository;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tâche de fond qui supprime périodiquement les paniers expirés.
+ *
+ * <p>Le balayage s'exécute sur un thread démon dédié, à la période configurée.
+ * Une erreur lors d'un passage n'interrompt pas les passages suivants.</p>
+ */
+public class CartExpirySweeper implements AutoCloseable {
+
+    public static final Duration DEFAULT_PERIOD = Duration.ofSeconds(30);
+
+    private final CartRepository cartRepository;
+    private final Duration period;
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> task;
+
+    public CartExpirySweeper(CartRepository cartRepository, Duration period) {
+        if (cartRepository == null) {
+            throw new IllegalArgumentException("Le repository de paniers est requis");
+        }
+        if (period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("La période de nettoyage doit être strictement positive");
+        }
+        this.cartRepository = cartRepository;
+        this.period = period;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Démarre le balayage périodique. Sans effet s'il est déjà démarré.
+     */
+    public synchronized void start() {
+        if (task != null) {
+            return;
+        }
+        long periodNanos = period.toNanos();
+        task = executor.scheduleAtFixedRate(this::sweepSafely, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Exécute un passage de nettoyage immédiatement.
+     *
+     * @return le nombre de paniers supprimés
+     */
+    public int sweep() {
+        return cartRepository.deleteExpiredCarts();
+    }
+
+    public synchronized boolean isRunning() {
+        return task != null && !task.isCancelled();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (task != null) {
+            task.cancel(false);
+        }
+        executor.shutdownNow();
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // Un passage en échec ne doit pas annuler les suivants
+        }
+    }
+}
@@ -3,11 +3,11 @@ package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
 import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
 import fr.unice.polytech.sophiatecheats.domain.repositories.CartRepository;
 
-import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongSupplier;
 
 /**
  * Implémentation en mémoire du repository de panier.
@@ -15,20 +15,46 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>Cette implémentation stocke les paniers en mémoire avec gestion
  * des sessions et nettoyage automatique des paniers expirés.</p>
  *
+ * <p>La dernière activité de chaque panier (nanos d'une horloge monotone) est tenue dans
+ * une table concurrente : une consultation ne met à jour que l'horodatage de son panier,
+ * sans verrou global. Les échéances sont rangées dans une file triée, vérifiée
+ * paresseusement par le nettoyage : une entrée échue dont le panier a servi depuis est
+ * replacée à sa nouvelle échéance, si bien que le nettoyage s'arrête à la première
+ * échéance future et ne traite que les paniers effectivement candidats.</p>
+ *
  * @author SophiaTech Eats Backend Team
  * @since 1.0
  */
 public class InMemoryCartRepository extends InMemoryRepository<Cart, UUID> implements CartRepository {
 
-    private final Map<UUID, UUID> userCartMapping;
-    private final Map<UUID, LocalDateTime> cartLastActivity;
-    private static final int EXPIRY_MINUTES = 5;  // Panier expire après 5 minutes d'inactivité
+    public static final Duration DEFAULT_EXPIRY = Duration.ofMinutes(5);  // Panier expire après 5 minutes d'inactivité
 
+    private final Map<UUID, UUID> userCartMapping;
+    /** cartId -> dernière activité (nanos monotones) ; les mises à jour d'un panier sont atomiques par clé */
+    private final ConcurrentHashMap<UUID, Long> cartLastActivity;
+    /** Échéances connues, de la plus ancienne à la plus récente ; une entrée peut être périmée */
+    private final ConcurrentSkipListSet<Expiry> expiryQueue;
+    private final long expiryNanos;
+    private final LongSupplier nanoClock;
 
     public InMemoryCartRepository() {
+        this(DEFAULT_EXPIRY);
+    }
+
+    public InMemoryCartRepository(Duration expiry) {
+        this(expiry, System::nanoTime);
+    }
+
+    InMemoryCartRepository(Duration expiry, LongSupplier nanoClock) {
         super();
+        if (expiry == null || expiry.isNegative()) {
+            throw new IllegalArgumentException("Le délai d'expiration doit être positif");
+        }
         this.userCartMapping = new ConcurrentHashMap<>();
         this.cartLastActivity = new ConcurrentHashMap<>();
+        this.expiryQueue = new ConcurrentSkipListSet<>();
+        this.expiryNanos = expiry.toNanos();
+        this.nanoClock = nanoClock;
     }
 
     @Override
@@ -45,7 +71,7 @@ public class InMemoryCartRepository extends InMemoryRepository<Cart, UUID> imple
         Optional<Cart> cart = findById(cartId);
         if (cart.isPresent()) {
             // Mettre à jour l'activité
-            cartLastActivity.put(cartId, LocalDateTime.now());
+            touch(cartId);
         }
 
         return cart;
@@ -62,16 +88,19 @@ public class InMemoryCartRepository extends InMemoryRepository<Cart, UUID> imple
             return null;
         }
 
-        // Sauvegarder le panier
-        Cart savedCart = super.save(cart);
-
-        // Maintenir le mapping utilisateur -> panier
-        userCartMapping.put(cart.getUserId(), cart.getId());
-
-        // Mettre à jour l'activité
-        cartLastActivity.put(cart.getId(), LocalDateTime.now());
-
-        return savedCart;
+        long now = nanoClock.getAsLong();
+        // Le calcul sur la clé du panier l'ordonne par rapport au nettoyage et aux suppressions
+        cartLastActivity.compute(cart.getId(), (cartId, lastActivity) -> {
+            // Sauvegarder le panier
+            super.save(cart);
+            // Maintenir le mapping utilisateur -> panier
+            userCartMapping.put(cart.getUserId(), cartId);
+            if (lastActivity == null) {
+                expiryQueue.add(new Expiry(now, cartId));
+            }
+            return now;
+        });
+        return cart;
     }
 
     @Override
@@ -79,33 +108,42 @@ public class InMemoryCartRepository extends InMemoryRepository<Cart, UUID> imple
         if (cartId == null) {
             return false;
         }
-        Optional<Cart> cart = findById(cartId);
-        if (cart.isPresent()) {
-            userCartMapping.remove(cart.get().getUserId());
-            cartLastActivity.remove(cartId);
-            return super.deleteById(cartId);
-        }
-        return false;
+        boolean[] deleted = new boolean[1];
+        cartLastActivity.compute(cartId, (id, lastActivity) -> {
+            deleted[0] = remove(id);
+            return null;
+        });
+        return deleted[0];
     }
 
     @Override
     public int deleteExpiredCarts() {
-        LocalDateTime expiryThreshold = LocalDateTime.now().minusMinutes(EXPIRY_MINUTES);
-        int deletedCount = 0;
-
-        // Trouver les paniers expirés
-        var expiredCarts = cartLastActivity.entrySet().stream()
-            .filter(entry -> entry.getValue().isBefore(expiryThreshold))
-            .map(Map.Entry::getKey)
-            .toList();
-
-        // Supprimer les paniers expirés
-        for (UUID cartId : expiredCarts) {
-            deleteById(cartId);
-            deletedCount++;
+        long now = nanoClock.getAsLong();
+        int[] deletedCount = new int[1];
+
+        for (Iterator<Expiry> it = expiryQueue.iterator(); it.hasNext(); ) {
+            Expiry due = it.next();
+            // Les échéances suivantes sont plus tardives : rien d'autre n'a expiré
+            if (now - due.at() < expiryNanos) {
+                break;
+            }
+            if (!expiryQueue.remove(due)) {
+                continue;
+            }
+            cartLastActivity.computeIfPresent(due.cartId(), (cartId, lastActivity) -> {
+                if (now - lastActivity < expiryNanos) {
+                    // Utilisé depuis : replacer le panier à sa nouvelle échéance
+                    expiryQueue.add(new Expiry(lastActivity, cartId));
+                    return lastActivity;
+                }
+                if (remove(cartId)) {
+                    deletedCount[0]++;
+                }
+                return null;
+            });
         }
 
-        return deletedCount;
+        return deletedCount[0];
     }
 
     @Override
@@ -120,4 +158,42 @@ public class InMemoryCartRepository extends InMemoryRepository<Cart, UUID> imple
         }
     }
 
+    @Override
+    public void clear() {
+        cartLastActivity.clear();
+        expiryQueue.clear();
+        userCartMapping.clear();
+        super.clear();
+    }
+
+    private void touch(UUID cartId) {
+        // Un panier supprimé entre-temps ne doit pas réapparaître dans la table
+        cartLastActivity.computeIfPresent(cartId, (id, lastActivity) -> nanoClock.getAsLong());
+    }
+
+    /**
+     * Retire le panier et, s'il est toujours le panier courant de son utilisateur, le mapping associé.
+     * Appelé sous le calcul de la clé du panier dans {@link #cartLastActivity}.
+     */
+    private boolean remove(UUID cartId) {
+        Cart cart = storage.remove(cartId);
+        if (cart == null) {
+            return false;
+        }
+        // Ne pas détacher l'utilisateur d'un panier plus récent
+        userCartMapping.remove(cart.getUserId(), cartId);
+        return true;
+    }
+
+    /**
+     * Échéance d'un panier dans la file de nettoyage, ordonnée par date d'activité.
+     */
+    private record Expiry(long at, UUID cartId) implements Comparable<Expiry> {
+        @Override
+        public int compareTo(Expiry other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : cartId.compareTo(other.cartId);
+        }
+    }
+
 }
@@ -1,38 +1,131 @@
 package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.OrderStatusListener;
 import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
 
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * In-memory implementation of OrderRepository for MVP.
+ *
+ * <p>Maintains a status -> order ids index and a user -> active order ids index,
+ * kept up to date through {@link OrderStatusListener} notifications, so that
+ * status and active-order queries do not scan every stored order.</p>
  */
 public class InMemoryOrderRepository extends InMemoryRepository<Order, String> implements OrderRepository {
 
+    private static final Set<OrderStatus> ACTIVE_STATUSES =
+            EnumSet.of(OrderStatus.PENDING, OrderStatus.CREATED, OrderStatus.PAID);
+
+    private final Map<OrderStatus, Set<String>> orderIdsByStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<UUID, Set<String>> activeOrderIdsByUser = new ConcurrentHashMap<>();
+    private final OrderStatusListener indexer = (order, previous, current) -> {
+        unindex(order, previous);
+        index(order, current);
+    };
+
+    public InMemoryOrderRepository() {
+        for (OrderStatus status : OrderStatus.values()) {
+            orderIdsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
     @Override
     protected String extractId(Order order) {
         return order.getOrderId();
     }
 
     @Override
-    public boolean existsActiveOrderByUserId(UUID userId) {
-        for (Order order : storage.values()) {
-            if (order.getUser().getId().equals(userId) &&
-                    (order.getStatus() == OrderStatus.PENDING || order.getStatus() == OrderStatus.CREATED || order.getStatus() == OrderStatus.PAID)) {
-                return true;
+    public Order save(Order order) {
+        Order previous = order != null && order.getOrderId() != null ? storage.get(order.getOrderId()) : null;
+        Order saved = super.save(order);
+        if (previous != order) {
+            if (previous != null) {
+                previous.removeStatusListener(indexer);
+                unindex(previous, previous.getStatus());
             }
+            order.addStatusListener(indexer);
+            index(order, order.getStatus());
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        Order removed = id != null ? storage.remove(id) : null;
+        if (removed == null) {
+            return false;
         }
-        return false;
+        removed.removeStatusListener(indexer);
+        unindex(removed, removed.getStatus());
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        storage.values().forEach(order -> order.removeStatusListener(indexer));
+        orderIdsByStatus.values().forEach(Set::clear);
+        activeOrderIdsByUser.clear();
+        super.clear();
+    }
+
+    @Override
+    public boolean existsActiveOrderByUserId(UUID userId) {
+        if (userId == null) {
+            return false;
+        }
+        Set<String> active = activeOrderIdsByUser.get(userId);
+        return active != null && !active.isEmpty();
     }
 
     @Override
     public List<Order> findAllByStatus(OrderStatus status) {
-        return storage.values().stream()
-                .filter(order -> order.getStatus() == status)
-                .collect(Collectors.toList());
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        List<Order> orders = new ArrayList<>();
+        for (String id : orderIdsByStatus.get(status)) {
+            Order order = storage.get(id);
+            if (order != null) {
+                orders.add(order);
+            }
+        }
+        return orders;
+    }
+
+    private void index(Order order, OrderStatus status) {
+        if (status == null) {
+            return;
+        }
+        orderIdsByStatus.get(status).add(order.getOrderId());
+        UUID userId = userIdOf(order);
+        if (userId != null && ACTIVE_STATUSES.contains(status)) {
+            activeOrderIdsByUser.compute(userId, (id, ids) -> {
+                Set<String> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                set.add(order.getOrderId());
+                return set;
+            });
+        }
+    }
+
+    private void unindex(Order order, OrderStatus status) {
+        if (status == null) {
+            return;
+        }
+        orderIdsByStatus.get(status).remove(order.getOrderId());
+        UUID userId = userIdOf(order);
+        if (userId != null && ACTIVE_STATUSES.contains(status)) {
+            activeOrderIdsByUser.computeIfPresent(userId, (id, ids) -> {
+                ids.remove(order.getOrderId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static UUID userIdOf(Order order) {
+        return order.getUser() != null ? order.getUser().getId() : null;
     }
-}
\ No newline at end of file
+}
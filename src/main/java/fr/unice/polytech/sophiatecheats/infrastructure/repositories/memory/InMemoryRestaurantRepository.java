@@ -1,21 +1,75 @@
 package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.DishLocation;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.RestaurantListener;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.DuplicateRestaurantException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantCriteria;
 import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * In-memory implementation of RestaurantRepository for MVP.
  * Contains sample data for testing and development.
+ *
+ * <p>Maintains a dish-id index and secondary indexes (dish category, cuisine type,
+ * restaurant type, diet type, open state) kept up to date through
+ * {@link RestaurantListener} notifications, so that lookups and browse queries
+ * do not scan every menu.</p>
+ *
+ * <p>The same notifications bump {@link #modificationVersion()}, which lets callers
+ * cache browse results until something changes.</p>
+ *
+ * <p>Saves hold the write side of a {@link StampedLock}, so a {@link #saveAll} batch is
+ * published as a whole. Lookups run as optimistic reads and only take the read lock (and
+ * wait for the batch) when a save overlapped them.</p>
  */
 public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant, UUID> implements RestaurantRepository {
-    private final Map<UUID, Restaurant> restaurants = new HashMap<>();
+    private final Map<UUID, Restaurant> restaurants = new ConcurrentHashMap<>();
+    private final Map<UUID, DishLocation> dishIndex = new ConcurrentHashMap<>();
+    private final RestaurantIndex restaurantIndex = new RestaurantIndex();
+    private final AtomicLong version = new AtomicLong();
+    private final StampedLock publication = new StampedLock();
+    private final RestaurantListener indexer = new RestaurantListener() {
+        @Override
+        public void onDishAdded(Restaurant restaurant, Dish dish) {
+            dishIndex.put(dish.getId(), new DishLocation(restaurant, dish));
+            restaurantIndex.index(restaurant);
+            version.incrementAndGet();
+        }
+
+        @Override
+        public void onDishRemoved(Restaurant restaurant, Dish dish) {
+            dishIndex.computeIfPresent(dish.getId(),
+                    (id, location) -> location.restaurant() == restaurant ? null : location);
+            restaurantIndex.index(restaurant);
+            version.incrementAndGet();
+        }
+
+        @Override
+        public void onMenuReplaced(Restaurant restaurant, List<Dish> removed, List<Dish> added) {
+            removed.forEach(dish -> dishIndex.computeIfPresent(dish.getId(),
+                    (id, location) -> location.restaurant() == restaurant ? null : location));
+            added.forEach(dish -> dishIndex.put(dish.getId(), new DishLocation(restaurant, dish)));
+            restaurantIndex.index(restaurant);
+            version.incrementAndGet();
+        }
+
+        @Override
+        public void onRestaurantUpdated(Restaurant restaurant) {
+            restaurantIndex.index(restaurant);
+            version.incrementAndGet();
+        }
+    };
 
     public InMemoryRestaurantRepository() {
         this(true);
@@ -34,29 +88,65 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
 
     @Override
     public List<Restaurant> findByAvailability(boolean isOpen) {
-        return findAll().stream()
-                .filter(restaurant -> restaurant.isOpen() == isOpen)
-                .toList();
+        return read(() -> restaurantIndex.findByAvailability(isOpen));
     }
 
     @Override
     public List<Restaurant> findByDishCategory(DishCategory category) {
-        return findAll().stream()
-                .filter(restaurant -> hasMenuCategory(restaurant, category))
-                .toList();
+        return read(() -> restaurantIndex.findByDishCategory(category, false));
     }
 
     @Override
     public List<Restaurant> findOpenByDishCategory(DishCategory category) {
-        return findAll().stream()
-                .filter(Restaurant::isOpen)
-                .filter(restaurant -> hasMenuCategory(restaurant, category))
-                .toList();
+        return read(() -> restaurantIndex.findByDishCategory(category, true));
     }
 
-    private boolean hasMenuCategory(Restaurant restaurant, DishCategory category) {
-        return restaurant.getMenu().stream()
-                .anyMatch(dish -> dish.getCategory() == category);
+    @Override
+    public List<Restaurant> findByCriteria(RestaurantCriteria criteria) {
+        if (criteria == null) {
+            return findAll();
+        }
+        return read(() -> restaurantIndex.find(criteria));
+    }
+
+    @Override
+    public List<Restaurant> findByCriteriaAfter(RestaurantCriteria criteria, UUID after, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("La limite ne peut pas être négative");
+        }
+        RestaurantCriteria matching = criteria != null ? criteria : RestaurantCriteria.any();
+        return read(() -> restaurantIndex.findAfter(matching, after, limit));
+    }
+
+    @Override
+    public long modificationVersion() {
+        return version.get();
+    }
+
+    @Override
+    public Optional<DishLocation> findDishLocation(UUID dishId) {
+        if (dishId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(read(() -> dishIndex.get(dishId)));
+    }
+
+    /**
+     * Runs a side-effect free lookup optimistically, then again under the read lock if a
+     * save was published meanwhile.
+     */
+    private <T> T read(Supplier<T> lookup) {
+        long stamp = publication.tryOptimisticRead();
+        T result = lookup.get();
+        if (publication.validate(stamp)) {
+            return result;
+        }
+        stamp = publication.readLock();
+        try {
+            return lookup.get();
+        } finally {
+            publication.unlockRead(stamp);
+        }
     }
 
     private void initializeWithSampleData() {
@@ -157,9 +247,96 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
 
     @Override
     public Restaurant save(Restaurant restaurant) {
-        isDuplicate(restaurant, restaurants);
-        storage.put(restaurant.getId(), restaurant);
-        return restaurant;
+        long stamp = publication.writeLock();
+        try {
+            Restaurant previous = restaurants.get(restaurant.getId());
+            isDuplicate(restaurant, restaurants);
+            storage.put(restaurant.getId(), restaurant);
+            if (previous != restaurant) {
+                if (previous != null) {
+                    unindex(previous);
+                }
+                index(restaurant);
+            }
+            version.incrementAndGet();
+            return restaurant;
+        } finally {
+            publication.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Saves a batch of restaurants, typically a whole catalog.
+     *
+     * <p>Duplicates (same name and address, ignoring case) are detected in one pass with a
+     * hash map instead of the scan of every stored restaurant that {@link #save(Restaurant)}
+     * performs on each call. If any restaurant is a duplicate, nothing is stored. The whole
+     * batch is applied under the write lock, so lookups see all of it or none of it, and the
+     * version is bumped once.</p>
+     *
+     * @throws DuplicateRestaurantException if two distinct restaurants share a name and an address
+     */
+    @Override
+    public List<Restaurant> saveAll(Collection<Restaurant> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("La liste des restaurants ne peut pas être null");
+        }
+        Map<UUID, Restaurant> byId = LinkedHashMap.newLinkedHashMap(batch.size());
+        for (Restaurant restaurant : batch) {
+            if (restaurant == null) {
+                throw new IllegalArgumentException("Le restaurant ne peut pas être null");
+            }
+            byId.put(restaurant.getId(), restaurant);
+        }
+        long stamp = publication.writeLock();
+        try {
+            publish(byId);
+        } finally {
+            publication.unlockWrite(stamp);
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    private void publish(Map<UUID, Restaurant> byId) {
+        Map<DuplicateKey, UUID> owners = HashMap.newHashMap(restaurants.size() + byId.size());
+        restaurants.values().stream()
+                .filter(existing -> !byId.containsKey(existing.getId()))
+                .forEach(existing -> owners.put(DuplicateKey.of(existing), existing.getId()));
+        for (Restaurant restaurant : byId.values()) {
+            UUID owner = owners.putIfAbsent(DuplicateKey.of(restaurant), restaurant.getId());
+            if (owner != null && !owner.equals(restaurant.getId())) {
+                throw new DuplicateRestaurantException(restaurant.getName(), restaurant.getAddress());
+            }
+        }
+
+        for (Restaurant restaurant : byId.values()) {
+            Restaurant previous = restaurants.put(restaurant.getId(), restaurant);
+            storage.put(restaurant.getId(), restaurant);
+            if (previous != restaurant) {
+                if (previous != null) {
+                    unindex(previous);
+                }
+                attach(restaurant);
+            }
+        }
+        restaurantIndex.indexAll(byId.values());
+        version.incrementAndGet();
+    }
+
+    private void index(Restaurant restaurant) {
+        attach(restaurant);
+        restaurantIndex.index(restaurant);
+    }
+
+    private void attach(Restaurant restaurant) {
+        restaurant.addListener(indexer);
+        restaurant.getMenu().forEach(dish -> dishIndex.put(dish.getId(), new DishLocation(restaurant, dish)));
+    }
+
+    private void unindex(Restaurant restaurant) {
+        restaurant.removeListener(indexer);
+        restaurant.getMenu().forEach(dish -> dishIndex.computeIfPresent(dish.getId(),
+                (id, location) -> location.restaurant() == restaurant ? null : location));
     }
 
     public static void isDuplicate(Restaurant restaurant, Map<UUID, Restaurant> restaurants) {
@@ -177,12 +354,12 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
 
     @Override
     public Optional<Restaurant> findById(UUID uuid) {
-        return Optional.ofNullable(restaurants.get(uuid));
+        return Optional.ofNullable(read(() -> restaurants.get(uuid)));
     }
 
     @Override
     public List<Restaurant> findAll() {
-        return new ArrayList<>(restaurants.values());
+        return read(() -> new ArrayList<>(restaurants.values()));
     }
 
     @Override
@@ -196,13 +373,41 @@ public class InMemoryRestaurantRepository extends InMemoryRepository<Restaurant,
     }
 
     public void delete(Restaurant restaurant) {
-        restaurants.remove(restaurant.getId());
+        long stamp = publication.writeLock();
+        try {
+            Restaurant removed = restaurants.remove(restaurant.getId());
+            if (removed != null) {
+                unindex(removed);
+                restaurantIndex.remove(removed.getId());
+                version.incrementAndGet();
+            }
+        } finally {
+            publication.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Name and address folded so that equal keys match {@link String#equalsIgnoreCase}.
+     */
+    private record DuplicateKey(String name, String address) {
+
+        static DuplicateKey of(Restaurant restaurant) {
+            return new DuplicateKey(fold(restaurant.getName()), fold(restaurant.getAddress()));
+        }
+
+        private static String fold(String value) {
+            char[] chars = value.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+            }
+            return new String(chars);
+        }
     }
 
     public Restaurant findByName(String name) {
-        return restaurants.values().stream()
+        return read(() -> restaurants.values().stream()
                 .filter(r -> r.getName().equalsIgnoreCase(name))
                 .findFirst()
-                .orElse(null);
+                .orElse(null));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.user.StudentCreditLedger;
 import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
 
@@ -10,13 +11,35 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Implémentation en mémoire du repository utilisateur.
  * Utilisée pour les tests et le développement.
+ *
+ * <p>Le compte de crédit de chaque utilisateur stocké est inscrit dans le
+ * {@link StudentCreditLedger} du repository, et en est retiré à la suppression.</p>
  */
 public class InMemoryUserRepository implements UserRepository {
 
     private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private final StudentCreditLedger creditLedger;
 
     public InMemoryUserRepository() {
-        initializeTestUsers();
+        this(true);
+    }
+
+    public InMemoryUserRepository(boolean withTestUsers) {
+        this(withTestUsers, new StudentCreditLedger());
+    }
+
+    public InMemoryUserRepository(StudentCreditLedger creditLedger) {
+        this(true, creditLedger);
+    }
+
+    public InMemoryUserRepository(boolean withTestUsers, StudentCreditLedger creditLedger) {
+        if (creditLedger == null) {
+            throw new IllegalArgumentException("Le registre de crédit étudiant ne peut pas être null");
+        }
+        this.creditLedger = creditLedger;
+        if (withTestUsers) {
+            initializeTestUsers();
+        }
     }
 
     private void initializeTestUsers() {
@@ -24,9 +47,9 @@ public class InMemoryUserRepository implements UserRepository {
         User student2 = new User(UUID.randomUUID(), "etudiant2@unice.fr", "Marie Martin", new BigDecimal("75.50"));
         User student3 = new User(UUID.randomUUID(), "etudiant3@unice.fr", "Pierre Durand", new BigDecimal("25.00"));
 
-        users.put(student1.getId(), student1);
-        users.put(student2.getId(), student2);
-        users.put(student3.getId(), student3);
+        store(student1);
+        store(student2);
+        store(student3);
     }
 
     @Override
@@ -34,10 +57,15 @@ public class InMemoryUserRepository implements UserRepository {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
-        users.put(user.getId(), user);
+        store(user);
         return user;
     }
 
+    private void store(User user) {
+        users.put(user.getId(), user);
+        creditLedger.register(user);
+    }
+
     @Override
     public Optional<User> findById(UUID id) {
         return Optional.ofNullable(users.get(id));
@@ -57,7 +85,11 @@ public class InMemoryUserRepository implements UserRepository {
 
     @Override
     public boolean deleteById(UUID id) {
-        return users.remove(id) != null;
+        if (id == null || users.remove(id) == null) {
+            return false;
+        }
+        creditLedger.close(id);
+        return true;
     }
 
     @Override
@@ -71,6 +103,14 @@ public class InMemoryUserRepository implements UserRepository {
 
     public void clear() {
         users.clear();
+        creditLedger.clear();
+    }
+
+    /**
+     * Comptes de crédit étudiant des utilisateurs stockés.
+     */
+    public StudentCreditLedger creditLedger() {
+        return creditLedger;
     }
 
     public User createTestUser(String email, String name, BigDecimal credit) {
@@ -0,0 +1,280 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.MenuSnapshot;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantCriteria;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index secondaires inversés des restaurants, sous forme de bitmaps.
+ *
+ * <p>Chaque restaurant indexé reçoit un ordinal dense ; chaque valeur indexée
+ * (catégorie de plat, type de cuisine, type de restaurant, régime, ouverture)
+ * possède un {@link BitSet} des ordinaux correspondants. Une recherche multi-critères
+ * devient ainsi une intersection de bitmaps au lieu d'un parcours de tous les menus.
+ * Les régimes sont indexés sur les seuls plats disponibles, ceux qu'on peut commander.</p>
+ *
+ * <p>Pour les fourchettes de prix, les restaurants sont aussi rangés par prix le plus bas
+ * de leurs plats disponibles : seuls ceux dont ce prix ne dépasse pas la borne haute sont
+ * candidats, puis chaque candidat est vérifié par recherche dichotomique dans son menu
+ * ({@link MenuSnapshot#hasPriceBetween}).</p>
+ *
+ * <p>Les ordinaux sont rangés par identifiant de restaurant : une pagination par curseur
+ * reprend directement après le dernier identifiant rendu ({@link #findAfter}).</p>
+ *
+ * <p>Les écritures (rares) prennent un verrou exclusif, les lectures un verrou partagé.</p>
+ */
+final class RestaurantIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<UUID, Integer> ordinals = new TreeMap<>();
+    private final List<Restaurant> slots = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private final BitSet indexed = new BitSet();
+    private final BitSet open = new BitSet();
+    private final Map<DishCategory, BitSet> byDishCategory = bitmaps(DishCategory.class);
+    private final Map<DishCategory, BitSet> byCuisineType = bitmaps(DishCategory.class);
+    private final Map<RestaurantType, BitSet> byRestaurantType = bitmaps(RestaurantType.class);
+    private final Map<DietType, BitSet> byDietType = bitmaps(DietType.class);
+    private final NavigableMap<Long, BitSet> byLowestPrice = new TreeMap<>();
+    private final Map<Integer, Long> lowestPrices = new HashMap<>();
+
+    private static <E extends Enum<E>> Map<E, BitSet> bitmaps(Class<E> type) {
+        Map<E, BitSet> map = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            map.put(value, new BitSet());
+        }
+        return map;
+    }
+
+    /**
+     * Indexe (ou ré-indexe) un restaurant à partir de son état courant.
+     */
+    void index(Restaurant restaurant) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(restaurant);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexe un lot de restaurants sous un seul verrou exclusif : les recherches voient
+     * tout le lot ou rien.
+     */
+    void indexAll(Collection<Restaurant> restaurants) {
+        lock.writeLock().lock();
+        try {
+            restaurants.forEach(this::indexLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexLocked(Restaurant restaurant) {
+        Integer ordinal = ordinals.get(restaurant.getId());
+        if (ordinal == null) {
+            ordinal = allocateOrdinal();
+            ordinals.put(restaurant.getId(), ordinal);
+        }
+        slots.set(ordinal, restaurant);
+        clearBits(ordinal);
+
+        indexed.set(ordinal);
+        if (restaurant.isOpen()) {
+            open.set(ordinal);
+        }
+        if (restaurant.getCuisineType() != null) {
+            byCuisineType.get(restaurant.getCuisineType()).set(ordinal);
+        }
+        if (restaurant.getRestaurantType() != null) {
+            byRestaurantType.get(restaurant.getRestaurantType()).set(ordinal);
+        }
+        MenuSnapshot menu = restaurant.getMenuSnapshot();
+        setBits(byDishCategory, menu.categoryMask(), ordinal);
+        setBits(byDietType, menu.availableDietTypeMask(), ordinal);
+        OptionalLong lowestPrice = menu.lowestAvailablePriceCents();
+        if (lowestPrice.isPresent()) {
+            lowestPrices.put(ordinal, lowestPrice.getAsLong());
+            byLowestPrice.computeIfAbsent(lowestPrice.getAsLong(), price -> new BitSet()).set(ordinal);
+        }
+    }
+
+    /**
+     * Retire un restaurant de l'index.
+     */
+    void remove(UUID restaurantId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(restaurantId);
+            if (ordinal != null) {
+                clearBits(ordinal);
+                slots.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Restaurants dont le menu contient au moins un plat de la catégorie donnée.
+     * @param openOnly true pour ne garder que les restaurants ouverts
+     */
+    List<Restaurant> findByDishCategory(DishCategory category, boolean openOnly) {
+        if (category == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) byDishCategory.get(category).clone();
+            if (openOnly) {
+                result.and(open);
+            }
+            return collect(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Restaurant> findByAvailability(boolean isOpen) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) indexed.clone();
+            if (isOpen) {
+                result.and(open);
+            } else {
+                result.andNot(open);
+            }
+            return collect(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Restaurant> find(RestaurantCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            return collect(matching(criteria));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restaurants correspondant aux critères, par identifiant croissant.
+     * @param after dernier identifiant déjà rendu, ou null pour partir du premier
+     * @param limit nombre maximal de restaurants rendus
+     */
+    List<Restaurant> findAfter(RestaurantCriteria criteria, UUID after, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet result = matching(criteria);
+            Map<UUID, Integer> candidates = after != null ? ordinals.tailMap(after, false) : ordinals;
+            List<Restaurant> page = new ArrayList<>(Math.min(limit, result.cardinality()));
+            for (Integer ordinal : candidates.values()) {
+                if (page.size() == limit) {
+                    break;
+                }
+                if (result.get(ordinal)) {
+                    page.add(slots.get(ordinal));
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet matching(RestaurantCriteria criteria) {
+        BitSet result = (BitSet) indexed.clone();
+        if (criteria.open() != null) {
+            if (criteria.open()) {
+                result.and(open);
+            } else {
+                result.andNot(open);
+            }
+        }
+        if (criteria.cuisineType() != null) {
+            BitSet cuisine = (BitSet) byCuisineType.get(criteria.cuisineType()).clone();
+            cuisine.or(byDishCategory.get(criteria.cuisineType()));
+            result.and(cuisine);
+        }
+        if (criteria.restaurantType() != null) {
+            result.and(byRestaurantType.get(criteria.restaurantType()));
+        }
+        if (criteria.dietType() != null) {
+            result.and(byDietType.get(criteria.dietType()));
+        }
+        if (criteria.hasPriceRange()) {
+            long minCents = criteria.minPriceCents() != null ? criteria.minPriceCents() : Long.MIN_VALUE;
+            long maxCents = criteria.maxPriceCents() != null ? criteria.maxPriceCents() : Long.MAX_VALUE;
+            filterByPrice(result, minCents, maxCents);
+        }
+        return result;
+    }
+
+    private void filterByPrice(BitSet result, long minCents, long maxCents) {
+        BitSet candidates = new BitSet();
+        for (BitSet bits : byLowestPrice.headMap(maxCents, true).values()) {
+            candidates.or(bits);
+        }
+        result.and(candidates);
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            if (!slots.get(i).getMenuSnapshot().hasPriceBetween(minCents, maxCents)) {
+                result.clear(i);
+            }
+        }
+    }
+
+    // Le bit i du masque correspond à la valeur d'ordinal i (voir Dish#bit)
+    private static <E extends Enum<E>> void setBits(Map<E, BitSet> bitmaps, int mask, int ordinal) {
+        for (Map.Entry<E, BitSet> entry : bitmaps.entrySet()) {
+            if ((mask & (1 << entry.getKey().ordinal())) != 0) {
+                entry.getValue().set(ordinal);
+            }
+        }
+    }
+
+    private int allocateOrdinal() {
+        Integer free = freeOrdinals.poll();
+        if (free != null) {
+            return free;
+        }
+        slots.add(null);
+        return slots.size() - 1;
+    }
+
+    private void clearBits(int ordinal) {
+        indexed.clear(ordinal);
+        open.clear(ordinal);
+        byDishCategory.values().forEach(bits -> bits.clear(ordinal));
+        byCuisineType.values().forEach(bits -> bits.clear(ordinal));
+        byRestaurantType.values().forEach(bits -> bits.clear(ordinal));
+        byDietType.values().forEach(bits -> bits.clear(ordinal));
+        Long lowestPrice = lowestPrices.remove(ordinal);
+        if (lowestPrice != null) {
+            BitSet bits = byLowestPrice.get(lowestPrice);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                byLowestPrice.remove(lowestPrice);
+            }
+        }
+    }
+
+    private List<Restaurant> collect(BitSet bits) {
+        List<Restaurant> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(slots.get(i));
+        }
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package fr.unice.polytech.sophiatecheats;
 
 import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.CartExpirySweeper;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +32,9 @@ class ArchitectureValidationTest {
 
     // Then
     assertThat(config).isNotNull();
+    assertThat(config.getInstance(CartExpirySweeper.class).isRunning())
+            .as("Le nettoyage des paniers expirés doit être démarré")
+            .isTrue();
   }
 
   @Test
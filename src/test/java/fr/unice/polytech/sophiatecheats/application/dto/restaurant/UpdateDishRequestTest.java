@@ -33,7 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
                 dish.getId(),
                 dish.getName(),
                 dish.getDescription(),
-                dish.getPrice(),
+                dish.getPrice().toBigDecimal(),
                 dish.getCategory(),
                 true)
         );
@@ -41,7 +41,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
                 null,
                 dish.getName(),
                 dish.getDescription(),
-                dish.getPrice(),
+                dish.getPrice().toBigDecimal(),
                 dish.getCategory(),
                 true)
         );
@@ -49,7 +49,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
                 dish.getId(),
                 null,
                 dish.getDescription(),
-                dish.getPrice(),
+                dish.getPrice().toBigDecimal(),
                 dish.getCategory(),
                 true)
         );
@@ -57,7 +57,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
                 dish.getId(),
                 "   ",
                 dish.getDescription(),
-                dish.getPrice(),
+                dish.getPrice().toBigDecimal(),
                 dish.getCategory(),
                 true)
         );
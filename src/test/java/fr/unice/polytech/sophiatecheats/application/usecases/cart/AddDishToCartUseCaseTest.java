@@ -4,6 +4,7 @@ import fr.unice.polytech.sophiatecheats.application.dto.user.request.AddDishToCa
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.AddDishToCartResponse;
 import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.DishLocation;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
@@ -16,7 +17,6 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
-import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -88,7 +88,7 @@ class AddDishToCartUseCaseTest {
 
         // Configuration des mocks
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(restaurantRepository.findAll()).thenReturn(Collections.singletonList(testRestaurant));
+        when(restaurantRepository.findDishLocation(dishId)).thenReturn(Optional.of(new DishLocation(testRestaurant, testDish)));
         when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.empty()); // Pas de panier existant
         when(cartRepository.save(any(Cart.class))).thenReturn(null);
 
@@ -99,11 +99,12 @@ class AddDishToCartUseCaseTest {
         assertTrue(response.success(), "L'ajout au panier devrait réussir");
         assertNotNull(response.cartId(), "Un ID de panier devrait être généré");
         assertEquals(2, response.totalItems(), "Le panier devrait contenir 2 articles");
-        assertEquals(BigDecimal.valueOf(17.0), response.totalAmount(), "Le total devrait être 17.00€ (8.50 × 2)");
+        assertEquals(new BigDecimal("17.00"), response.totalAmount(), "Le total devrait être 17.00€ (8.50 × 2)");
 
         // Vérification des interactions
         verify(userRepository).findById(userId);
-        verify(restaurantRepository, times(2)).findAll();
+        verify(restaurantRepository).findDishLocation(dishId);
+        verify(restaurantRepository, never()).findAll();
         verify(cartRepository).findActiveCartByUserId(userId);
         verify(cartRepository).save(any(Cart.class));
     }
@@ -126,7 +127,7 @@ class AddDishToCartUseCaseTest {
         AddDishToCartRequest request = new AddDishToCartRequest(userId, dishId, 2);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(restaurantRepository.findAll()).thenReturn(Collections.singletonList(testRestaurant));
+        when(restaurantRepository.findDishLocation(dishId)).thenReturn(Optional.of(new DishLocation(testRestaurant, testDish)));
         when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.of(existingCart));
         when(cartRepository.save(any(Cart.class))).thenReturn(null);
 
@@ -136,7 +137,7 @@ class AddDishToCartUseCaseTest {
         // Then
         assertTrue(response.success());
         assertEquals(3, response.totalItems(), "Le panier devrait contenir 3 articles au total");
-        assertEquals(BigDecimal.valueOf(25.5), response.totalAmount(), "Le total devrait être 25.50€ (8.50 × 3)");
+        assertEquals(new BigDecimal("25.50"), response.totalAmount(), "Le total devrait être 25.50€ (8.50 × 3)");
     }
 
     /**
@@ -175,7 +176,8 @@ class AddDishToCartUseCaseTest {
         AddDishToCartRequest request = new AddDishToCartRequest(userId, unavailableDish.getId(), 1);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(restaurantRepository.findAll()).thenReturn(Collections.singletonList(testRestaurant));
+        when(restaurantRepository.findDishLocation(unavailableDish.getId()))
+                .thenReturn(Optional.of(new DishLocation(testRestaurant, unavailableDish)));
         when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.empty());
 
         // When
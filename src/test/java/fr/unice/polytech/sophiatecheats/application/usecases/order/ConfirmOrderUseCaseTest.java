@@ -75,7 +75,7 @@ class ConfirmOrderUseCaseTest {
         assertEquals(testOrder.getOrderId(), response.orderId());
         assertEquals(testUser.getName(), response.customerName());
         assertEquals(testRestaurant.getName(), response.restaurantName());
-        assertEquals(testOrder.getTotalAmount(), response.totalAmount());
+        assertEquals(testOrder.getTotalAmount().toBigDecimal(), response.totalAmount());
         assertEquals(OrderStatus.CONFIRMED, response.status());
         assertNotNull(response.deliveryTime());
 
@@ -1,16 +1,27 @@
 package fr.unice.polytech.sophiatecheats.application.usecases.order;
 
 import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Schedule;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
 import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
 import fr.unice.polytech.sophiatecheats.domain.repositories.OrderRepository;
+import fr.unice.polytech.sophiatecheats.domain.services.PaymentDeadlineWheel;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryOrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,5 +56,123 @@ class ExpireUnpaidOrdersUseCaseTest {
         verify(freshOrder, never()).expire();
         verify(orderRepository, never()).save(freshOrder);
     }
-}
 
+    @Test
+    @DisplayName("Avec la roue d'échéances, expire seulement les commandes échues et rend la capacité du créneau")
+    void expireDueOrdersFromWheelAndReleaseSlotCapacity() {
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        PaymentDeadlineWheel wheel = new PaymentDeadlineWheel(Duration.ZERO);
+        InitiatePaymentUseCase initiatePayment = new InitiatePaymentUseCase(repository, wheel);
+        ExpireUnpaidOrdersUseCase wheelUseCase = new ExpireUnpaidOrdersUseCase(repository, wheel);
+
+        Restaurant restaurant = new Restaurant("CROUS", "Valbonne");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        restaurant.getDeliverySchedule().generateDailySlots(tomorrow,
+                new Schedule(LocalTime.of(12, 0), LocalTime.of(13, 0)), 1);
+        List<TimeSlot> slots = restaurant.getDeliverySchedule().getSlotsForDate(tomorrow);
+        Order unpaid = reservedOrder(repository, restaurant, slots.get(0));
+        Order paid = reservedOrder(repository, restaurant, slots.get(1));
+
+        initiatePayment.execute(unpaid.getOrderId());
+        initiatePayment.execute(paid.getOrderId());
+        paid.markAsPaid();
+        assertEquals(1, wheel.size(), "Le paiement doit annuler l'échéance");
+
+        wheelUseCase.run();
+
+        assertEquals(OrderStatus.EXPIRED, unpaid.getStatus());
+        assertNull(unpaid.getDeliverySlotId());
+        assertEquals(0, slots.get(0).getReservedCount(), "La capacité du créneau doit être rendue");
+        assertTrue(slots.get(0).isAvailable());
+        assertEquals(OrderStatus.PAID, paid.getStatus());
+        assertEquals(1, slots.get(1).getReservedCount());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Une commande sans réservation ne rend pas la place réservée par une autre commande")
+    void expiringAnOrderWithoutReservationKeepsOtherReservations() {
+        Restaurant restaurant = new Restaurant("CROUS", "Valbonne");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        restaurant.getDeliverySchedule().generateDailySlots(tomorrow,
+                new Schedule(LocalTime.of(12, 0), LocalTime.of(13, 0)), 1);
+        TimeSlot slot = restaurant.getDeliverySchedule().getSlotsForDate(tomorrow).get(0);
+        Order holder = new Order(new User("alice@etu.unice.fr", "Alice"), restaurant,
+                Collections.emptyList(), PaymentMethod.EXTERNAL_CARD);
+        holder.reserveDeliverySlot(slot);
+        Order assigned = new Order(new User("bob@etu.unice.fr", "Bob"), restaurant,
+                Collections.emptyList(), PaymentMethod.EXTERNAL_CARD);
+        assigned.assignDeliverySlot(slot.getId(), slot.getStartTime());
+
+        assigned.expire();
+
+        assertEquals(OrderStatus.EXPIRED, assigned.getStatus());
+        assertNull(assigned.getDeliverySlotId());
+        assertEquals(1, slot.getReservedCount(), "La place de l'autre commande doit rester réservée");
+
+        holder.expire();
+
+        assertFalse(holder.isDeliverySlotReserved());
+        assertEquals(0, slot.getReservedCount());
+        assertThrows(IllegalStateException.class, holder::expire);
+        assertEquals(0, slot.getReservedCount());
+    }
+
+    @Test
+    @DisplayName("Une commande en échec n'empêche pas les autres d'expirer et est reprise au passage suivant")
+    void keepExpiringWhenAnOrderFailsAndRetryIt() throws InterruptedException {
+        PaymentDeadlineWheel wheel = new PaymentDeadlineWheel(Duration.ZERO, Duration.ofMillis(1), 64);
+        ExpireUnpaidOrdersUseCase wheelUseCase = new ExpireUnpaidOrdersUseCase(orderRepository, wheel);
+
+        Restaurant restaurant = new Restaurant("CROUS", "Valbonne");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        restaurant.getDeliverySchedule().generateDailySlots(tomorrow,
+                new Schedule(LocalTime.of(12, 0), LocalTime.of(13, 0)), 1);
+        TimeSlot slot = restaurant.getDeliverySchedule().getSlotsForDate(tomorrow).get(0);
+        Order unpaid = new Order(new User("bob@etu.unice.fr", "Bob"), restaurant,
+                Collections.emptyList(), PaymentMethod.EXTERNAL_CARD);
+        order(unpaid, slot);
+        // La place a déjà été rendue par ailleurs : l'expiration ne doit pas échouer pour autant
+        slot.release();
+
+        Order failing = mock(Order.class);
+        when(failing.getOrderId()).thenReturn("failing");
+        when(failing.getStatus()).thenReturn(OrderStatus.PENDING);
+        when(failing.getDeliverySlotReservedAt()).thenReturn(LocalDateTime.now());
+        doThrow(new IllegalStateException("panne")).doNothing().when(failing).expire();
+
+        when(orderRepository.findById(unpaid.getOrderId())).thenReturn(Optional.of(unpaid));
+        when(orderRepository.findById("failing")).thenReturn(Optional.of(failing));
+        wheel.schedule(failing);
+        wheel.schedule(unpaid);
+        Thread.sleep(5);
+
+        wheelUseCase.run();
+
+        assertEquals(OrderStatus.EXPIRED, unpaid.getStatus());
+        assertNull(unpaid.getDeliverySlotId());
+        assertEquals(0, slot.getReservedCount());
+        verify(orderRepository).save(unpaid);
+        verify(orderRepository, never()).save(failing);
+        assertEquals(1, wheel.size(), "La commande en échec doit rester planifiée");
+
+        Thread.sleep(5);
+        wheelUseCase.run();
+
+        verify(failing, times(2)).expire();
+        verify(orderRepository).save(failing);
+        assertEquals(0, wheel.size());
+    }
+
+    private static void order(Order order, TimeSlot slot) {
+        order.reserveDeliverySlot(slot);
+        order.startPaymentTimeout();
+    }
+
+    private Order reservedOrder(OrderRepository repository, Restaurant restaurant, TimeSlot slot) {
+        Order order = new Order(new User("bob@etu.unice.fr", "Bob"), restaurant,
+                Collections.emptyList(), PaymentMethod.EXTERNAL_CARD);
+        order.reserveDeliverySlot(slot);
+        return repository.save(order);
+    }
+}
@@ -69,7 +69,7 @@ class OrderConfirmationSimpleIntegrationTest {
         assertEquals(OrderStatus.CONFIRMED, response.status());
         assertEquals(user.getName(), response.customerName());
         assertEquals(restaurant.getName(), response.restaurantName());
-        assertEquals(BigDecimal.valueOf(30.0), response.totalAmount());
+        assertEquals(new BigDecimal("30.00"), response.totalAmount());
         assertNotNull(response.deliveryTime());
         assertNotNull(response.confirmedAt());
     }
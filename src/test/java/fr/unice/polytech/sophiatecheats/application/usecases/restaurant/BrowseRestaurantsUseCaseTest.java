@@ -1,13 +1,26 @@
 package fr.unice.polytech.sophiatecheats.application.usecases.restaurant;
 
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
 import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
 import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BrowseRestaurantsUseCaseTest {
@@ -139,4 +152,93 @@ class BrowseRestaurantsUseCaseTest {
             restaurant.dishes().forEach(dish -> 
                 assertTrue(dish.available())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_filter_by_diet_on_available_dishes_only() {
+        // Given
+        RestaurantRepository repository = config.getInstance(RestaurantRepository.class);
+        Restaurant restaurant = new Restaurant("Green Corner", "Bâtiment D");
+        Dish bowl = Dish.builder().name("Bowl Vegan").price(new BigDecimal("9.00"))
+                .addDietType(DietType.VEGAN).build();
+        restaurant.addDish(bowl);
+        repository.save(restaurant);
+        BrowseRestaurantsRequest request = new BrowseRestaurantsRequest(null, null, DietType.VEGAN, null, null, null);
+
+        // When / Then
+        assertTrue(useCase.execute(request).restaurants().stream()
+            .anyMatch(r -> "Green Corner".equals(r.name())));
+
+        restaurant.setDishAvailability(bowl.getId(), false);
+
+        assertFalse(useCase.execute(request).restaurants().stream()
+            .anyMatch(r -> "Green Corner".equals(r.name())));
+    }
+
+    @Test
+    void should_page_through_all_restaurants_while_menus_change() {
+        // Given
+        RestaurantRepository repository = config.getInstance(RestaurantRepository.class);
+        for (int i = 0; i < 8; i++) {
+            Restaurant restaurant = new Restaurant("Stand " + i, "Forum " + i);
+            restaurant.addDish(Dish.builder().name("Plat " + i).price(new BigDecimal("4.00")).build());
+            repository.save(restaurant);
+        }
+        BrowseRestaurantsRequest request = new BrowseRestaurantsRequest(null, null, null, null, null, null, 3, null);
+        Set<UUID> expected = useCase.execute(new BrowseRestaurantsRequest(null, null, null, null, null, null))
+            .restaurants().stream().map(RestaurantDto::id).collect(Collectors.toSet());
+
+        // When
+        List<UUID> seen = new ArrayList<>();
+        BrowseRestaurantsResponse page = useCase.execute(request);
+        int pages = 1;
+        while (true) {
+            assertTrue(page.restaurants().size() <= 3);
+            page.restaurants().forEach(r -> seen.add(r.id()));
+            // Modifications concurrentes entre deux pages : elles ne doivent pas décaler le curseur
+            repository.findAll().forEach(r -> r.addDish(
+                Dish.builder().name("Nouveauté " + UUID.randomUUID()).price(new BigDecimal("2.00")).build()));
+            if (!page.hasNextPage()) {
+                break;
+            }
+            page = useCase.execute(request.nextPage(page.continuationToken()));
+            pages++;
+        }
+
+        // Then
+        assertEquals(4, pages);
+        assertEquals(expected.size(), seen.size());
+        assertEquals(expected, new HashSet<>(seen));
+        assertEquals(seen.stream().sorted().toList(), seen);
+    }
+
+    @Test
+    void should_stream_the_same_restaurants_as_the_page() {
+        BrowseRestaurantsRequest request = new BrowseRestaurantsRequest(null, true, null, null, null, null, 1, null);
+
+        BrowseRestaurantsResponse page = useCase.execute(request);
+
+        assertEquals(page.restaurants(), useCase.stream(request).toList());
+        assertTrue(page.hasNextPage());
+        assertEquals(1, useCase.stream(request.nextPage(page.continuationToken())).count());
+        assertTrue(useCase.execute(request.nextPage("pas un jeton")).restaurants().isEmpty());
+        assertEquals(0, useCase.stream(new BrowseRestaurantsRequest(null, null, null, null, null, null, 0, null)).count());
+    }
+
+    @Test
+    void should_stream_every_restaurant_in_id_order_across_batches() {
+        // Given
+        RestaurantRepository repository = config.getInstance(RestaurantRepository.class);
+        for (int i = 0; i < 150; i++) {
+            repository.save(new Restaurant("Stand " + i, "Allée " + i));
+        }
+        List<UUID> expected = repository.findAll().stream().map(Restaurant::getId).sorted().toList();
+
+        // When
+        List<UUID> streamed = useCase.stream(new BrowseRestaurantsRequest(null, null, null, null, null, null))
+            .map(RestaurantDto::id)
+            .toList();
+
+        // Then
+        assertEquals(expected, streamed);
+    }
+}
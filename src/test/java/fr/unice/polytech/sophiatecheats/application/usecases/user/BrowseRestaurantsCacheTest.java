@@ -0,0 +1,78 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.dto.user.response.BrowseRestaurantsResponse;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrowseRestaurantsCacheTest {
+
+    private static final BrowseRestaurantsRequest ALL = new BrowseRestaurantsRequest(null, null, null, null, null, null);
+    private static final BrowseRestaurantsRequest OPEN = new BrowseRestaurantsRequest(null, true, null, null, null, null);
+
+    private InMemoryRestaurantRepository repository;
+    private BrowseRestaurantsCache cache;
+    private Restaurant restaurant;
+    private Dish dish;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRestaurantRepository(false);
+        cache = new BrowseRestaurantsCache(new BrowseRestaurantsUseCase(repository), repository, 2);
+        restaurant = new Restaurant("CROUS", "Valbonne");
+        dish = Dish.builder().name("Lasagnes").price(new BigDecimal("6.00")).category(DishCategory.MAIN_COURSE).build();
+        restaurant.addDish(dish);
+        repository.save(restaurant);
+    }
+
+    @Test
+    void should_serve_the_same_response_while_nothing_changes() {
+        BrowseRestaurantsResponse first = cache.browse(ALL);
+
+        assertSame(first, cache.browse(new BrowseRestaurantsRequest(null, null, null, null, null, null)));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void should_recompute_after_menu_opening_or_availability_change() {
+        BrowseRestaurantsResponse initial = cache.browse(OPEN);
+
+        restaurant.modifyDishPrice(dish.getId(), new BigDecimal("6.50"));
+        BrowseRestaurantsResponse afterPriceChange = cache.browse(OPEN);
+        assertNotSame(initial, afterPriceChange);
+        assertEquals(new BigDecimal("6.50"), afterPriceChange.restaurants().get(0).dishes().get(0).price());
+
+        restaurant.setDishAvailability(dish.getId(), false);
+        assertTrue(cache.browse(OPEN).restaurants().get(0).dishes().isEmpty());
+
+        restaurant.close();
+        assertTrue(cache.browse(OPEN).restaurants().isEmpty());
+
+        repository.save(new Restaurant("Food Truck", "Parking Sud"));
+        assertEquals(2, cache.browse(ALL).restaurants().size());
+    }
+
+    @Test
+    void should_evict_the_least_recently_used_request() {
+        BrowseRestaurantsRequest cheap = new BrowseRestaurantsRequest(null, null, null, null, new BigDecimal("5.00"), null);
+        BrowseRestaurantsResponse all = cache.browse(ALL);
+        BrowseRestaurantsResponse open = cache.browse(OPEN);
+        cache.browse(ALL);
+
+        cache.browse(cheap);
+
+        assertEquals(2, cache.size());
+        assertSame(all, cache.browse(ALL));
+        assertNotSame(open, cache.browse(OPEN));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BrowseRestaurantsCache(new BrowseRestaurantsUseCase(repository), repository, 0));
+    }
+}
@@ -0,0 +1,84 @@
+package fr.unice.polytech.sophiatecheats.application.usecases.user;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantDtoMapperTest {
+
+    private RestaurantDtoMapper mapper;
+    private Restaurant restaurant;
+    private Dish pasta;
+    private Dish salad;
+    private Dish soup;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new RestaurantDtoMapper();
+        restaurant = new Restaurant("CROUS", "Valbonne");
+        pasta = Dish.builder().name("Pâtes").price(new BigDecimal("5.00")).build();
+        salad = Dish.builder().name("Salade").price(new BigDecimal("4.00")).build();
+        soup = Dish.builder().name("Soupe").price(new BigDecimal("3.00")).build();
+        restaurant.addDish(pasta);
+        restaurant.addDish(salad);
+        restaurant.addDish(soup);
+    }
+
+    @Test
+    void should_reuse_the_dto_of_an_unchanged_restaurant() {
+        RestaurantDto first = mapper.toDto(restaurant);
+
+        assertSame(first, mapper.toDto(restaurant));
+        assertEquals(3, first.dishes().size());
+    }
+
+    @Test
+    void should_remap_only_the_dishes_that_changed() {
+        RestaurantDto before = mapper.toDto(restaurant);
+
+        restaurant.modifyDishPrice(pasta.getId(), new BigDecimal("5.50"));
+        RestaurantDto after = mapper.toDto(restaurant);
+
+        assertNotSame(before, after);
+        assertSame(before.dishes().get(1), after.dishes().get(0));
+        assertSame(before.dishes().get(2), after.dishes().get(1));
+        assertEquals(new BigDecimal("5.50"), after.dishes().get(2).price());
+    }
+
+    @Test
+    void should_detect_restaurant_and_dish_changes() {
+        RestaurantDto initial = mapper.toDto(restaurant);
+
+        restaurant.close();
+        RestaurantDto closed = mapper.toDto(restaurant);
+        assertNotSame(initial, closed);
+        assertFalse(closed.isOpen());
+
+        restaurant.modifyDishPrice(salad.getId(), new BigDecimal("4.20"));
+        RestaurantDto repriced = mapper.toDto(restaurant);
+        assertNotSame(closed, repriced);
+        assertEquals(new BigDecimal("4.20"), repriced.dishes().get(2).price());
+
+        restaurant.setDishAvailability(soup.getId(), false);
+        assertEquals(2, mapper.toDto(restaurant).dishes().size());
+    }
+
+    @Test
+    void should_evict_the_least_recently_mapped_restaurant() {
+        RestaurantDtoMapper bounded = new RestaurantDtoMapper(1);
+        Restaurant other = new Restaurant("Food truck", "Templiers");
+        RestaurantDto first = bounded.toDto(restaurant);
+
+        bounded.toDto(other);
+
+        RestaurantDto remapped = bounded.toDto(restaurant);
+        assertNotSame(first, remapped);
+        assertEquals(first, remapped);
+    }
+}
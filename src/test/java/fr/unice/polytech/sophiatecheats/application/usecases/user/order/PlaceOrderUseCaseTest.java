@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.application.usecases.user.order;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.application.dto.user.request.PlaceOrderRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.user.response.PlaceOrderResponse;
 import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
@@ -18,18 +19,20 @@ import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository
 import fr.unice.polytech.sophiatecheats.domain.repositories.UserRepository;
 import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentResult;
 import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategy;
-import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategyFactory;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategyRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -106,8 +109,8 @@ class PlaceOrderUseCaseTest {
             PaymentMethod.STUDENT_CREDIT
         );
 
-        BigDecimal expectedTotal = BigDecimal.valueOf(17.0);
-        BigDecimal expectedRemainingCredit = BigDecimal.valueOf(33.0); // 50 - 17
+        BigDecimal expectedTotal = new BigDecimal("17.00");
+        BigDecimal expectedRemainingCredit = new BigDecimal("33.00"); // 50 - 17
 
         // Mock : pas de commande active
         when(orderRepository.existsActiveOrderByUserId(userId)).thenReturn(false);
@@ -120,7 +123,7 @@ class PlaceOrderUseCaseTest {
         when(savedOrder.getOrderId()).thenReturn(UUID.randomUUID().toString());
         when(savedOrder.getUser()).thenReturn(testUser);
         when(savedOrder.getRestaurant()).thenReturn(testRestaurant);
-        when(savedOrder.getTotalAmount()).thenReturn(expectedTotal);
+        when(savedOrder.getTotalAmount()).thenReturn(Money.of(expectedTotal));
         when(savedOrder.getStatus()).thenReturn(OrderStatus.PENDING);
         when(savedOrder.getPaymentMethod()).thenReturn(PaymentMethod.STUDENT_CREDIT);
         when(savedOrder.getOrderDateTime()).thenReturn(java.time.LocalDateTime.now());
@@ -153,6 +156,29 @@ class PlaceOrderUseCaseTest {
         verify(orderRepository).save(any(Order.class));
     }
 
+    /**
+     * Test d'échec : la commande ne peut pas être enregistrée après le débit.
+     */
+    @Test
+    @DisplayName("Devrait rendre le crédit débité si la commande ne peut pas être enregistrée")
+    void should_refund_student_credit_when_order_cannot_be_saved() {
+        // Given
+        PlaceOrderRequest request = new PlaceOrderRequest(userId, restaurantId, PaymentMethod.STUDENT_CREDIT);
+
+        when(orderRepository.existsActiveOrderByUserId(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.of(testCart));
+        when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+        when(orderRepository.save(any(Order.class))).thenThrow(new IllegalStateException("journal indisponible"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> useCase.execute(request));
+        assertEquals(new BigDecimal("50.00"), testUser.getStudentCredit(),
+            "Le crédit débité devrait être rendu");
+        verify(userRepository, never()).save(any(User.class));
+        verify(cartRepository, never()).delete(any(Cart.class));
+    }
+
     /**
      * Test d'échec : crédit étudiant insuffisant.
      */
@@ -181,7 +207,7 @@ class PlaceOrderUseCaseTest {
         );
 
         assertTrue(exception.getMessage().contains("Crédit étudiant insuffisant"));
-        assertEquals(BigDecimal.valueOf(10.00), testUser.getStudentCredit(),
+        assertEquals(new BigDecimal("10.00"), testUser.getStudentCredit(),
             "Le crédit ne devrait pas avoir été débité");
 
         // Vérification qu'aucune commande n'a été sauvegardée
@@ -214,39 +240,37 @@ class PlaceOrderUseCaseTest {
         when(savedOrder.getOrderId()).thenReturn(UUID.randomUUID().toString());
         when(savedOrder.getUser()).thenReturn(testUser);
         when(savedOrder.getRestaurant()).thenReturn(testRestaurant);
-        when(savedOrder.getTotalAmount()).thenReturn(BigDecimal.valueOf(17.0));
+        when(savedOrder.getTotalAmount()).thenReturn(Money.of("17.00"));
         when(savedOrder.getStatus()).thenReturn(OrderStatus.PENDING);
         when(savedOrder.getPaymentMethod()).thenReturn(PaymentMethod.EXTERNAL_CARD);
         when(savedOrder.getOrderDateTime()).thenReturn(java.time.LocalDateTime.now());
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
-        // Mock PaymentStrategyFactory to return a strategy that always succeeds
+        // Strategy that always succeeds, injected through the registry
         PaymentStrategy mockPaymentStrategy = mock(PaymentStrategy.class);
         when(mockPaymentStrategy.canPay(any(User.class), any(BigDecimal.class))).thenReturn(true);
         when(mockPaymentStrategy.processPayment(any(BigDecimal.class), any(User.class)))
             .thenReturn(PaymentResult.success("MOCK-TXN", BigDecimal.valueOf(17.0), "Paiement réussi"));
 
-        try (MockedStatic<PaymentStrategyFactory> mockedFactory = mockStatic(PaymentStrategyFactory.class)) {
-            mockedFactory.when(() -> PaymentStrategyFactory.createStrategy(PaymentMethod.EXTERNAL_CARD))
-                .thenReturn(mockPaymentStrategy);
+        useCase = new PlaceOrderUseCase(userRepository, restaurantRepository, orderRepository,
+            cartRepository, new PaymentStrategyRegistry(Map.of(PaymentMethod.EXTERNAL_CARD, mockPaymentStrategy)));
 
-            // When
-            PlaceOrderResponse response = useCase.execute(request);
+        // When
+        PlaceOrderResponse response = useCase.execute(request);
 
-            // Then
-            assertNotNull(response);
-            assertEquals(PaymentMethod.EXTERNAL_CARD, response.paymentMethod());
-            assertEquals(initialCredit, testUser.getStudentCredit(),
-                "Le crédit étudiant ne devrait PAS être débité pour paiement externe");
+        // Then
+        assertNotNull(response);
+        assertEquals(PaymentMethod.EXTERNAL_CARD, response.paymentMethod());
+        assertEquals(initialCredit, testUser.getStudentCredit(),
+            "Le crédit étudiant ne devrait PAS être débité pour paiement externe");
 
-            // Vérification que le Cart a été supprimé
-            verify(cartRepository).delete(testCart);
+        // Vérification que le Cart a été supprimé
+        verify(cartRepository).delete(testCart);
 
-            // Vérification que l'utilisateur n'a pas été sauvegardé (pas de modification du crédit)
-            verify(userRepository, never()).save(testUser);
-            verify(orderRepository).save(any(Order.class));
-        }
+        // Vérification que l'utilisateur n'a pas été sauvegardé (pas de modification du crédit)
+        verify(userRepository, never()).save(testUser);
+        verify(orderRepository).save(any(Order.class));
     }
 
     /**
@@ -436,7 +460,7 @@ class PlaceOrderUseCaseTest {
         when(savedOrder.getOrderId()).thenReturn(UUID.randomUUID().toString());
         when(savedOrder.getUser()).thenReturn(testUser);
         when(savedOrder.getRestaurant()).thenReturn(testRestaurant);
-        when(savedOrder.getTotalAmount()).thenReturn(BigDecimal.valueOf(17.0));
+        when(savedOrder.getTotalAmount()).thenReturn(Money.of("17.00"));
         when(savedOrder.getStatus()).thenReturn(OrderStatus.PENDING);
         when(savedOrder.getPaymentMethod()).thenReturn(PaymentMethod.STUDENT_CREDIT);
         when(savedOrder.getOrderDateTime()).thenReturn(java.time.LocalDateTime.now());
@@ -455,9 +479,127 @@ class PlaceOrderUseCaseTest {
         assertEquals(1, capturedOrder.getOrderItems().size());
 
         // Vérifier que le crédit a été déduit
-        assertEquals(BigDecimal.valueOf(33.0), testUser.getStudentCredit());
+        assertEquals(new BigDecimal("33.00"), testUser.getStudentCredit());
 
         // Vérifier que le Cart a été supprimé
         verify(cartRepository).delete(testCart);
     }
+
+    /**
+     * Test de la variante asynchrone : la commande n'est enregistrée qu'une fois le paiement terminé.
+     */
+    @Test
+    @DisplayName("Devrait enregistrer la commande à la fin du paiement asynchrone par carte")
+    void should_place_order_asynchronously_once_card_payment_completes() {
+        // Given
+        PlaceOrderRequest request = new PlaceOrderRequest(userId, restaurantId, PaymentMethod.EXTERNAL_CARD);
+
+        when(orderRepository.existsActiveOrderByUserId(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.of(testCart));
+        when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<PaymentResult> bankResponse = new CompletableFuture<>();
+        PaymentStrategy mockPaymentStrategy = mock(PaymentStrategy.class);
+        when(mockPaymentStrategy.canPay(any(User.class), any(BigDecimal.class))).thenReturn(true);
+        when(mockPaymentStrategy.processPaymentAsync(any(BigDecimal.class), any(User.class))).thenReturn(bankResponse);
+
+        useCase = new PlaceOrderUseCase(userRepository, restaurantRepository, orderRepository,
+            cartRepository, new PaymentStrategyRegistry(Map.of(PaymentMethod.EXTERNAL_CARD, mockPaymentStrategy)));
+
+        // When
+        CompletableFuture<PlaceOrderResponse> response = useCase.executeAsync(request);
+
+        // Then - rien n'est enregistré tant que la banque n'a pas répondu
+        assertFalse(response.isDone());
+        verify(orderRepository, never()).save(any());
+
+        bankResponse.complete(PaymentResult.success("MOCK-TXN", BigDecimal.valueOf(17.0), "Paiement réussi"));
+
+        assertEquals(PaymentMethod.EXTERNAL_CARD, response.join().paymentMethod());
+        assertEquals(OrderStatus.PENDING, response.join().status());
+        verify(orderRepository).save(any(Order.class));
+        verify(cartRepository).delete(testCart);
+        verify(mockPaymentStrategy, never()).processPayment(any(), any());
+    }
+
+    /**
+     * Test d'échec de la variante asynchrone : les erreurs sont portées par la future.
+     */
+    @Test
+    @DisplayName("Devrait compléter la future en échec si le paiement asynchrone est refusé ou la requête invalide")
+    void should_fail_future_when_async_payment_declined_or_request_invalid() {
+        // Given
+        PlaceOrderRequest request = new PlaceOrderRequest(userId, restaurantId, PaymentMethod.EXTERNAL_CARD);
+
+        when(orderRepository.existsActiveOrderByUserId(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.of(testCart));
+        when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+
+        PaymentStrategy mockPaymentStrategy = mock(PaymentStrategy.class);
+        when(mockPaymentStrategy.canPay(any(User.class), any(BigDecimal.class))).thenReturn(true);
+        when(mockPaymentStrategy.processPaymentAsync(any(BigDecimal.class), any(User.class)))
+            .thenReturn(CompletableFuture.completedFuture(PaymentResult.failure("Refus", "CARD_DECLINED")));
+
+        useCase = new PlaceOrderUseCase(userRepository, restaurantRepository, orderRepository,
+            cartRepository, new PaymentStrategyRegistry(Map.of(PaymentMethod.EXTERNAL_CARD, mockPaymentStrategy)));
+
+        // When & Then
+        CompletionException declined = assertThrows(CompletionException.class,
+            () -> useCase.executeAsync(request).join());
+        assertInstanceOf(ValidationException.class, declined.getCause());
+
+        CompletionException invalid = assertThrows(CompletionException.class,
+            () -> useCase.executeAsync(null).join());
+        assertInstanceOf(IllegalArgumentException.class, invalid.getCause());
+
+        verify(orderRepository, never()).save(any());
+        verify(cartRepository, never()).delete(any(Cart.class));
+    }
+
+    /**
+     * Test de concurrence : une commande en attente du paiement compte comme commande en cours.
+     */
+    @Test
+    @DisplayName("Devrait refuser une seconde commande pendant le paiement asynchrone et l'accepter après un refus")
+    void should_reject_second_order_while_async_payment_is_pending() {
+        // Given
+        PlaceOrderRequest request = new PlaceOrderRequest(userId, restaurantId, PaymentMethod.EXTERNAL_CARD);
+
+        when(orderRepository.existsActiveOrderByUserId(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(cartRepository.findActiveCartByUserId(userId)).thenReturn(Optional.of(testCart));
+        when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<PaymentResult> declined = new CompletableFuture<>();
+        PaymentStrategy mockPaymentStrategy = mock(PaymentStrategy.class);
+        when(mockPaymentStrategy.canPay(any(User.class), any(BigDecimal.class))).thenReturn(true);
+        when(mockPaymentStrategy.processPaymentAsync(any(BigDecimal.class), any(User.class)))
+            .thenReturn(declined)
+            .thenReturn(CompletableFuture.completedFuture(
+                PaymentResult.success("MOCK-TXN", BigDecimal.valueOf(17.0), "Paiement réussi")));
+
+        useCase = new PlaceOrderUseCase(userRepository, restaurantRepository, orderRepository,
+            cartRepository, new PaymentStrategyRegistry(Map.of(PaymentMethod.EXTERNAL_CARD, mockPaymentStrategy)));
+
+        // When - la première commande attend la banque
+        CompletableFuture<PlaceOrderResponse> first = useCase.executeAsync(request);
+
+        // Then - la seconde est refusée sans appeler le service de paiement
+        CompletionException rejected = assertThrows(CompletionException.class,
+            () -> useCase.executeAsync(request).join());
+        assertInstanceOf(ValidationException.class, rejected.getCause());
+        assertThrows(ValidationException.class, () -> useCase.execute(request));
+        verify(mockPaymentStrategy, times(1)).processPaymentAsync(any(BigDecimal.class), any(User.class));
+
+        // Le refus du paiement libère l'utilisateur
+        declined.complete(PaymentResult.failure("Refus", "CARD_DECLINED"));
+        assertThrows(CompletionException.class, first::join);
+
+        assertEquals(OrderStatus.PENDING, useCase.executeAsync(request).join().status());
+        verify(orderRepository, times(1)).save(any(Order.class));
+    }
 }
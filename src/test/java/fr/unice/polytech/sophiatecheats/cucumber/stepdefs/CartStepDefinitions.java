@@ -249,7 +249,7 @@ public class CartStepDefinitions {
     @When("I try to add a dish worth {int} euros")
     public void i_try_to_add_a_dish_worth_euros(Integer dishPrice) {
         try {
-            BigDecimal currentTotal = cart.calculateTotal();
+            BigDecimal currentTotal = cart.calculateTotal().toBigDecimal();
             if (currentTotal.add(new BigDecimal(dishPrice)).compareTo(new BigDecimal("100")) > 0) {
                 lastException = InvalidCartOperationException.maxCartValueExceeded();
                 lastError = lastException.getMessage();
@@ -438,7 +438,7 @@ public class CartStepDefinitions {
     @Then("I should see the subtotal for each dish")
     public void i_should_see_the_subtotal_for_each_dish() {
         cart.getItems().forEach(item -> {
-            BigDecimal subtotal = item.getSubtotal();
+            BigDecimal subtotal = item.getSubtotal().toBigDecimal();
             assertNotNull(subtotal, "Subtotal should be calculated");
             assertTrue(subtotal.compareTo(BigDecimal.ZERO) >= 0, "Subtotal should be non-negative");
         });
@@ -446,7 +446,7 @@ public class CartStepDefinitions {
 
     @Then("I should see the overall subtotal, tax, and total")
     public void i_should_see_the_overall_subtotal_tax_and_total() {
-        BigDecimal total = cart.calculateTotal();
+        BigDecimal total = cart.calculateTotal().toBigDecimal();
         assertNotNull(total, "Total should be calculated");
         assertTrue(total.compareTo(BigDecimal.ZERO) >= 0, "Total should be non-negative");
 
@@ -11,6 +11,8 @@ import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.junit.jupiter.api.Assertions;
 import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.ExternalCardStrategy;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentStrategyRegistry;
 
 import fr.unice.polytech.sophiatecheats.infrastructure.config.ApplicationConfig;
 import fr.unice.polytech.sophiatecheats.domain.repositories.*;
@@ -55,6 +57,10 @@ public class EndToEndCheckoutSteps {
         restaurantRepo = config.getInstance(RestaurantRepository.class);
         orderRepo = config.getInstance(OrderRepository.class);
         fakeGateway = new FakePaymentGateway();
+        // Pas de refus bancaire aléatoire sur la stratégie carte utilisée par les use cases
+        config.getInstance(PaymentStrategyRegistry.class)
+                .get(PaymentMethod.EXTERNAL_CARD, ExternalCardStrategy.class)
+                .setAlwaysSucceed(true);
     }
 
     @When("the payment provider confirms the payment for the last order")
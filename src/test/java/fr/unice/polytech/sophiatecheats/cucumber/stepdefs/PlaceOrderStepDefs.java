@@ -183,7 +183,7 @@ public class PlaceOrderStepDefs {
                 throw new InvalidCartOperationException("Order cannot be paid unless status is PENDING or CREATED");
             }
 
-            BigDecimal total = lastOrder.getTotalAmount();
+            BigDecimal total = lastOrder.getTotalAmount().toBigDecimal();
             if (!user.hasEnoughCredit(total)) {
                 throw new InsufficientCreditException("Insufficient credit");
             }
@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.cucumber.stepdefs;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.request.AddDishToRestaurantRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.request.RemoveDishFromRestaurantRequest;
 import fr.unice.polytech.sophiatecheats.application.dto.restaurant.dishManagement.request.UpdateDishRequest;
@@ -200,7 +201,7 @@ public class RestaurantDishManagementStepDefinitions {
     public void dishHasDesc(String d) { refreshRestaurant(); assertEquals(d, restaurant.findDishById(lastDishId).get().getDescription()); }
 
     @Then("the dish should have price {string}")
-    public void dishHasPrice(String p) { refreshRestaurant(); assertEquals(new BigDecimal(p), restaurant.findDishById(lastDishId).get().getPrice()); }
+    public void dishHasPrice(String p) { refreshRestaurant(); assertEquals(Money.of(p), restaurant.findDishById(lastDishId).get().getPrice()); }
 
     @Then("the dish should have category {string}")
     public void dishHasCat(String c) { refreshRestaurant(); assertEquals(DishCategory.valueOf(c), restaurant.findDishById(lastDishId).get().getCategory()); }
@@ -0,0 +1,43 @@
+package fr.unice.polytech.sophiatecheats.domain.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void should_convert_euros_to_cents_whatever_the_scale() {
+        assertEquals(1250, Money.of("12.5").cents());
+        assertEquals(Money.of("12.50"), Money.of(BigDecimal.valueOf(12.5)));
+        assertEquals(new BigDecimal("12.50"), Money.ofCents(1250).toBigDecimal());
+        assertSame(Money.ZERO, Money.of("0.00"));
+    }
+
+    @Test
+    void should_reject_amounts_finer_than_a_cent() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("0.001"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of((BigDecimal) null));
+    }
+
+    @Test
+    void should_compute_exactly_and_detect_overflow() {
+        Money price = Money.of("8.50");
+
+        assertEquals(Money.of("25.50"), price.times(3));
+        assertEquals(Money.of("34.00"), price.times(3).plus(price));
+        assertEquals(Money.of("-0.50"), price.minus(Money.of("9.00")));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE / 2).times(3));
+    }
+
+    @Test
+    void should_format_exact_euros() {
+        assertEquals("12.50€", Money.of("12.5").toString());
+        assertEquals("0.05€", Money.ofCents(5).toString());
+        assertEquals("-3.07€", Money.ofCents(-307).toString());
+        assertEquals("-92233720368547758.08€", Money.ofCents(Long.MIN_VALUE).toString());
+    }
+}
@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.cart;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
@@ -38,7 +39,7 @@ class CartItemTest {
         assertEquals(testDish.getDescription(), cartItem.getDishDescription());
         assertEquals(testDish.getPrice(), cartItem.getUnitPrice());
         assertEquals(2, cartItem.getQuantity());
-        assertEquals(new BigDecimal("25.00"), cartItem.getSubtotal());
+        assertEquals(Money.of("25.00"), cartItem.getSubtotal());
     }
 
     @Test
@@ -61,7 +62,7 @@ class CartItemTest {
         cartItem.updateQuantity(5);
 
         assertEquals(5, cartItem.getQuantity());
-        assertEquals(new BigDecimal("62.50"), cartItem.getSubtotal());
+        assertEquals(Money.of("62.50"), cartItem.getSubtotal());
     }
 
     @Test
@@ -77,10 +78,10 @@ class CartItemTest {
     @DisplayName("Should calculate subtotal correctly")
     void shouldCalculateSubtotalCorrectly() {
         CartItem cartItem = new CartItem(testDish, 3);
-        assertEquals(new BigDecimal("37.50"), cartItem.getSubtotal());
+        assertEquals(Money.of("37.50"), cartItem.getSubtotal());
 
         cartItem.updateQuantity(1);
-        assertEquals(new BigDecimal("12.50"), cartItem.getSubtotal());
+        assertEquals(Money.of("12.50"), cartItem.getSubtotal());
     }
 
 }
@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.cart;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.CannotMixRestaurantsException;
@@ -7,8 +8,13 @@ import fr.unice.polytech.sophiatecheats.domain.exceptions.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -171,4 +177,41 @@ class CartTest {
         assertEquals(1, cart.getItems().size(), "Devrait avoir 1 type de plat");
         assertEquals(3, cart.getTotalItems(), "Devrait avoir 3 pizzas au total");
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 7, 42, 2024, 31337})
+    @DisplayName("Les totaux tenus à jour égalent la somme recalculée après toute suite d'opérations")
+    void running_totals_should_match_recomputed_sums(long seed) {
+        Random random = new Random(seed);
+        List<Dish> menu = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            menu.add(Dish.builder()
+                    .name("Plat " + i)
+                    .price(BigDecimal.valueOf(random.nextInt(2000), 2))
+                    .available(true)
+                    .build());
+        }
+
+        for (int step = 0; step < 500; step++) {
+            Dish dish = menu.get(random.nextInt(menu.size()));
+            try {
+                switch (random.nextInt(10)) {
+                    case 0, 1, 2, 3 -> cart.addDish(dish, 1 + random.nextInt(10), restaurant1Id);
+                    case 4, 5, 6 -> cart.updateQuantity(dish.getId(), random.nextInt(11));
+                    case 7, 8 -> cart.removeDish(dish.getId());
+                    default -> cart.clear();
+                }
+            } catch (ValidationException e) {
+                // Opération refusée (quantité > 10, plat absent) : le panier ne doit pas changer
+            }
+
+            Money recomputedTotal = cart.getItems().stream()
+                    .map(CartItem::getSubtotal)
+                    .reduce(Money.ZERO, Money::plus);
+            int recomputedItems = cart.getItems().stream().mapToInt(CartItem::getQuantity).sum();
+            assertEquals(recomputedTotal, cart.calculateTotal(), "Total divergent à l'étape " + step);
+            assertEquals(recomputedItems, cart.getTotalItems(), "Nombre d'articles divergent à l'étape " + step);
+            assertEquals(cart.getItems().isEmpty(), cart.getRestaurantId() == null);
+        }
+    }
+}
@@ -7,7 +7,12 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -146,4 +151,68 @@ class DeliveryScheduleTest {
         schedule.generateDailySlots(today, LocalTime.of(12, 0), LocalTime.of(14, 0), 5);
         assertEquals(4, schedule.getSlotsForDate(today).size());
     }
+
+    @Test
+    void testFindSlotByIdFollowsRegenerationAndCleanup() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        schedule.generateDailySlots(yesterday, restaurantSchedule, 5);
+        schedule.generateDailySlots(tomorrow, restaurantSchedule, 5);
+
+        TimeSlot past = schedule.getSlotsForDate(yesterday).getFirst();
+        TimeSlot replaced = schedule.getSlotsForDate(tomorrow).getFirst();
+        assertSame(replaced, schedule.findSlotById(replaced.getId()).orElseThrow());
+
+        // Régénérer une date remplace ses créneaux dans l'index par identifiant
+        schedule.generateDailySlots(tomorrow, restaurantSchedule, 8);
+        assertTrue(schedule.findSlotById(replaced.getId()).isEmpty());
+        schedule.getSlotsForDate(tomorrow)
+                .forEach(slot -> assertSame(slot, schedule.findSlotById(slot.getId()).orElseThrow()));
+
+        schedule.cleanupPastSlots();
+        assertTrue(schedule.findSlotById(past.getId()).isEmpty());
+        assertTrue(schedule.findSlotById(null).isEmpty());
+    }
+
+    @Test
+    void testConcurrentLookupsDuringWeeklyGeneration() throws Exception {
+        LocalDate start = LocalDate.now().plusDays(1);
+        schedule.generateWeeklySlots(start, restaurantSchedule, 1_000);
+        List<UUID> stableIds = schedule.getSlotsForDate(start.plusDays(6)).stream().map(TimeSlot::getId).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    schedule.generateDailySlots(start.plusDays(i % 5), restaurantSchedule, 1_000);
+                }
+            });
+            List<Future<?>> readers = List.of(
+                    executor.submit(() -> readAndReserve(stableIds)),
+                    executor.submit(() -> readAndReserve(stableIds)),
+                    executor.submit(() -> readAndReserve(stableIds)));
+
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (UUID id : stableIds) {
+            assertEquals(3 * 200, schedule.findSlotById(id).orElseThrow().getReservedCount());
+        }
+        for (int i = 0; i < 7; i++) {
+            assertEquals(24, schedule.getSlotsForDate(start.plusDays(i)).size());
+        }
+    }
+
+    private void readAndReserve(List<UUID> ids) {
+        for (int i = 0; i < 200; i++) {
+            for (UUID id : ids) {
+                schedule.reserveSlot(id);
+            }
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.order;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
@@ -38,7 +39,7 @@ class OrderTest {
         assertEquals(user, order.getUser());
         assertEquals(restaurant, order.getRestaurant());
         assertEquals(OrderStatus.PENDING, order.getStatus());
-        assertEquals(BigDecimal.valueOf(17.00), order.getTotalAmount());
+        assertEquals(Money.of("17.00"), order.getTotalAmount());
         assertEquals(PaymentMethod.STUDENT_CREDIT, order.getPaymentMethod());
         assertNotNull(order.getOrderDateTime());
     }
@@ -72,6 +73,6 @@ class OrderTest {
 
         Order order = new Order(user, restaurant, items, PaymentMethod.EXTERNAL_CARD);
 
-        assertEquals(BigDecimal.valueOf(29.00), order.getTotalAmount());
+        assertEquals(Money.of("29.00"), order.getTotalAmount());
     }
 }
@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.DishValidationException;
 import org.junit.jupiter.api.Test;
@@ -32,7 +33,7 @@ class DishTest {
         assertNotNull(dish.getId());
         assertEquals(name, dish.getName());
         assertEquals(description, dish.getDescription());
-        assertEquals(price, dish.getPrice());
+        assertEquals(Money.of(price), dish.getPrice());
         assertEquals(category, dish.getCategory());
         assertTrue(dish.isAvailable());
     }
@@ -142,18 +143,23 @@ class DishTest {
                 .available(true)
                 .build();
         assertTrue(dish.isAvailable());
+        Restaurant restaurant = new Restaurant("Test", "Adresse");
+        restaurant.addDish(dish);
 
         // When
-        dish.makeUnavailable();
+        restaurant.setDishAvailability(dish.getId(), false);
 
         // Then
-        assertFalse(dish.isAvailable());
+        Dish unavailable = restaurant.findDishById(dish.getId()).orElseThrow();
+        assertFalse(unavailable.isAvailable());
+        assertTrue(dish.isAvailable());
 
         // When
-        dish.makeAvailable();
+        restaurant.setDishAvailability(dish.getId(), true);
 
         // Then
-        assertTrue(dish.isAvailable());
+        assertTrue(restaurant.findDishById(dish.getId()).orElseThrow().isAvailable());
+        assertNotEquals(unavailable.getModificationStamp(), restaurant.findDishById(dish.getId()).orElseThrow().getModificationStamp());
     }
 
     @Test
@@ -206,7 +212,7 @@ class DishTest {
         assertEquals(id, dish.getId());
         assertEquals(name, dish.getName());
         assertEquals(description, dish.getDescription());
-        assertEquals(price, dish.getPrice());
+        assertEquals(Money.of(price), dish.getPrice());
         assertEquals(category, dish.getCategory());
         assertFalse(dish.isAvailable());
     }
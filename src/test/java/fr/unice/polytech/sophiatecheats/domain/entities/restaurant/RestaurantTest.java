@@ -1,6 +1,8 @@
 package fr.unice.polytech.sophiatecheats.domain.entities.restaurant;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.delivery.DeliverySchedule;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
 import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
 import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantValidationException;
@@ -11,7 +13,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -453,7 +458,7 @@ class RestaurantTest {
         var found = restaurant.findDishById(dish.getId());
         assertTrue(found.isPresent());
         assertEquals("New Pizza", found.get().getName());
-        assertEquals(new BigDecimal("15.99"), found.get().getPrice());
+        assertEquals(Money.of("15.99"), found.get().getPrice());
     }
 
     @Test
@@ -507,4 +512,163 @@ class RestaurantTest {
         assertTrue(availableDishes.contains(availableDish));
         assertFalse(availableDishes.contains(unavailableDish));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPublishNewMenuSnapshotOnEachMutation() {
+        Restaurant restaurant = new Restaurant("Test", "Address");
+        Dish salad = Dish.builder().name("Salade").price(new BigDecimal("6.50"))
+                .category(DishCategory.STARTER).addDietType(DietType.VEGETARIAN).build();
+        Dish burger = Dish.builder().name("Burger").price(new BigDecimal("11.00"))
+                .category(DishCategory.MAIN_COURSE).build();
+        restaurant.addDish(salad);
+        MenuSnapshot before = restaurant.getMenuSnapshot();
+
+        restaurant.addDish(burger);
+        MenuSnapshot after = restaurant.getMenuSnapshot();
+
+        assertNotSame(before, after);
+        assertEquals(List.of(salad), before.dishes());
+        assertEquals(List.of(salad, burger), after.dishes());
+        assertSame(after.dishes(), restaurant.getMenu());
+        assertEquals(Money.of("6.50"), after.minPrice().orElseThrow());
+        assertEquals(Money.of("11.00"), after.maxPrice().orElseThrow());
+        assertEquals(EnumSet.of(DishCategory.STARTER, DishCategory.MAIN_COURSE), after.categories());
+        assertEquals(Set.of(DietType.VEGETARIAN), after.dietTypes());
+        assertTrue(after.hasPriceBetween(700, 1100));
+        assertFalse(after.hasPriceBetween(700, 1000));
+        assertThrows(UnsupportedOperationException.class, () -> restaurant.getMenu().add(burger));
+    }
+
+    @Test
+    void shouldRepublishMenuWhenDishAvailabilityOrPriceChanges() {
+        Restaurant restaurant = new Restaurant("Test", "Address");
+        Dish salad = Dish.builder().name("Salade").price(new BigDecimal("6.50"))
+                .addDietType(DietType.VEGAN).build();
+        restaurant.addDish(salad);
+        MenuSnapshot initial = restaurant.getMenuSnapshot();
+
+        assertTrue(restaurant.setDishAvailability(salad.getId(), false));
+        assertTrue(restaurant.getAvailableDishes().isEmpty());
+        assertEquals(List.of(salad), initial.availableDishes());
+        assertFalse(restaurant.setDishAvailability(UUID.randomUUID(), true));
+
+        restaurant.modifyDishPrice(salad.getId(), new BigDecimal("7.00"));
+        Dish modified = restaurant.findDishById(salad.getId()).orElseThrow();
+
+        assertEquals(1, restaurant.getMenu().size());
+        assertFalse(modified.isAvailable());
+        assertTrue(modified.hasDietType(DietType.VEGAN));
+        assertEquals(Money.of("7.00"), restaurant.getMenuSnapshot().minPrice().orElseThrow());
+        assertEquals(Money.of("6.50"), initial.minPrice().orElseThrow());
+    }
+
+    @Test
+    void shouldModifySeveralDishAttributesInOneSnapshot() {
+        Restaurant restaurant = new Restaurant("Test", "Address");
+        Dish salad = Dish.builder().name("Salade").price(new BigDecimal("6.50")).build();
+        restaurant.addDish(salad);
+        MenuSnapshot initial = restaurant.getMenuSnapshot();
+        List<MenuSnapshot> published = new ArrayList<>();
+        restaurant.addListener(new RestaurantListener() {
+            @Override
+            public void onDishAdded(Restaurant r, Dish dish) {
+            }
+
+            @Override
+            public void onDishRemoved(Restaurant r, Dish dish) {
+            }
+
+            @Override
+            public void onMenuReplaced(Restaurant r, List<Dish> removed, List<Dish> added) {
+                published.add(r.getMenuSnapshot());
+            }
+        });
+
+        assertTrue(restaurant.modifyDish(salad.getId(), "Salade César", null, new BigDecimal("7.20"),
+                DishCategory.STARTER, false));
+
+        Dish modified = restaurant.findDishById(salad.getId()).orElseThrow();
+        assertEquals(1, published.size());
+        assertEquals("Salade César", modified.getName());
+        assertEquals(Money.of("7.20"), modified.getPrice());
+        assertEquals(DishCategory.STARTER, modified.getCategory());
+        assertFalse(modified.isAvailable());
+        // L'ancien instantané garde l'ancien plat, intact
+        assertSame(salad, initial.findDish(salad.getId()).orElseThrow());
+        assertEquals("Salade", salad.getName());
+        assertTrue(salad.isAvailable());
+        assertFalse(restaurant.modifyDish(UUID.randomUUID(), "Autre", null, null, null, null));
+    }
+
+    @Test
+    void shouldSummarizeDietTypesAndCategoriesAsMasks() {
+        Restaurant restaurant = new Restaurant("Test", "Address");
+        Dish bowl = Dish.builder().name("Bowl").price(new BigDecimal("9.00"))
+                .category(DishCategory.VEGETARIAN).addDietType(DietType.VEGAN).addDietType(DietType.VEGETARIAN).build();
+        Dish cake = Dish.builder().name("Gâteau").price(new BigDecimal("3.00"))
+                .category(DishCategory.DESSERT).addDietType(DietType.VEGETARIAN).available(false).build();
+        restaurant.addDish(bowl);
+        restaurant.addDish(cake);
+
+        MenuSnapshot menu = restaurant.getMenuSnapshot();
+
+        assertEquals(Dish.bit(DietType.VEGAN) | Dish.bit(DietType.VEGETARIAN), bowl.getDietTypeMask());
+        assertEquals(Dish.bit(DishCategory.VEGETARIAN) | Dish.bit(DishCategory.DESSERT), menu.categoryMask());
+        assertTrue(menu.offersCategory(DishCategory.VEGETARIAN));
+        assertFalse(menu.offersCategory(DishCategory.DESSERT));
+        assertTrue(menu.offersDietType(DietType.VEGAN));
+
+        restaurant.setDishAvailability(bowl.getId(), false);
+
+        assertFalse(restaurant.getMenuSnapshot().offersDietType(DietType.VEGETARIAN));
+        assertEquals(0, restaurant.getMenuSnapshot().availableCategoryMask());
+        assertEquals(EnumSet.of(DietType.VEGAN, DietType.VEGETARIAN), restaurant.getMenuSnapshot().dietTypes());
+    }
+
+    @Test
+    void shouldReplaceWholeMenuInOneSnapshot() {
+        Restaurant restaurant = new Restaurant("Bistrot", "Bâtiment D");
+        Dish old = Dish.builder().name("Ancien").price(new BigDecimal("5.00")).build();
+        restaurant.addDish(old);
+        List<Dish> events = new ArrayList<>();
+        restaurant.addListener(new RestaurantListener() {
+            @Override
+            public void onDishAdded(Restaurant r, Dish dish) {
+                events.add(dish);
+            }
+
+            @Override
+            public void onDishRemoved(Restaurant r, Dish dish) {
+                events.add(dish);
+            }
+        });
+
+        Dish salad = Dish.builder().name("Salade").price(new BigDecimal("6.50")).category(DishCategory.STARTER).build();
+        Dish tart = Dish.builder().name("Tarte").price(new BigDecimal("4.00")).category(DishCategory.DESSERT).build();
+        restaurant.replaceMenu(List.of(salad, tart));
+
+        assertEquals(List.of(salad, tart), restaurant.getMenu());
+        assertEquals(restaurant.getId(), salad.getRestaurantId());
+        assertEquals(restaurant.getId(), tart.getRestaurantId());
+        assertFalse(restaurant.getMenuSnapshot().containsDish(old.getId()));
+        // Notification par défaut : retrait des anciens plats puis ajout des nouveaux
+        assertEquals(List.of(old, salad, tart), events);
+    }
+
+    @Test
+    void shouldLeaveMenuUnchangedWhenReplacementHasDuplicates() {
+        Restaurant restaurant = new Restaurant("Bistrot", "Bâtiment D");
+        Dish salad = Dish.builder().name("Salade").price(new BigDecimal("6.50")).build();
+        restaurant.addDish(salad);
+        MenuSnapshot before = restaurant.getMenuSnapshot();
+
+        Dish first = Dish.builder().name("Soupe").price(new BigDecimal("3.00")).build();
+        Dish sameName = Dish.builder().name("Soupe").price(new BigDecimal("3.50")).build();
+        assertThrows(IllegalArgumentException.class, () -> restaurant.replaceMenu(List.of(first, sameName)));
+        assertThrows(IllegalArgumentException.class, () -> restaurant.replaceMenu(List.of(first, first)));
+        assertThrows(IllegalArgumentException.class, () -> restaurant.replaceMenu(Arrays.asList(first, null)));
+
+        assertSame(before, restaurant.getMenuSnapshot());
+        assertNull(first.getRestaurantId());
+    }
+}
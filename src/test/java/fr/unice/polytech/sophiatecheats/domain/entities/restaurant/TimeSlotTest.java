@@ -5,7 +5,15 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -454,4 +462,171 @@ class TimeSlotTest {
         assertTrue(result.contains("0/5")); // current/max capacity
         assertTrue(result.contains("available=true"));
     }
+
+    @Test
+    void concurrent_reservations_should_never_overbook_slot() throws Exception {
+        // Given - un créneau de 50 places attaqué par 16 threads × 200 tentatives
+        int capacity = 50;
+        int threads = 16;
+        int attemptsPerThread = 200;
+        TimeSlot slot = new TimeSlot(UUID.randomUUID(), LocalTime.of(12, 0), LocalDateTime.now().plusDays(1), capacity);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+
+        // When
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < attemptsPerThread; i++) {
+                if (i % 2 == 0) {
+                    if (slot.reserve()) {
+                        successes.incrementAndGet();
+                    } else {
+                        rejections.incrementAndGet();
+                    }
+                } else {
+                    try {
+                        slot.reserveOrThrow();
+                        successes.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejections.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        // Then
+        assertEquals(capacity, successes.get());
+        assertEquals(capacity, slot.getReservedCount());
+        assertTrue(slot.isFull());
+        assertEquals(threads * attemptsPerThread, successes.get() + rejections.get());
+    }
+
+    @Test
+    void concurrent_reserve_release_and_capacity_changes_should_keep_invariants() throws Exception {
+        // Given
+        int capacity = 20;
+        TimeSlot slot = new TimeSlot(UUID.randomUUID(), LocalTime.of(12, 0), LocalDateTime.now().plusDays(1), capacity);
+        AtomicInteger held = new AtomicInteger();
+
+        // When - réservations, libérations et changements de capacité concurrents
+        runConcurrently(12, () -> {
+            for (int i = 0; i < 2_000; i++) {
+                if (slot.reserve()) {
+                    held.incrementAndGet();
+                    assertTrue(slot.getReservedCount() <= slot.getMaxCapacity());
+                    held.decrementAndGet();
+                    slot.release();
+                }
+                if (i % 100 == 0) {
+                    try {
+                        slot.setMaxCapacity(capacity + (i % 3));
+                    } catch (ValidationException ignored) {
+                        // capacité inférieure aux réservations en cours : refus attendu
+                    }
+                }
+            }
+        });
+
+        // Then
+        assertEquals(0, held.get());
+        assertEquals(0, slot.getReservedCount());
+        assertTrue(slot.getMaxCapacity() >= capacity);
+        assertThrows(ValidationException.class, slot::release);
+    }
+
+    @Test
+    void reservations_concurrent_with_state_rebinding_should_not_be_lost() throws Exception {
+        // Given
+        TimeSlot slot = new TimeSlot(UUID.randomUUID(), LocalTime.of(12, 0), LocalDateTime.now().plusDays(1), 100_000);
+        AtomicInteger successes = new AtomicInteger();
+
+        // When - le stockage de l'état change pendant les réservations
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 2_000; i++) {
+                if (slot.reserve()) {
+                    successes.incrementAndGet();
+                }
+                if (i % 50 == 0) {
+                    slot.bindState(SlotState.inMemory(0));
+                }
+            }
+        });
+
+        // Then
+        assertEquals(8 * 2_000, successes.get());
+        assertEquals(successes.get(), slot.getReservedCount());
+        assertEquals(100_000, slot.getMaxCapacity());
+    }
+
+    @Test
+    void failed_state_rebinding_should_keep_the_slot_usable() {
+        // Given
+        TimeSlot slot = new TimeSlot(UUID.randomUUID(), LocalTime.of(12, 0), LocalDateTime.now().plusDays(1), 10);
+        slot.reserve();
+        SlotState full = new SlotState() {
+            @Override
+            public long get() {
+                return 0;
+            }
+
+            @Override
+            public void set(long value) {
+                throw new IllegalStateException("segment plein");
+            }
+
+            @Override
+            public boolean compareAndSet(long expected, long updated) {
+                return false;
+            }
+        };
+
+        // When
+        assertThrows(IllegalStateException.class, () -> slot.bindState(full));
+
+        // Then - l'ancien stockage reste utilisable
+        assertTrue(slot.reserve());
+        slot.release();
+        assertEquals(1, slot.getReservedCount());
+    }
+
+    @Test
+    void deactivated_slot_should_reject_concurrent_reservations() throws Exception {
+        // Given
+        TimeSlot slot = new TimeSlot(UUID.randomUUID(), LocalTime.of(12, 0), LocalDateTime.now().plusDays(1), 100);
+        slot.deactivate();
+        AtomicInteger successes = new AtomicInteger();
+
+        // When
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 100; i++) {
+                if (slot.reserve()) {
+                    successes.incrementAndGet();
+                }
+            }
+        });
+
+        // Then
+        assertEquals(0, successes.get());
+        assertEquals(0, slot.getReservedCount());
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
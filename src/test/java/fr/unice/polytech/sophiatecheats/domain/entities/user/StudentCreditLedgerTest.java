@@ -0,0 +1,125 @@
+package fr.unice.polytech.sophiatecheats.domain.entities.user;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.InsufficientCreditException;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.PaymentResult;
+import fr.unice.polytech.sophiatecheats.domain.services.payment.StudentCreditStrategy;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryUserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentCreditLedgerTest {
+
+    @Test
+    void should_debit_only_when_balance_covers_amount() {
+        StudentCreditLedger ledger = new StudentCreditLedger();
+        User student = new User(UUID.randomUUID(), "dora@etu.unice.fr", "Dora", new BigDecimal("10.00"));
+        ledger.register(student);
+
+        assertTrue(ledger.tryDebit(student, Money.ofCents(750)));
+        assertFalse(ledger.tryDebit(student, Money.ofCents(251)));
+        assertTrue(ledger.tryDebit(student, Money.ofCents(250)));
+        assertEquals(Money.ZERO, ledger.balance(student));
+        assertThrows(IllegalArgumentException.class, () -> ledger.tryDebit(student, Money.ZERO));
+
+        // Utilisateur jamais sauvegardé : débité sur son propre compte
+        User guest = new User(UUID.randomUUID(), "eve@etu.unice.fr", "Eve", new BigDecimal("1.00"));
+        assertFalse(ledger.tryDebit(guest, Money.ofCents(101)));
+        assertTrue(ledger.tryDebit(guest, Money.ofCents(100)));
+        assertEquals(new BigDecimal("0.00"), guest.getStudentCredit());
+    }
+
+    @Test
+    void another_instance_of_a_stored_user_should_debit_the_stored_account() {
+        StudentCreditLedger ledger = new StudentCreditLedger();
+        InMemoryUserRepository repository = new InMemoryUserRepository(false, ledger);
+        User student = repository.save(new User(UUID.randomUUID(), "carl@etu.unice.fr", "Carl", new BigDecimal("20.00")));
+        student.deductCredit(new BigDecimal("4.50"));
+
+        // Un autre objet avec le même identifiant (rejeu, reconstruction) débite le compte stocké
+        User copy = new User(student.getId(), "carl@etu.unice.fr", "Carl", BigDecimal.ZERO);
+        assertSame(student.getCreditAccount(), ledger.accountOf(copy));
+        PaymentResult payment = new StudentCreditStrategy(ledger).processPayment(new BigDecimal("5.50"), copy);
+        assertTrue(payment.success());
+        assertEquals(Money.of("10.00"), ledger.balance(copy));
+        assertEquals(new BigDecimal("10.00"), student.getStudentCredit());
+
+        assertTrue(repository.deleteById(student.getId()));
+        assertEquals(0, ledger.size());
+        assertThrows(ArithmeticException.class, () ->
+                new CreditAccount(Money.ofCents(Long.MAX_VALUE)).deposit(Money.ofCents(1)));
+    }
+
+    @Test
+    void balance_should_never_go_negative_under_parallel_orders() throws Exception {
+        User student = new User(UUID.randomUUID(), "alice@etu.unice.fr", "Alice", new BigDecimal("100.00"));
+        StudentCreditStrategy strategy = new StudentCreditStrategy();
+        BigDecimal orderTotal = new BigDecimal("7.50");
+        int orders = 200;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < orders; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    PaymentResult result = strategy.processPayment(orderTotal, student);
+                    if (result.success()) {
+                        accepted.incrementAndGet();
+                    }
+                    assertTrue(student.getStudentCredit().signum() >= 0);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 100,00 € couvrent exactement 13 commandes de 7,50 €
+        assertEquals(13, accepted.get());
+        assertEquals(new BigDecimal("2.50"), student.getStudentCredit());
+    }
+
+    @Test
+    void deductCredit_should_reject_concurrent_overdraft() throws Exception {
+        User student = new User(UUID.randomUUID(), "bob@etu.unice.fr", "Bob", new BigDecimal("5.00"));
+        AtomicInteger refused = new AtomicInteger();
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    try {
+                        student.deductCredit(new BigDecimal("0.01"));
+                    } catch (InsufficientCreditException e) {
+                        refused.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(300, refused.get());
+        assertEquals(new BigDecimal("0.00"), student.getStudentCredit());
+    }
+}
@@ -22,7 +22,7 @@ class UserTest {
         assertNotNull(user.getId());
         assertEquals(email, user.getEmail());
         assertEquals(name, user.getName());
-        assertEquals(BigDecimal.ZERO, user.getStudentCredit());
+        assertEquals(new BigDecimal("0.00"), user.getStudentCredit());
     }
 
     @Test
@@ -66,7 +66,7 @@ class UserTest {
         user.addCredit(negativeCredit);
 
         // Then
-        assertEquals(BigDecimal.ZERO, user.getStudentCredit());
+        assertEquals(new BigDecimal("0.00"), user.getStudentCredit());
     }
 
     @Test
@@ -1,5 +1,8 @@
 package fr.unice.polytech.sophiatecheats.domain.repositories;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.DishLocation;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.DuplicateRestaurantException;
 import fr.unice.polytech.sophiatecheats.domain.exceptions.RestaurantValidationException;
@@ -7,6 +10,8 @@ import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMem
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,4 +61,68 @@ class RestaurantRepositoryTest {
     void testFindByIdReturnsEmptyIfNotFound() {
         assertTrue(repo.findById(UUID.randomUUID()).isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindDishLocationReturnsDishAndRestaurant() {
+        Restaurant r = new Restaurant("CROUS", "Valbonne");
+        Dish dish = dish("Lasagnes");
+        r.addDish(dish);
+        repo.save(r);
+
+        Optional<DishLocation> location = repo.findDishLocation(dish.getId());
+        assertTrue(location.isPresent());
+        assertSame(r, location.get().restaurant());
+        assertSame(dish, location.get().dish());
+    }
+
+    @Test
+    void testFindDishLocationFollowsMenuMutations() {
+        Restaurant r = new Restaurant("CROUS", "Valbonne");
+        repo.save(r);
+
+        Dish added = dish("Lasagnes");
+        r.addDish(added);
+        assertTrue(repo.findDishLocation(added.getId()).isPresent());
+
+        r.modifyDishPrice(added.getId(), new BigDecimal("9.90"));
+        DishLocation modified = repo.findDishLocation(added.getId()).orElseThrow();
+        assertEquals(Money.of("9.90"), modified.dish().getPrice());
+
+        r.removeDish(added.getId());
+        assertTrue(repo.findDishLocation(added.getId()).isEmpty());
+    }
+
+    @Test
+    void testFindDishLocationFollowsRestaurantReplacementAndDeletion() {
+        Restaurant r = new Restaurant("CROUS", "Valbonne");
+        Dish dish = dish("Lasagnes");
+        r.addDish(dish);
+        repo.save(r);
+
+        Restaurant renamed = new Restaurant(r.getId(), "CROUS Templiers", r.getAddress(),
+                r.getSchedule(), r.isOpen(), r.getMenu(), r.getDeliverySchedule());
+        repo.save(renamed);
+        assertSame(renamed, repo.findDishLocation(dish.getId()).orElseThrow().restaurant());
+
+        // L'ancienne instance n'est plus suivie par l'index
+        r.removeDish(dish.getId());
+        assertTrue(repo.findDishLocation(dish.getId()).isPresent());
+
+        repo.delete(renamed);
+        assertTrue(repo.findDishLocation(dish.getId()).isEmpty());
+    }
+
+    @Test
+    void testFindDishLocationReturnsEmptyForUnknownOrNullDish() {
+        assertTrue(repo.findDishLocation(UUID.randomUUID()).isEmpty());
+        assertTrue(repo.findDishLocation(null).isEmpty());
+    }
+
+    private static Dish dish(String name) {
+        return Dish.builder()
+                .name(name)
+                .description("Plat du jour")
+                .price(new BigDecimal("7.50"))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package fr.unice.polytech.sophiatecheats.domain.services;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentDeadlineWheelTest {
+
+    private PaymentDeadlineWheel wheel;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new PaymentDeadlineWheel(Duration.ofMinutes(5), Duration.ofSeconds(1), 8);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void should_return_only_due_deadlines() {
+        wheel.schedule("due", now.plusSeconds(2));
+        wheel.schedule("later", now.plusMinutes(3));
+
+        assertEquals(List.of(), wheel.pollDue(now));
+        assertEquals(List.of("due"), wheel.pollDue(now.plusSeconds(3)));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("later"), wheel.pollDue(now.plusMinutes(4)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void should_keep_deadlines_of_later_rounds_in_their_bucket() {
+        // 8 seaux d'une seconde : 9 s et 1 s tombent dans le même seau
+        wheel.schedule("first-round", now.plusSeconds(1));
+        wheel.schedule("second-round", now.plusSeconds(9));
+
+        assertEquals(List.of("first-round"), wheel.pollDue(now.plusSeconds(2)));
+        assertEquals(List.of(), wheel.pollDue(now.plusSeconds(5)));
+        assertEquals(List.of("second-round"), wheel.pollDue(now.plusSeconds(10)));
+    }
+
+    @Test
+    void should_fire_past_deadlines_at_next_poll() {
+        wheel.pollDue(now.plusSeconds(10));
+        wheel.schedule("late", now);
+
+        assertEquals(List.of("late"), wheel.pollDue(now.plusSeconds(11)));
+    }
+
+    @Test
+    void should_cancel_and_reschedule() {
+        wheel.schedule("order", now.plusSeconds(1));
+        assertTrue(wheel.cancel("order"));
+        assertFalse(wheel.cancel("order"));
+        assertEquals(List.of(), wheel.pollDue(now.plusSeconds(2)));
+
+        wheel.schedule("order", now.plusSeconds(3));
+        wheel.schedule("order", now.plusSeconds(6));
+        assertEquals(List.of(), wheel.pollDue(now.plusSeconds(4)));
+        assertEquals(List.of("order"), wheel.pollDue(now.plusSeconds(7)));
+    }
+
+    @Test
+    void should_cancel_deadline_when_order_leaves_pending() {
+        Order paid = startedOrder();
+        Order confirmed = startedOrder();
+        wheel.schedule(paid);
+        wheel.schedule(confirmed);
+        assertEquals(2, wheel.size());
+
+        paid.markAsPaid();
+        confirmed.confirm();
+
+        assertEquals(0, wheel.size());
+        assertEquals(List.of(), wheel.pollDue(now.plusMinutes(10)));
+    }
+
+    @Test
+    void should_reject_order_without_started_payment() {
+        Order order = new Order(new User("bob@etu.unice.fr", "Bob"), new Restaurant("CROUS", "Valbonne"),
+                Collections.emptyList(), PaymentMethod.EXTERNAL_CARD);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(order));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PaymentDeadlineWheel(Duration.ofMinutes(5), Duration.ZERO, 8));
+    }
+
+    private Order startedOrder() {
+        Order order = new Order(new User("bob@etu.unice.fr", "Bob"), new Restaurant("CROUS", "Valbonne"),
+                Collections.emptyList(), PaymentMethod.EXTERNAL_CARD);
+        order.assignDeliverySlot(UUID.randomUUID(), now.plusHours(1));
+        order.startPaymentTimeout();
+        return order;
+    }
+}
@@ -0,0 +1,104 @@
+package fr.unice.polytech.sophiatecheats.domain.services;
+
+import fr.unice.polytech.sophiatecheats.application.dto.restaurant.RestaurantDto;
+import fr.unice.polytech.sophiatecheats.application.dto.user.request.BrowseRestaurantsRequest;
+import fr.unice.polytech.sophiatecheats.application.usecases.user.BrowseRestaurantsUseCase;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantLocksTest {
+
+    private static final int MENU_SIZE = 20;
+
+    @Test
+    void readers_should_never_see_a_half_modified_menu() throws Exception {
+        RestaurantLocks locks = new RestaurantLocks(4);
+        InMemoryRestaurantRepository repository = new InMemoryRestaurantRepository(false);
+        RestaurantService service = new RestaurantService(repository, locks);
+        BrowseRestaurantsUseCase browse = new BrowseRestaurantsUseCase(repository);
+
+        Restaurant restaurant = new Restaurant("CROUS", "Valbonne");
+        List<UUID> dishIds = new ArrayList<>();
+        for (int i = 0; i < MENU_SIZE; i++) {
+            Dish dish = Dish.builder().name("Plat " + i).price(new BigDecimal("5.00")).build();
+            restaurant.addDish(dish);
+            dishIds.add(dish.getId());
+        }
+        repository.save(restaurant);
+        UUID restaurantId = restaurant.getId();
+        BrowseRestaurantsRequest request = new BrowseRestaurantsRequest(null, null, null, null, null, null);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                int offset = w;
+                // Chaque modification remplace le plat : un lecteur ne doit jamais voir 19 plats
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        UUID dishId = dishIds.get((i * 2 + offset) % MENU_SIZE);
+                        service.updateDishPrice(restaurantId, dishId, BigDecimal.valueOf(500 + i % 100, 2));
+                        service.updateDishCategory(restaurantId, dishId, DishCategory.values()[i % DishCategory.values().length]);
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    long reads = 0;
+                    while (running.get() || reads == 0) {
+                        assertEquals(MENU_SIZE, service.getRestaurantMenu(restaurantId).size());
+                        List<RestaurantDto> browsed = browse.execute(request).restaurants();
+                        assertEquals(1, browsed.size());
+                        assertEquals(MENU_SIZE, browsed.get(0).dishes().size());
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertEquals(MENU_SIZE, repository.findById(restaurantId).orElseThrow().getMenu().size());
+    }
+
+    @Test
+    void locks_should_reject_a_missing_restaurant_id() {
+        RestaurantLocks locks = new RestaurantLocks(1);
+
+        assertThrows(IllegalArgumentException.class, () -> locks.readLocked(null, () -> "x"));
+        assertThrows(IllegalArgumentException.class, () -> locks.write(null, () -> "x"));
+    }
+}
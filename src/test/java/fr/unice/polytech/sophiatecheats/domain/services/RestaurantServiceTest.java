@@ -1,5 +1,6 @@
 package fr.unice.polytech.sophiatecheats.domain.services;
 
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
 import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
@@ -293,7 +294,7 @@ class RestaurantServiceTest {
         Dish modified = r.getMenu().getFirst();
         assertEquals("Pasta", modified.getName());
         assertEquals("Yummy", modified.getDescription());
-        assertEquals(BigDecimal.valueOf(9.5), modified.getPrice());
+        assertEquals(Money.of(BigDecimal.valueOf(9.5)), modified.getPrice());
         assertEquals(DishCategory.STARTER, modified.getCategory());
     }
 
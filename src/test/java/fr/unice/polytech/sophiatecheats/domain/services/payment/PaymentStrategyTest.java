@@ -6,6 +6,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -241,6 +246,55 @@ class PaymentStrategyTest {
             "Taux d'échec attendu ~5%, obtenu: " + (failureRate * 100) + "%");
     }
 
+    @Test
+    void externalCard_async_payment_should_run_on_virtual_thread() throws Exception {
+        // Given
+        ExternalCardStrategy strategy = new ExternalCardStrategy();
+        strategy.setAlwaysSucceed(true);
+        BigDecimal amount = new BigDecimal("12.00");
+
+        // When
+        CompletableFuture<Boolean> virtual = strategy.processPaymentAsync(amount, testUser)
+            .thenApply(result -> result.success() && Thread.currentThread().isVirtual());
+
+        // Then
+        assertTrue(virtual.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void externalCard_should_sustain_many_concurrent_async_payments() throws Exception {
+        // Given - 1000 paiements de 100 ms : plus de 100 s s'ils étaient traités à la suite
+        ExternalCardStrategy strategy = new ExternalCardStrategy();
+        strategy.setAlwaysSucceed(true);
+        List<CompletableFuture<PaymentResult>> payments = new ArrayList<>();
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            payments.add(strategy.processPaymentAsync(new BigDecimal("5.00"), testUser));
+        }
+        CompletableFuture.allOf(payments.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertTrue(payments.stream().allMatch(payment -> payment.join().success()));
+        assertTrue(elapsedMillis < 10_000, "Paiements concurrents trop lents: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void studentCredit_async_payment_should_complete_immediately() {
+        // Given
+        PaymentStrategy strategy = new StudentCreditStrategy();
+
+        // When
+        CompletableFuture<PaymentResult> payment = strategy.processPaymentAsync(new BigDecimal("20.00"), testUser);
+
+        // Then
+        assertTrue(payment.isDone());
+        assertTrue(payment.join().success());
+        assertEquals(new BigDecimal("30.00"), testUser.getStudentCredit());
+    }
+
     // ========== Tests PaymentStrategyFactory ==========
 
     @Test
@@ -296,5 +350,43 @@ class PaymentStrategyTest {
         }
         return false;
     }
-}
 
+    // ========== Tests PaymentStrategyRegistry ==========
+
+    @Test
+    void factory_should_reuse_shared_strategy_instances() {
+        assertSame(PaymentStrategyFactory.createStrategy(PaymentMethod.EXTERNAL_CARD),
+            PaymentStrategyFactory.createStrategy(PaymentMethod.EXTERNAL_CARD));
+        assertSame(PaymentStrategyFactory.defaultRegistry().get(PaymentMethod.STUDENT_CREDIT),
+            PaymentStrategyFactory.createStrategy(PaymentMethod.STUDENT_CREDIT));
+    }
+
+    @Test
+    void registry_configuration_should_apply_to_registered_instance() {
+        // Given
+        PaymentStrategyRegistry registry = new PaymentStrategyRegistry();
+        ExternalCardStrategy card = registry.get(PaymentMethod.EXTERNAL_CARD, ExternalCardStrategy.class);
+
+        // When
+        card.setServiceAvailable(false);
+
+        // Then
+        assertFalse(registry.get(PaymentMethod.EXTERNAL_CARD).isAvailable());
+        assertThrows(IllegalArgumentException.class,
+            () -> registry.get(PaymentMethod.STUDENT_CREDIT, ExternalCardStrategy.class));
+    }
+
+    @Test
+    void registry_should_reject_unsupported_method() {
+        // Given
+        PaymentStrategyRegistry registry = new PaymentStrategyRegistry(
+            Map.of(PaymentMethod.STUDENT_CREDIT, new StudentCreditStrategy()));
+
+        // Then
+        assertTrue(registry.isSupported(PaymentMethod.STUDENT_CREDIT));
+        assertFalse(registry.isSupported(PaymentMethod.EXTERNAL_CARD));
+        assertArrayEquals(new PaymentMethod[]{PaymentMethod.STUDENT_CREDIT}, registry.getSupportedMethods());
+        assertThrows(IllegalArgumentException.class, () -> registry.get(PaymentMethod.EXTERNAL_CARD));
+        assertThrows(IllegalArgumentException.class, () -> new PaymentStrategyRegistry(Map.of()));
+    }
+}
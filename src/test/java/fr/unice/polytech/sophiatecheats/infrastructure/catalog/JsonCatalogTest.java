@@ -0,0 +1,135 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.catalog;
+
+import fr.unice.polytech.sophiatecheats.SophiaTechEatsApplication;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Schedule;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantRepository;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCatalogTest {
+
+    @TempDir
+    Path directory;
+
+    private final JsonCatalog catalog = new JsonCatalog();
+
+    @Test
+    void should_round_trip_restaurants_menus_schedules_and_diet_types() {
+        Restaurant restaurant = Restaurant.builder()
+                .name("Le Végétal")
+                .address("Bâtiment B")
+                .isOpen(false)
+                .restaurantType(RestaurantType.FOOD_TRUCK)
+                .cuisineType(DishCategory.MAIN_COURSE)
+                .schedule(new Schedule(LocalTime.of(11, 30), LocalTime.of(14, 15)))
+                .build();
+        restaurant.addDish(Dish.builder()
+                .name("Bowl \"quinoa\"")
+                .description("Quinoa, avocat")
+                .price(new BigDecimal("9.90"))
+                .category(DishCategory.MAIN_COURSE)
+                .dietTypes(EnumSet.of(DietType.VEGAN, DietType.GLUTEN_FREE))
+                .build());
+        restaurant.addDish(Dish.builder().name("Café").price(new BigDecimal("1.20"))
+                .category(DishCategory.BEVERAGE).available(false).build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(new JsonCatalog.Stats(1, 2), catalog.write(List.of(restaurant), out));
+
+        List<Restaurant> restored = new ArrayList<>();
+        assertEquals(new JsonCatalog.Stats(1, 2), catalog.read(new ByteArrayInputStream(out.toByteArray()), restored::add));
+
+        Restaurant copy = restored.get(0);
+        assertEquals(restaurant.getId(), copy.getId());
+        assertEquals("Le Végétal", copy.getName());
+        assertEquals("Bâtiment B", copy.getAddress());
+        assertFalse(copy.isOpen());
+        assertEquals(RestaurantType.FOOD_TRUCK, copy.getRestaurantType());
+        assertEquals(DishCategory.MAIN_COURSE, copy.getCuisineType());
+        assertEquals(restaurant.getSchedule(), copy.getSchedule());
+        assertEquals(2, copy.getMenu().size());
+        for (int i = 0; i < 2; i++) {
+            Dish expected = restaurant.getMenu().get(i);
+            Dish actual = copy.getMenu().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getPrice(), actual.getPrice());
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.isAvailable(), actual.isAvailable());
+            assertEquals(expected.getDietTypes(), actual.getDietTypes());
+            assertEquals(copy.getId(), actual.getRestaurantId());
+        }
+    }
+
+    @Test
+    void should_ignore_unknown_fields_and_reject_invalid_content() {
+        String json = """
+                {"version": 1, "generator": {"name": "outil"}, "restaurants": [
+                  {"name": "Crêperie", "address": "Parking Nord", "rating": [5, 4],
+                   "menu": [{"name": "Galette", "price": 7, "extra": null}]}
+                ]}""";
+        List<Restaurant> restored = new ArrayList<>();
+        assertEquals(new JsonCatalog.Stats(1, 1), catalog.read(stream(json), restored::add));
+        assertEquals(Schedule.defaultSchedule(), restored.get(0).getSchedule());
+        assertEquals(new BigDecimal("7.00"), restored.get(0).getMenu().get(0).getPrice().toBigDecimal());
+
+        assertThrows(IllegalArgumentException.class, () -> catalog.read(stream("""
+                {"version": 2, "restaurants": []}"""), restored::add));
+        assertThrows(IllegalArgumentException.class, () -> catalog.read(stream("""
+                {"version": 1, "restaurants": [{"name": "A", "address": "B", "type": "CANTINE"}]}"""), restored::add));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> catalog.read(stream("""
+                {"version": 1, "restaurants": [{"name": "A", "address": "B", "menu": [
+                  {"name": "Frites", "price": 3}, {"name": "Frites", "price": 4}]}]}"""), restored::add));
+        assertTrue(duplicate.getMessage().contains("ligne 2"));
+    }
+
+    @Test
+    void should_export_and_check_through_the_catalog_subcommand() throws IOException {
+        Path file = directory.resolve("catalogue.json");
+        SophiaTechEatsApplication exporter = new SophiaTechEatsApplication();
+        List<Restaurant> samples = exporter.getConfig().getInstance(RestaurantRepository.class).findAll();
+        assertEquals(0, new CommandLine(exporter).execute("catalog", "export", file.toString()));
+
+        InMemoryRestaurantRepository imported = new InMemoryRestaurantRepository(false);
+        JsonCatalog.Stats stats = catalog.importInto(imported, file);
+        assertEquals(samples.size(), stats.restaurants());
+        assertEquals(samples.stream().mapToInt(restaurant -> restaurant.getMenu().size()).sum(), stats.dishes());
+        samples.forEach(restaurant -> assertEquals(restaurant.getMenu().size(),
+                imported.findById(restaurant.getId()).orElseThrow().getMenu().size()));
+
+        assertEquals(0, new CommandLine(new SophiaTechEatsApplication()).execute("catalog", "check", file.toString()));
+        Path invalid = directory.resolve("invalide.json");
+        Files.writeString(invalid, "{\"version\": 2, \"restaurants\": []}");
+        assertEquals(1, new CommandLine(new SophiaTechEatsApplication()).execute("catalog", "check", invalid.toString()));
+        assertEquals(1, new CommandLine(new SophiaTechEatsApplication()).execute("catalog", "check",
+                directory.resolve("absent.json").toString()));
+
+        assertNotEquals(0, new CommandLine(new SophiaTechEatsApplication()).execute("catalog"));
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
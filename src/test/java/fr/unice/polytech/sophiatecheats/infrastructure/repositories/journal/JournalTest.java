@@ -0,0 +1,182 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_replay_records_in_write_order_after_reopening() {
+        Path file = directory.resolve("test.journal");
+        try (Journal journal = Journal.open(file, record -> fail("journal neuf"))) {
+            journal.append(bytes("un"));
+            journal.append(bytes("deux"));
+            journal.append(bytes("trois"));
+        }
+
+        List<String> replayed = new ArrayList<>();
+        try (Journal journal = Journal.open(file, record -> replayed.add(string(record)))) {
+            journal.append(bytes("quatre"));
+        }
+        assertEquals(List.of("un", "deux", "trois"), replayed);
+
+        replayed.clear();
+        Journal.open(file, record -> replayed.add(string(record))).close();
+        assertEquals(List.of("un", "deux", "trois", "quatre"), replayed);
+    }
+
+    @Test
+    void should_truncate_torn_or_corrupted_tail() throws IOException {
+        Path file = directory.resolve("test.journal");
+        long validLength;
+        try (Journal journal = Journal.open(file, record -> { })) {
+            journal.append(bytes("validé"));
+            validLength = Files.size(file);
+            journal.append(bytes("corrompu"));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            // Un octet altéré dans le second enregistrement, puis un en-tête écrit à moitié
+            raw.seek(validLength + Journal.HEADER_SIZE + 2);
+            raw.write('X');
+            raw.seek(raw.length());
+            raw.write(new byte[]{0, 0, 0});
+        }
+
+        List<String> replayed = new ArrayList<>();
+        try (Journal journal = Journal.open(file, record -> replayed.add(string(record)))) {
+            assertEquals(List.of("validé"), replayed);
+            assertEquals(validLength, Files.size(file));
+            journal.append(bytes("suivant"));
+        }
+
+        replayed.clear();
+        Journal.open(file, record -> replayed.add(string(record))).close();
+        assertEquals(List.of("validé", "suivant"), replayed);
+    }
+
+    @Test
+    void should_keep_every_concurrent_append_with_at_most_one_sync_each() throws Exception {
+        Path file = directory.resolve("test.journal");
+        int threads = 8;
+        int appendsPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long syncs;
+        try (Journal journal = Journal.open(file, record -> { })) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        journal.append(bytes(thread + ":" + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            syncs = journal.syncCount();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<String> replayed = new HashSet<>();
+        Journal.open(file, record -> replayed.add(string(record))).close();
+        assertEquals(threads * appendsPerThread, replayed.size());
+        assertTrue(syncs >= 1 && syncs <= threads * appendsPerThread);
+    }
+
+    @Test
+    void should_encode_the_snapshot_before_letting_new_writes_in() throws Exception {
+        Path file = directory.resolve("store.journal");
+        List<String> state = new CopyOnWriteArrayList<>(List.of("avant"));
+        List<Future<?>> writes = new ArrayList<>();
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try (JournalStore store = new JournalStore(file, record -> fail("magasin neuf"))) {
+            store.snapshot(() -> state, entity -> {
+                Future<?> write = writer.submit(() -> store.write(() -> bytes("après"), () -> state.set(0, "après")));
+                writes.add(write);
+                // L'écriture attend la fin de l'encodage : elle ne peut pas entrer dans l'instantané
+                assertThrows(TimeoutException.class, () -> write.get(100, TimeUnit.MILLISECONDS));
+                return bytes(entity);
+            });
+            writes.get(0).get(5, TimeUnit.SECONDS);
+        } finally {
+            writer.shutdown();
+            assertTrue(writer.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        List<String> replayed = new ArrayList<>();
+        new JournalStore(file, record -> replayed.add(string(record))).close();
+        assertEquals(List.of("avant", "après"), replayed);
+    }
+
+    @Test
+    void should_replay_only_the_tail_after_compaction() {
+        Path file = directory.resolve("test.journal");
+        long covered;
+        try (Journal journal = Journal.open(file, record -> { })) {
+            journal.append(bytes("ancien"));
+            journal.append(bytes("couvert"));
+            covered = journal.endOffset();
+            journal.append(bytes("récent"));
+
+            journal.compact(covered);
+            journal.append(bytes("après"));
+
+            assertEquals(covered, journal.endOffset() - journal.size());
+            assertThrows(IllegalArgumentException.class, () -> journal.compact(covered - 1));
+        }
+
+        List<String> replayed = new ArrayList<>();
+        Journal.open(file, covered, record -> replayed.add(string(record))).close();
+        assertEquals(List.of("récent", "après"), replayed);
+        assertThrows(IllegalStateException.class, () -> Journal.open(file, record -> { }));
+        assertFalse(Files.exists(directory.resolve("test.journal.compact")));
+    }
+
+    @Test
+    void should_reject_empty_records() {
+        try (Journal journal = Journal.open(directory.resolve("test.journal"), record -> { })) {
+            assertThrows(IllegalArgumentException.class, () -> journal.append(new byte[0]));
+            assertEquals(0, journal.size());
+            assertEquals(0, journal.endOffset());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer record) {
+        byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
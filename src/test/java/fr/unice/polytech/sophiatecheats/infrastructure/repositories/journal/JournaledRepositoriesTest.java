@@ -0,0 +1,231 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.journal;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.Money;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.OrderItem;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory.InMemoryRestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledRepositoriesTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryRestaurantRepository restaurants;
+    private Restaurant restaurant;
+    private Dish dish;
+
+    @BeforeEach
+    void setUp() {
+        restaurants = new InMemoryRestaurantRepository(false);
+        restaurant = new Restaurant("CROUS", "Valbonne");
+        dish = Dish.builder().name("Lasagnes").price(new BigDecimal("6.00")).category(DishCategory.MAIN_COURSE).build();
+        restaurant.addDish(dish);
+        restaurants.save(restaurant);
+    }
+
+    @Test
+    void should_restore_users_and_orders_after_restart() {
+        User alice;
+        String orderId;
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            alice = users.save(new User(UUID.randomUUID(), "alice@etu.unice.fr", "Alice", new BigDecimal("20.00")));
+            User bob = users.save(new User("bob@etu.unice.fr", "Bob"));
+
+            Order order = new Order(alice, restaurant, List.of(new OrderItem(dish, 2)), PaymentMethod.STUDENT_CREDIT);
+            alice.deductCredit(new BigDecimal("12.00"));
+            users.save(alice);
+            order.markAsPaid();
+            orders.save(order);
+            orderId = order.getOrderId();
+
+            users.deleteById(bob.getId());
+            // Modification non sauvegardée : elle n'est pas durable
+            order.confirm();
+        }
+        // Solde perdu en mémoire, relu depuis le journal
+        alice.setStudentCredit(BigDecimal.ZERO);
+
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            assertEquals(1, users.count());
+            assertEquals(0, new BigDecimal("8.00").compareTo(users.findById(alice.getId()).orElseThrow().getStudentCredit()));
+            assertTrue(users.findByEmail("bob@etu.unice.fr").isEmpty());
+
+            Order restored = orders.findById(orderId).orElseThrow();
+            assertEquals(OrderStatus.PAID, restored.getStatus());
+            assertSame(restaurant, restored.getRestaurant());
+            assertSame(dish, restored.getOrderItems().get(0).getDish());
+            assertEquals(Money.of("12.00"), restored.getTotalAmount());
+            assertTrue(orders.existsActiveOrderByUserId(alice.getId()));
+            assertEquals(List.of(restored), orders.findAllByStatus(OrderStatus.PAID));
+
+            restored.confirm();
+            orders.save(restored);
+        }
+
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            assertEquals(OrderStatus.CONFIRMED, orders.findById(orderId).orElseThrow().getStatus());
+            assertFalse(orders.existsActiveOrderByUserId(alice.getId()));
+        }
+    }
+
+    @Test
+    void should_recover_a_credit_debit_journaled_only_with_its_order() {
+        UUID aliceId = UUID.randomUUID();
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            User alice = users.save(new User(aliceId, "alice@etu.unice.fr", "Alice", new BigDecimal("20.00")));
+            alice.deductCredit(new BigDecimal("12.00"));
+            Order order = new Order(alice, restaurant, List.of(new OrderItem(dish, 2)), PaymentMethod.STUDENT_CREDIT);
+            order.markAsPaid();
+            orders.save(order);
+            // Arrêt avant la sauvegarde de l'utilisateur
+        }
+
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            assertEquals(0, new BigDecimal("8.00").compareTo(users.findById(aliceId).orElseThrow().getStudentCredit()));
+            assertSame(users.findById(aliceId).orElseThrow(), orders.findAll().get(0).getUser());
+
+            // Un état plus ancien porté par la commande ne remplace pas un solde plus récent
+            users.findById(aliceId).orElseThrow().addCredit(new BigDecimal("5.00"));
+            users.save(users.findById(aliceId).orElseThrow());
+        }
+
+        // Le débit a été reporté dans le journal des utilisateurs
+        try (JournaledUserRepository users = openUsers()) {
+            assertEquals(0, new BigDecimal("13.00").compareTo(users.findById(aliceId).orElseThrow().getStudentCredit()));
+        }
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            // Rejouer la commande, qui porte un solde plus ancien, ne fait pas reculer le compte
+            assertSame(users.findById(aliceId).orElseThrow(), orders.findAll().get(0).getUser());
+            assertEquals(0, new BigDecimal("13.00").compareTo(users.findById(aliceId).orElseThrow().getStudentCredit()));
+        }
+    }
+
+    @Test
+    void should_keep_paid_prices_and_rebuild_missing_restaurant() {
+        String orderId;
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            User alice = users.save(new User("alice@etu.unice.fr", "Alice"));
+            Order order = orders.save(new Order(alice, restaurant, List.of(new OrderItem(dish, 3)), PaymentMethod.EXTERNAL_CARD));
+            orderId = order.getOrderId();
+        }
+        restaurant.modifyDishPrice(dish.getId(), new BigDecimal("9.00"));
+        restaurants.delete(restaurant);
+
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            Order restored = orders.findById(orderId).orElseThrow();
+            assertEquals(restaurant.getId(), restored.getRestaurant().getId());
+            assertEquals("CROUS", restored.getRestaurant().getName());
+            assertFalse(restored.getRestaurant().isOpen());
+
+            OrderItem item = restored.getOrderItems().get(0);
+            assertEquals(dish.getId(), item.getDish().getId());
+            assertFalse(item.getDish().isAvailable());
+            assertEquals(Money.of("6.00"), item.getUnitPrice());
+            assertEquals(Money.of("18.00"), item.getTotalPrice());
+            assertEquals(PaymentMethod.EXTERNAL_CARD, restored.getPaymentMethod());
+        }
+    }
+
+    @Test
+    void should_restart_from_snapshot_and_journal_tail() {
+        User alice;
+        String first;
+        String second;
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            alice = users.save(new User(UUID.randomUUID(), "alice@etu.unice.fr", "Alice", new BigDecimal("30.00")));
+            first = orders.save(new Order(alice, restaurant, List.of(new OrderItem(dish, 1)), PaymentMethod.STUDENT_CREDIT)).getOrderId();
+            for (int i = 0; i < 20; i++) {
+                alice.deductCredit(new BigDecimal("0.50"));
+                users.save(alice);
+            }
+
+            try (JournalCompactor compactor = new JournalCompactor(List.of(users, orders), Duration.ofHours(1), 1)) {
+                assertEquals(2, compactor.compact());
+                assertEquals(0, compactor.compact());
+            }
+            assertEquals(0, users.journalSize());
+            assertEquals(0, orders.journalSize());
+
+            // Écritures après l'instantané : seules elles seront rejouées
+            alice.deductCredit(new BigDecimal("1.00"));
+            users.save(alice);
+            Order order = orders.findById(first).orElseThrow();
+            order.markAsPaid();
+            orders.save(order);
+            second = orders.save(new Order(alice, restaurant, List.of(new OrderItem(dish, 2)), PaymentMethod.EXTERNAL_CARD)).getOrderId();
+        }
+        alice.setStudentCredit(BigDecimal.ZERO);
+
+        try (JournaledUserRepository users = openUsers();
+             JournaledOrderRepository orders = openOrders(users)) {
+            assertEquals(0, new BigDecimal("19.00").compareTo(users.findById(alice.getId()).orElseThrow().getStudentCredit()));
+            assertEquals(OrderStatus.PAID, orders.findById(first).orElseThrow().getStatus());
+            assertEquals(OrderStatus.PENDING, orders.findById(second).orElseThrow().getStatus());
+            assertEquals(2, orders.size());
+        }
+    }
+
+    @Test
+    void should_expose_a_periodic_compaction_failure_and_compact_the_other_journals() throws InterruptedException {
+        IllegalStateException failure = new IllegalStateException("disque plein");
+        Snapshottable failing = new Snapshottable() {
+            @Override
+            public void snapshot() {
+                throw failure;
+            }
+
+            @Override
+            public long journalSize() {
+                return 1;
+            }
+        };
+        try (JournaledUserRepository users = openUsers();
+             JournalCompactor compactor = new JournalCompactor(List.of(failing, users), Duration.ofMillis(5), 1)) {
+            users.save(new User(UUID.randomUUID(), "bob@etu.unice.fr", "Bob", new BigDecimal("10.00")));
+            assertTrue(compactor.lastFailure().isEmpty());
+
+            compactor.start();
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while ((compactor.lastFailure().isEmpty() || users.journalSize() > 0) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertSame(failure, compactor.lastFailure().orElseThrow());
+            assertEquals(0, users.journalSize());
+        }
+    }
+
+    private JournaledUserRepository openUsers() {
+        return new JournaledUserRepository(directory.resolve("users.journal"));
+    }
+
+    private JournaledOrderRepository openOrders(JournaledUserRepository users) {
+        return new JournaledOrderRepository(directory.resolve("orders.journal"), users, restaurants);
+    }
+}
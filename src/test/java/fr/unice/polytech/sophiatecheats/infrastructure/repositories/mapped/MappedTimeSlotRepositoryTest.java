@@ -0,0 +1,137 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.mapped;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.TimeSlot;
+import fr.unice.polytech.sophiatecheats.domain.services.DeliveryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTimeSlotRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private final UUID restaurantId = UUID.randomUUID();
+    private final LocalDateTime tomorrowNoon = LocalDate.now().plusDays(1).atTime(12, 0, 30, 123_456_789);
+
+    @Test
+    void should_keep_reservations_and_settings_across_restarts() {
+        Path file = directory.resolve("slots.table");
+        TimeSlot slot = new TimeSlot(restaurantId, tomorrowNoon, tomorrowNoon.plusMinutes(30), 3);
+        try (MappedTimeSlotRepository repository = new MappedTimeSlotRepository(file)) {
+            repository.save(slot);
+            DeliveryService service = new DeliveryService(repository);
+            service.reserveSlot(slot.getId());
+            service.reserveSlot(slot.getId());
+            slot.setMaxCapacity(5);
+        }
+
+        try (MappedTimeSlotRepository repository = new MappedTimeSlotRepository(file)) {
+            TimeSlot restored = repository.findById(slot.getId()).orElseThrow();
+            assertEquals(restaurantId, restored.getRestaurantId());
+            assertEquals(tomorrowNoon, restored.getStartTime());
+            assertEquals(tomorrowNoon.plusMinutes(30), restored.getEndTime());
+            assertEquals(2, restored.getReservedCount());
+            assertEquals(5, restored.getMaxCapacity());
+            assertEquals(List.of(restored), repository.findAvailableSlots(tomorrowNoon.toLocalDate()));
+
+            restored.deactivate();
+            restored.release();
+        }
+
+        try (MappedTimeSlotRepository repository = new MappedTimeSlotRepository(file)) {
+            TimeSlot restored = repository.findById(slot.getId()).orElseThrow();
+            assertEquals(1, restored.getReservedCount());
+            assertFalse(restored.isAvailable());
+            assertTrue(repository.findAvailableSlots(tomorrowNoon.toLocalDate()).isEmpty());
+        }
+    }
+
+    @Test
+    void should_never_overbook_under_concurrent_reservations() throws Exception {
+        Path file = directory.resolve("slots.table");
+        int capacity = 50;
+        AtomicInteger reserved = new AtomicInteger();
+        UUID slotId;
+        try (MappedTimeSlotRepository repository = new MappedTimeSlotRepository(file)) {
+            TimeSlot slot = repository.save(new TimeSlot(restaurantId, tomorrowNoon, tomorrowNoon.plusMinutes(30), capacity));
+            slotId = slot.getId();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 100; i++) {
+                            if (repository.findById(slotId).orElseThrow().reserve()) {
+                                reserved.incrementAndGet();
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertTrue(slot.isFull());
+        }
+
+        assertEquals(capacity, reserved.get());
+        try (MappedTimeSlotRepository repository = new MappedTimeSlotRepository(file)) {
+            assertEquals(capacity, repository.findById(slotId).orElseThrow().getReservedCount());
+        }
+    }
+
+    @Test
+    void should_expose_counters_at_fixed_offsets_and_reuse_freed_records() throws IOException {
+        Path file = directory.resolve("slots.table");
+        List<TimeSlot> saved = new ArrayList<>();
+        try (MappedTimeSlotRepository repository = new MappedTimeSlotRepository(file)) {
+            // Plus d'un segment
+            for (int i = 0; i < MappedTimeSlotRepository.RECORDS_PER_SEGMENT + 10; i++) {
+                saved.add(repository.save(new TimeSlot(restaurantId, tomorrowNoon, tomorrowNoon.plusMinutes(30), 10 + i)));
+            }
+            saved.get(0).reserve();
+            assertTrue(repository.deleteById(saved.get(1).getId()));
+            saved.get(1).reserve();
+
+            TimeSlot replacement = repository.save(new TimeSlot(restaurantId, tomorrowNoon, tomorrowNoon.plusMinutes(30), 7));
+            saved.set(1, replacement);
+            assertEquals(1, saved.get(0).getReservedCount());
+            assertEquals(0, replacement.getReservedCount());
+        }
+
+        ByteBuffer raw = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(MappedTimeSlotRepository.HEADER_SIZE + 2L * MappedTimeSlotRepository.SEGMENT_SIZE, raw.capacity());
+        long firstState = raw.getLong(MappedTimeSlotRepository.HEADER_SIZE);
+        assertEquals(10, (int) (firstState >>> 32));
+        assertEquals(1, (int) firstState);
+        long secondState = raw.getLong(MappedTimeSlotRepository.HEADER_SIZE + MappedTimeSlotRepository.RECORD_SIZE);
+        assertEquals(7, (int) (secondState >>> 32));
+        assertEquals(saved.get(1).getId().getMostSignificantBits(),
+                raw.getLong(MappedTimeSlotRepository.HEADER_SIZE + MappedTimeSlotRepository.RECORD_SIZE + 8));
+
+        try (MappedTimeSlotRepository repository = new MappedTimeSlotRepository(file)) {
+            assertEquals(saved.size(), repository.findAll().size());
+            assertEquals(7, repository.findById(saved.get(1).getId()).orElseThrow().getMaxCapacity());
+        }
+    }
+}
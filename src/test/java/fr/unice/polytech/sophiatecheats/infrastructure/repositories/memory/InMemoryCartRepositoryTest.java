@@ -4,9 +4,11 @@ import fr.unice.polytech.sophiatecheats.domain.entities.cart.Cart;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -180,4 +182,81 @@ class InMemoryCartRepositoryTest {
         assertEquals(0, deletedCount);
         assertTrue(repository.findById(cart.getId()).isPresent());
     }
+
+    @Test
+    void should_evict_only_carts_idle_longer_than_expiry() {
+        AtomicLong clock = new AtomicLong();
+        InMemoryCartRepository expiring = new InMemoryCartRepository(Duration.ofMinutes(5), clock::get);
+        Cart idle = new Cart(UUID.randomUUID());
+        Cart active = new Cart(UUID.randomUUID());
+        expiring.save(idle);
+        expiring.save(active);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        expiring.findActiveCartByUserId(active.getUserId());
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertEquals(1, expiring.deleteExpiredCarts());
+        assertFalse(expiring.hasActiveCart(idle.getUserId()));
+        assertTrue(expiring.hasActiveCart(active.getUserId()));
+        assertEquals(0, expiring.deleteExpiredCarts());
+    }
+
+    @Test
+    void should_expire_a_touched_cart_at_its_new_deadline() {
+        AtomicLong clock = new AtomicLong();
+        InMemoryCartRepository expiring = new InMemoryCartRepository(Duration.ofMinutes(5), clock::get);
+        expiring.save(cart);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        expiring.findActiveCartByUserId(userId);
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        // Échéance initiale dépassée, mais le panier a servi depuis
+        assertEquals(0, expiring.deleteExpiredCarts());
+        assertTrue(expiring.existsById(cart.getId()));
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        assertEquals(1, expiring.deleteExpiredCarts());
+        assertFalse(expiring.existsById(cart.getId()));
+        assertTrue(expiring.findActiveCartByUserId(userId).isEmpty());
+
+        // Un panier recréé après expiration repart avec une nouvelle échéance
+        expiring.save(cart);
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        assertEquals(0, expiring.deleteExpiredCarts());
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(1, expiring.deleteExpiredCarts());
+    }
+
+    @Test
+    void should_keep_user_mapping_when_an_older_cart_expires() {
+        AtomicLong clock = new AtomicLong();
+        InMemoryCartRepository expiring = new InMemoryCartRepository(Duration.ofMinutes(5), clock::get);
+        Cart older = expiring.save(new Cart(userId));
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        Cart newer = expiring.save(new Cart(userId));
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(3));
+
+        assertEquals(1, expiring.deleteExpiredCarts());
+        assertFalse(expiring.existsById(older.getId()));
+        assertEquals(Optional.of(newer), expiring.findActiveCartByUserId(userId));
+    }
+
+    @Test
+    void should_sweep_expired_carts_in_background() throws InterruptedException {
+        InMemoryCartRepository expiring = new InMemoryCartRepository(Duration.ZERO);
+        expiring.save(cart);
+
+        try (CartExpirySweeper sweeper = new CartExpirySweeper(expiring, Duration.ofMillis(10))) {
+            sweeper.start();
+            assertTrue(sweeper.isRunning());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (expiring.existsById(cart.getId()) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+
+        assertFalse(expiring.existsById(cart.getId()));
+        assertFalse(expiring.hasActiveCart(userId));
+    }
 }
@@ -0,0 +1,105 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.order.Order;
+import fr.unice.polytech.sophiatecheats.domain.entities.order.OrderItem;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.entities.user.User;
+import fr.unice.polytech.sophiatecheats.domain.enums.OrderStatus;
+import fr.unice.polytech.sophiatecheats.domain.enums.PaymentMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOrderRepositoryTest {
+
+    private InMemoryOrderRepository repository;
+    private User user;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+        user = new User("alice@etu.unice.fr", "Alice");
+        restaurant = new Restaurant("CROUS", "Valbonne");
+    }
+
+    @Test
+    void should_index_new_order_as_active_and_pending() {
+        Order order = repository.save(newOrder());
+
+        assertTrue(repository.existsActiveOrderByUserId(user.getId()));
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.PENDING));
+        assertTrue(repository.findAllByStatus(OrderStatus.CONFIRMED).isEmpty());
+    }
+
+    @Test
+    void should_follow_status_transitions_without_resaving() {
+        Order order = repository.save(newOrder());
+
+        order.markAsPaid();
+        assertTrue(repository.existsActiveOrderByUserId(user.getId()));
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.PAID));
+        assertTrue(repository.findAllByStatus(OrderStatus.PENDING).isEmpty());
+
+        order.confirm();
+        assertFalse(repository.existsActiveOrderByUserId(user.getId()));
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.CONFIRMED));
+        assertTrue(repository.findAllByStatus(OrderStatus.PAID).isEmpty());
+    }
+
+    @Test
+    void should_drop_expired_order_from_active_index() {
+        Order order = repository.save(newOrder());
+
+        order.expire();
+
+        assertFalse(repository.existsActiveOrderByUserId(user.getId()));
+        assertEquals(List.of(order), repository.findAllByStatus(OrderStatus.EXPIRED));
+    }
+
+    @Test
+    void should_keep_user_active_while_one_of_several_orders_is_active() {
+        Order first = repository.save(newOrder());
+        Order second = repository.save(newOrder());
+
+        first.expire();
+        assertTrue(repository.existsActiveOrderByUserId(user.getId()));
+
+        second.setStatus(OrderStatus.CONFIRMED);
+        assertFalse(repository.existsActiveOrderByUserId(user.getId()));
+    }
+
+    @Test
+    void should_unindex_deleted_order_and_ignore_its_later_transitions() {
+        Order order = repository.save(newOrder());
+
+        assertTrue(repository.deleteById(order.getOrderId()));
+        assertFalse(repository.existsActiveOrderByUserId(user.getId()));
+
+        order.markAsPaid();
+        assertTrue(repository.findAllByStatus(OrderStatus.PAID).isEmpty());
+        assertFalse(repository.deleteById(order.getOrderId()));
+    }
+
+    @Test
+    void should_return_empty_results_for_null_arguments() {
+        repository.save(newOrder());
+
+        assertFalse(repository.existsActiveOrderByUserId(null));
+        assertTrue(repository.findAllByStatus(null).isEmpty());
+    }
+
+    private Order newOrder() {
+        Dish dish = Dish.builder()
+                .name("Lasagnes")
+                .description("Plat du jour")
+                .price(new BigDecimal("7.50"))
+                .build();
+        return new Order(user, restaurant, List.of(new OrderItem(dish, 1)), PaymentMethod.STUDENT_CREDIT);
+    }
+}
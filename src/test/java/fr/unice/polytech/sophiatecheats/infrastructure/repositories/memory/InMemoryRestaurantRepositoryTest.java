@@ -0,0 +1,328 @@
+package fr.unice.polytech.sophiatecheats.infrastructure.repositories.memory;
+
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Dish;
+import fr.unice.polytech.sophiatecheats.domain.entities.restaurant.Restaurant;
+import fr.unice.polytech.sophiatecheats.domain.enums.DietType;
+import fr.unice.polytech.sophiatecheats.domain.enums.DishCategory;
+import fr.unice.polytech.sophiatecheats.domain.enums.RestaurantType;
+import fr.unice.polytech.sophiatecheats.domain.exceptions.DuplicateRestaurantException;
+import fr.unice.polytech.sophiatecheats.domain.repositories.RestaurantCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérifie que les index secondaires du repository donnent les mêmes résultats
+ * que les filtres par parcours complet, sur des données aléatoires.
+ */
+class InMemoryRestaurantRepositoryTest {
+
+    private static final Boolean[] OPEN_VALUES = {null, true, false};
+
+    private InMemoryRestaurantRepository repository;
+    private Random random;
+    private List<Restaurant> restaurants;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRestaurantRepository(false);
+        random = new Random(42);
+        restaurants = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Restaurant restaurant = new Restaurant("Restaurant " + i, "Campus " + i,
+                    pick(RestaurantType.values()), random.nextBoolean() ? pick(DishCategory.values()) : null);
+            if (random.nextBoolean()) {
+                restaurant.close();
+            }
+            int dishes = random.nextInt(6);
+            for (int d = 0; d < dishes; d++) {
+                restaurant.addDish(randomDish("Plat " + i + "-" + d));
+            }
+            repository.save(restaurant);
+            restaurants.add(restaurant);
+        }
+    }
+
+    @Test
+    void indexed_queries_match_brute_force_after_save() {
+        assertIndexesMatchBruteForce();
+    }
+
+    @Test
+    void indexed_queries_match_brute_force_after_random_mutations() {
+        for (int step = 0; step < 500; step++) {
+            Restaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+            List<Dish> menu = restaurant.getMenu();
+            switch (random.nextInt(7)) {
+                case 0 -> restaurant.addDish(randomDish("Nouveau plat " + step));
+                case 1 -> {
+                    if (!menu.isEmpty()) {
+                        restaurant.removeDish(menu.get(random.nextInt(menu.size())).getId());
+                    }
+                }
+                case 2 -> {
+                    if (!menu.isEmpty()) {
+                        restaurant.modifyDishCategory(menu.get(random.nextInt(menu.size())).getId(),
+                                pick(DishCategory.values()));
+                    }
+                }
+                case 3 -> {
+                    if (restaurant.isOpen()) {
+                        restaurant.close();
+                    } else {
+                        restaurant.open();
+                    }
+                }
+                case 4 -> restaurant.setRestaurantType(pick(RestaurantType.values()));
+                case 5 -> restaurant.setCuisineType(random.nextBoolean() ? pick(DishCategory.values()) : null);
+                default -> {
+                    repository.delete(restaurant);
+                    restaurants.remove(restaurant);
+                    Restaurant replacement = new Restaurant("Remplaçant " + step, "Campus " + step,
+                            pick(RestaurantType.values()), null);
+                    replacement.addDish(randomDish("Plat remplaçant " + step));
+                    repository.save(replacement);
+                    restaurants.add(replacement);
+                }
+            }
+        }
+        assertIndexesMatchBruteForce();
+    }
+
+    @Test
+    void price_range_queries_follow_price_and_availability_changes() {
+        for (int step = 0; step < 300; step++) {
+            Restaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+            List<Dish> menu = restaurant.getMenu();
+            if (menu.isEmpty()) {
+                restaurant.addDish(randomDish("Nouveau plat " + step));
+                continue;
+            }
+            Dish dish = menu.get(random.nextInt(menu.size()));
+            if (random.nextBoolean()) {
+                restaurant.modifyDishPrice(dish.getId(), BigDecimal.valueOf(50 + random.nextInt(2_000), 2));
+            } else {
+                restaurant.setDishAvailability(dish.getId(), !dish.isAvailable());
+            }
+        }
+
+        for (int query = 0; query < 200; query++) {
+            long min = random.nextInt(2_100);
+            long max = min + random.nextInt(600);
+            // Une seule borne au plus est absente : sans borne, le prix ne filtre pas
+            boolean openEnded = random.nextInt(3) == 0;
+            Long minCents = openEnded && random.nextBoolean() ? null : min;
+            Long maxCents = openEnded && minCents != null ? null : max;
+            Set<UUID> expected = restaurants.stream()
+                    .filter(r -> r.getAvailableDishes().stream().anyMatch(d ->
+                            (minCents == null || d.getPrice().cents() >= minCents)
+                                    && (maxCents == null || d.getPrice().cents() <= maxCents)))
+                    .map(Restaurant::getId)
+                    .collect(Collectors.toSet());
+            RestaurantCriteria criteria = new RestaurantCriteria(null, null, null, null, minCents, maxCents);
+            assertEquals(expected, ids(repository.findByCriteria(criteria)), criteria.toString());
+        }
+    }
+
+    @Test
+    void replacing_a_restaurant_instance_reindexes_it() {
+        Restaurant original = restaurants.get(0);
+        Restaurant replacement = new Restaurant(original.getId(), "Nouveau nom", original.getAddress(),
+                original.getSchedule(), !original.isOpen(), original.getMenu(), original.getDeliverySchedule());
+        repository.save(replacement);
+        restaurants.set(0, replacement);
+
+        // L'ancienne instance ne doit plus influencer les index
+        original.addDish(randomDish("Plat fantôme"));
+
+        assertIndexesMatchBruteForce();
+        assertTrue(repository.findByAvailability(replacement.isOpen()).contains(replacement));
+    }
+
+    @Test
+    void indexed_queries_match_brute_force_after_bulk_load_and_menu_replacement() {
+        repository = new InMemoryRestaurantRepository(false);
+        long versionBefore = repository.modificationVersion();
+        restaurants.forEach(restaurant -> restaurant.replaceMenu(List.of(randomDish("Menu " + restaurant.getName()))));
+        assertEquals(restaurants.size(), repository.saveAll(restaurants).size());
+        assertEquals(versionBefore + 1, repository.modificationVersion());
+        assertIndexesMatchBruteForce();
+
+        Restaurant restaurant = restaurants.get(0);
+        Dish removed = restaurant.getMenu().get(0);
+        List<Dish> menu = List.of(randomDish("Bulk A"), randomDish("Bulk B"), randomDish("Bulk C"));
+        restaurant.replaceMenu(menu);
+
+        assertIndexesMatchBruteForce();
+        assertTrue(repository.findDishLocation(removed.getId()).isEmpty());
+        menu.forEach(dish -> assertSame(restaurant, repository.findDishLocation(dish.getId()).orElseThrow().restaurant()));
+    }
+
+    @Test
+    void saveAll_rejects_duplicates_without_storing_anything() {
+        Restaurant existing = restaurants.get(0);
+        Restaurant fresh = new Restaurant("Restaurant neuf", "Campus neuf");
+        Restaurant clash = new Restaurant(existing.getName().toUpperCase(), existing.getAddress());
+        long versionBefore = repository.modificationVersion();
+
+        assertThrows(DuplicateRestaurantException.class, () -> repository.saveAll(List.of(fresh, clash)));
+        assertThrows(DuplicateRestaurantException.class, () -> repository.saveAll(
+                List.of(fresh, new Restaurant("restaurant NEUF", "campus neuf"))));
+        assertTrue(repository.findById(fresh.getId()).isEmpty());
+        assertEquals(versionBefore, repository.modificationVersion());
+
+        // Renommer un restaurant du lot libère son ancien nom pour un autre restaurant du même lot
+        Restaurant renamed = new Restaurant(existing.getId(), "Ancien " + existing.getName(), existing.getAddress(),
+                existing.getSchedule(), existing.isOpen(), existing.getMenu(), existing.getDeliverySchedule());
+        repository.saveAll(List.of(renamed, clash));
+        restaurants.set(0, renamed);
+        restaurants.add(clash);
+        assertIndexesMatchBruteForce();
+    }
+
+    @Test
+    void concurrent_lookups_never_see_a_partial_batch() throws Exception {
+        InMemoryRestaurantRepository bulk = new InMemoryRestaurantRepository(false);
+        int batchSize = 25;
+        int batches = 40;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> byMap = readers.submit(() -> {
+                while (!done.get()) {
+                    assertEquals(0, bulk.findAll().size() % batchSize);
+                }
+            });
+            Future<?> byIndex = readers.submit(() -> {
+                while (!done.get()) {
+                    assertEquals(0, bulk.findByCriteria(new RestaurantCriteria(null, null, null, null)).size() % batchSize);
+                }
+            });
+            for (int b = 0; b < batches; b++) {
+                List<Restaurant> batch = new ArrayList<>();
+                for (int i = 0; i < batchSize; i++) {
+                    batch.add(new Restaurant("Lot " + b + " n°" + i, "Campus " + b));
+                }
+                bulk.saveAll(batch);
+            }
+            done.set(true);
+            byMap.get(30, TimeUnit.SECONDS);
+            byIndex.get(30, TimeUnit.SECONDS);
+        } finally {
+            done.set(true);
+            readers.shutdownNow();
+        }
+        assertEquals(batchSize * batches, bulk.findAll().size());
+    }
+
+    @Test
+    void cursor_pages_follow_id_order_after_deletions() {
+        for (int i = 0; i < 10; i++) {
+            Restaurant removed = restaurants.remove(random.nextInt(restaurants.size()));
+            repository.delete(removed);
+        }
+
+        for (Boolean open : OPEN_VALUES) {
+            RestaurantCriteria criteria = new RestaurantCriteria(open, null, null, null);
+            List<UUID> expected = bruteForce(open, null, null, null).stream()
+                    .map(Restaurant::getId)
+                    .sorted()
+                    .toList();
+            List<UUID> paged = new ArrayList<>();
+            List<Restaurant> page = repository.findByCriteriaAfter(criteria, null, 7);
+            while (!page.isEmpty()) {
+                assertTrue(page.size() <= 7);
+                page.forEach(restaurant -> paged.add(restaurant.getId()));
+                page = repository.findByCriteriaAfter(criteria, paged.get(paged.size() - 1), 7);
+            }
+            assertEquals(expected, paged, String.valueOf(open));
+        }
+        assertTrue(repository.findByCriteriaAfter(null, null, 0).isEmpty());
+    }
+
+    private void assertIndexesMatchBruteForce() {
+        for (boolean open : new boolean[]{true, false}) {
+            assertEquals(ids(bruteForce(open, null, null, null)), ids(repository.findByAvailability(open)));
+        }
+        for (DishCategory category : DishCategory.values()) {
+            Set<UUID> byCategory = restaurants.stream()
+                    .filter(r -> r.getMenu().stream().anyMatch(d -> d.getCategory() == category))
+                    .map(Restaurant::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(byCategory, ids(repository.findByDishCategory(category)));
+
+            Set<UUID> openByCategory = restaurants.stream()
+                    .filter(Restaurant::isOpen)
+                    .filter(r -> r.getMenu().stream().anyMatch(d -> d.getCategory() == category))
+                    .map(Restaurant::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(openByCategory, ids(repository.findOpenByDishCategory(category)));
+        }
+        for (Boolean open : OPEN_VALUES) {
+            for (DishCategory cuisine : withNull(DishCategory.values())) {
+                for (RestaurantType type : withNull(RestaurantType.values())) {
+                    for (DietType diet : withNull(DietType.values())) {
+                        RestaurantCriteria criteria = new RestaurantCriteria(open, cuisine, type, diet);
+                        assertEquals(ids(bruteForce(open, cuisine, type, diet)),
+                                ids(repository.findByCriteria(criteria)), criteria.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reproduit les filtres historiques de BrowseRestaurantsUseCase (parcours complet des menus).
+     */
+    private List<Restaurant> bruteForce(Boolean open, DishCategory cuisine, RestaurantType type, DietType diet) {
+        return restaurants.stream()
+                .filter(r -> open == null || r.isOpen() == open)
+                .filter(r -> cuisine == null
+                        || cuisine.equals(r.getCuisineType())
+                        || r.getMenu().stream().anyMatch(d -> d.getCategory().equals(cuisine)))
+                .filter(r -> type == null || type.equals(r.getRestaurantType()))
+                .filter(r -> diet == null || r.getMenu().stream().anyMatch(d -> d.isAvailable() && d.hasDietType(diet)))
+                .toList();
+    }
+
+    private Dish randomDish(String name) {
+        Set<DietType> diets = EnumSet.noneOf(DietType.class);
+        for (DietType diet : DietType.values()) {
+            if (random.nextInt(4) == 0) {
+                diets.add(diet);
+            }
+        }
+        return Dish.builder()
+                .name(name)
+                .description("Plat aléatoire")
+                .price(BigDecimal.valueOf(1 + random.nextInt(20)))
+                .category(pick(DishCategory.values()))
+                .available(random.nextBoolean())
+                .dietTypes(diets)
+                .build();
+    }
+
+    private <E> E pick(E[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <E> List<E> withNull(E[] values) {
+        List<E> list = new ArrayList<>(Arrays.asList(values));
+        list.add(null);
+        return list;
+    }
+
+    private static Set<UUID> ids(List<Restaurant> restaurants) {
+        return restaurants.stream().map(Restaurant::getId).collect(Collectors.toSet());
+    }
+}